@@ -0,0 +1,470 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Approximate version of the {@link RedundantSet} collection, to count the occurrences of the elements of an unbounded
+ * stream into a fixed memory. The elements themselves are not recorded, only some summaries of them:
+ * <ul>
+ * <li>a Count-Min Sketch gives the number of occurrences of each element, never lower than the real number, and greater
+ * than it by at most <code>epsilon</code> times the total number of occurrences with the given confidence;</li>
+ * <li>a HyperLogLog gives an estimation of the number of distinct elements, with a relative standard error of about
+ * 0.8%;</li>
+ * <li>a small table records the heavy hitters, that is the elements with the greatest numbers of occurrences, with a
+ * tighter number of occurrences.</li>
+ * </ul>
+ * <p>
+ * With the default error bounds, this collection takes about 1 MB whatever the number of added elements. The
+ * collections built with the same error bounds can be merged, so each thread or each partition of a stream can have
+ * its own collection. This class is not thread-safe.
+ *
+ * @param <T> The type of the counted elements.
+ * @author Tioben Neenot
+ */
+public class ApproximateRedundantSet<T>
+{
+
+  /**
+   * Default error of the numbers of occurrences, relative to the total number of occurrences.
+   */
+  public static final double DEFAULT_EPSILON = 0.0001;
+
+  /**
+   * Default probability that the error of a number of occurrences is lower than the epsilon bound.
+   */
+  public static final double DEFAULT_CONFIDENCE = 0.99;
+
+  /**
+   * Default number of heavy hitters recorded.
+   */
+  public static final int DEFAULT_HEAVY_HITTERS = 64;
+
+  /**
+   * Number of bits of the hash used to select a HyperLogLog register.
+   */
+  private static final int REGISTER_BITS = 14;
+
+  /**
+   * Number of HyperLogLog registers.
+   */
+  private static final int REGISTER_COUNT = 1 << REGISTER_BITS;
+
+  /**
+   * The number of counters by row of the sketch
+   */
+  private final int width;
+
+  /**
+   * The number of rows of the sketch
+   */
+  private final int depth;
+
+  /**
+   * The counters of the sketch, row after row
+   */
+  private final long[] sketch;
+
+  /**
+   * The HyperLogLog registers
+   */
+  private final byte[] registers;
+
+  /**
+   * The maximal number of heavy hitters
+   */
+  private final int heavyHitterCapacity;
+
+  /**
+   * The number of occurrences of the heavy hitters
+   */
+  private final Map<T, Long> heavyHitters;
+
+  /**
+   * A number of occurrences lower or equal to the lowest one of the heavy hitters
+   */
+  private long lowestHeavyHitterCount;
+
+  /**
+   * The number of occurrences of all elements
+   */
+  private long totalCount;
+
+  /**
+   * Build an empty collection with the default error bounds.
+   */
+  public ApproximateRedundantSet()
+  {
+    this(DEFAULT_EPSILON, DEFAULT_CONFIDENCE, DEFAULT_HEAVY_HITTERS);
+  }
+
+  /**
+   * Build an empty collection with the given error bounds. The memory of the sketch is about
+   * <code>8 * e / epsilon * ln(1 / (1 - confidence))</code> bytes.
+   *
+   * @param epsilon             The error of the numbers of occurrences, relative to the total number of occurrences.
+   * @param confidence          The probability that the error of a number of occurrences is lower than the epsilon
+   *                            bound.
+   * @param heavyHitterCapacity The number of heavy hitters recorded.
+   * @throws IllegalArgumentException If the epsilon or the confidence is not between 0 and 1 excluded, if the number
+   *                                  of heavy hitters is negative, or if the sketch can't be allocated.
+   */
+  public ApproximateRedundantSet(double epsilon, double confidence, int heavyHitterCapacity)
+  {
+    super();
+
+    if (!(epsilon > 0 && epsilon < 1) || !(confidence > 0 && confidence < 1) || heavyHitterCapacity < 0)
+    {
+      throw new IllegalArgumentException("Invalid error bounds: epsilon=" + epsilon + ", confidence=" + confidence +
+        ", heavy hitters=" + heavyHitterCapacity);
+    }
+
+    this.width = (int) Math.min(Integer.MAX_VALUE, Math.ceil(Math.E / epsilon));
+    this.depth = Math.max(1, (int) Math.ceil(Math.log(1 / (1 - confidence))));
+    if ((long) this.width * this.depth > Integer.MAX_VALUE - 8)
+    {
+      throw new IllegalArgumentException("Too small error bounds: epsilon=" + epsilon + ", confidence=" + confidence);
+    }
+    this.sketch = new long[this.width * this.depth];
+    this.registers = new byte[REGISTER_COUNT];
+    this.heavyHitterCapacity = heavyHitterCapacity;
+    this.heavyHitters = new HashMap<>((int) (heavyHitterCapacity / 0.75f) + 1);
+    this.lowestHeavyHitterCount = 0;
+    this.totalCount = 0;
+  }
+
+  /**
+   * Builds a <code>ApproximateRedundantSet</code> collection with the default error bounds, based on the element of the
+   * collection given as parameters.
+   *
+   * @param values Element of the collection that will be counted into the current one.
+   */
+  public ApproximateRedundantSet(Collection<T> values)
+  {
+    this();
+
+    addAll(values);
+  }
+
+  /**
+   * Adds an occurrence of the value.
+   *
+   * @param value The value to add.
+   * @return Always <code>true</code>.
+   */
+  public boolean add(T value)
+  {
+    long _hash = hash(value);
+
+    // Count-Min Sketch: the rows use the double hashing of the same 64 bits hash
+    int _hash1 = (int) _hash;
+    int _hash2 = (int) (_hash >>> 32) | 1;
+    long _estimate = Long.MAX_VALUE;
+    for (int _row = 0; _row < this.depth; ++_row)
+    {
+      int _idx = _row * this.width + ((_hash1 + _row * _hash2) & Integer.MAX_VALUE) % this.width;
+      _estimate = Math.min(_estimate, ++this.sketch[_idx]);
+    }
+
+    // HyperLogLog: the register is selected by the highest bits, the rank is computed on the remaining ones
+    long _mixed = mix(_hash ^ 0x2545F4914F6CDD1DL);
+    int _register = (int) (_mixed >>> (64 - REGISTER_BITS));
+    byte _rank = (byte) (Long.numberOfLeadingZeros((_mixed << REGISTER_BITS) | (1L << (REGISTER_BITS - 1))) + 1);
+    if (_rank > this.registers[_register])
+    {
+      this.registers[_register] = _rank;
+    }
+
+    ++this.totalCount;
+    updateHeavyHitter(value, _estimate);
+
+    return true;
+  }
+
+  /**
+   * Adds an occurrence of each value of the collection.
+   *
+   * @param values The values to add.
+   * @return Always <code>true</code>.
+   */
+  public boolean addAll(Collection<? extends T> values)
+  {
+    for (T v : values) add(v);
+    return true;
+  }
+
+  /**
+   * Gets an estimation of the number of occurrences of the element. This estimation is never lower than the real
+   * number of occurrences.
+   *
+   * @param element The element to search.
+   * @return The estimated number of occurrences.
+   */
+  public long countElementFor(T element)
+  {
+    return estimate(element);
+  }
+
+  /**
+   * Returns the exact number of occurrences of all added elements.
+   *
+   * @return The number of elements of this collection, redundant elements included.
+   */
+  public long size()
+  {
+    return this.totalCount;
+  }
+
+  /**
+   * Controls if no element was added.
+   *
+   * @return <code>true</code> if this collection is empty.
+   */
+  public boolean isEmpty()
+  {
+    return this.totalCount == 0;
+  }
+
+  /**
+   * Gets an estimation of the number of distinct elements.
+   *
+   * @return The estimated number of distinct elements.
+   */
+  public long distinctCount()
+  {
+    double _sum = 0;
+    int _zeros = 0;
+    for (byte _rank : this.registers)
+    {
+      _sum += 1.0 / (1L << _rank);
+      if (_rank == 0)
+      {
+        ++_zeros;
+      }
+    }
+
+    double _alpha = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    double _estimate = _alpha * REGISTER_COUNT * REGISTER_COUNT / _sum;
+
+    // The linear counting is more accurate for the small cardinalities
+    if (_estimate <= 2.5 * REGISTER_COUNT && _zeros > 0)
+    {
+      _estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / _zeros);
+    }
+
+    return Math.round(_estimate);
+  }
+
+  /**
+   * Gets the heavy hitters, from the greatest number of occurrences.
+   *
+   * @return A map of the heavy hitters with their estimated number of occurrences, sorted from the greatest one.
+   */
+  public Map<T, Long> getHeavyHitters()
+  {
+    List<Map.Entry<T, Long>> _entries = new ArrayList<>(this.heavyHitters.entrySet());
+    _entries.sort(Map.Entry.<T, Long>comparingByValue().reversed());
+
+    Map<T, Long> _sorted = new LinkedHashMap<>();
+    for (Map.Entry<T, Long> _entry : _entries)
+    {
+      _sorted.put(_entry.getKey(), _entry.getValue());
+    }
+    return _sorted;
+  }
+
+  /**
+   * Adds the occurrences counted by the other collection into this one.
+   *
+   * @param other The other collection, built with the same error bounds.
+   * @throws IllegalArgumentException If the other collection was not built with the same error bounds.
+   */
+  public void merge(ApproximateRedundantSet<? extends T> other)
+  {
+    if (other.width != this.width || other.depth != this.depth || other.heavyHitterCapacity != this
+      .heavyHitterCapacity)
+    {
+      throw new IllegalArgumentException("The collections are not built with the same error bounds");
+    }
+
+    // The heavy hitters of both collections are evaluated before the merging of the sketches
+    Set<T> _candidates = new HashSet<>(this.heavyHitters.keySet());
+    _candidates.addAll(other.heavyHitters.keySet());
+    Map<T, Long> _candidate_counts = new HashMap<>();
+    for (T _candidate : _candidates)
+    {
+      _candidate_counts.put(_candidate, this.estimate(_candidate) + other.estimate(_candidate));
+    }
+
+    for (int _idx = 0; _idx < this.sketch.length; ++_idx)
+    {
+      this.sketch[_idx] += other.sketch[_idx];
+    }
+    for (int _idx = 0; _idx < REGISTER_COUNT; ++_idx)
+    {
+      this.registers[_idx] = (byte) Math.max(this.registers[_idx], other.registers[_idx]);
+    }
+    this.totalCount += other.totalCount;
+
+    this.heavyHitters.clear();
+    this.lowestHeavyHitterCount = 0;
+    for (Map.Entry<T, Long> _entry : _candidate_counts.entrySet())
+    {
+      updateHeavyHitter(_entry.getKey(), Math.min(_entry.getValue(), sketchEstimate(hash(_entry.getKey()))));
+    }
+  }
+
+  /**
+   * Removes all counted elements.
+   */
+  public void clear()
+  {
+    Arrays.fill(this.sketch, 0);
+    Arrays.fill(this.registers, (byte) 0);
+    this.heavyHitters.clear();
+    this.lowestHeavyHitterCount = 0;
+    this.totalCount = 0;
+  }
+
+  /**
+   * Updates the number of occurrences of a heavy hitter, or records the value as heavy hitter if its number of
+   * occurrences is greater than the lowest one.
+   *
+   * @param value    The value with a new occurrence.
+   * @param estimate The number of occurrences of the value given by the sketch.
+   */
+  private void updateHeavyHitter(T value, long estimate)
+  {
+    if (this.heavyHitterCapacity == 0)
+    {
+      return;
+    }
+
+    Long _count = this.heavyHitters.get(value);
+    if (_count != null)
+    {
+      // Each occurrence is counted since the recording, so this count is never greater than the sketch one
+      this.heavyHitters.put(value, Math.min(_count + 1, estimate));
+      return;
+    }
+
+    if (this.heavyHitters.size() < this.heavyHitterCapacity)
+    {
+      this.heavyHitters.put(value, estimate);
+      this.lowestHeavyHitterCount = Math.min(this.heavyHitters.size() == 1 ? estimate : this.lowestHeavyHitterCount,
+        estimate);
+      return;
+    }
+
+    if (estimate <= this.lowestHeavyHitterCount)
+    {
+      return;
+    }
+
+    // The lowest count is read only when a value can replace a heavy hitter
+    T _lowest = null;
+    long _lowest_count = Long.MAX_VALUE;
+    for (Map.Entry<T, Long> _entry : this.heavyHitters.entrySet())
+    {
+      if (_entry.getValue() < _lowest_count)
+      {
+        _lowest = _entry.getKey();
+        _lowest_count = _entry.getValue();
+      }
+    }
+
+    if (estimate > _lowest_count)
+    {
+      this.heavyHitters.remove(_lowest);
+      this.heavyHitters.put(value, estimate);
+      _lowest_count = estimate;
+      for (Long _other_count : this.heavyHitters.values())
+      {
+        _lowest_count = Math.min(_lowest_count, _other_count);
+      }
+    }
+    this.lowestHeavyHitterCount = _lowest_count;
+  }
+
+  /**
+   * Gets the number of occurrences given by the heavy hitters, or by the sketch for the other elements.
+   *
+   * @param element The element to search.
+   * @return The estimated number of occurrences.
+   */
+  private long estimate(Object element)
+  {
+    Long _heavy_hitter_count = this.heavyHitters.get(element);
+    return _heavy_hitter_count != null ? _heavy_hitter_count : sketchEstimate(hash(element));
+  }
+
+  /**
+   * Gets the number of occurrences given by the sketch.
+   *
+   * @param hash The hash of the element.
+   * @return The lowest counter of the element.
+   */
+  private long sketchEstimate(long hash)
+  {
+    int _hash1 = (int) hash;
+    int _hash2 = (int) (hash >>> 32) | 1;
+    long _estimate = Long.MAX_VALUE;
+    for (int _row = 0; _row < this.depth; ++_row)
+    {
+      _estimate = Math.min(_estimate, this.sketch[_row * this.width + ((_hash1 + _row * _hash2) & Integer.MAX_VALUE) %
+        this.width]);
+    }
+
+    return _estimate;
+  }
+
+  /**
+   * Computes a 64 bits hash of the element from its hash code.
+   *
+   * @param element The element.
+   * @return The 64 bits hash.
+   */
+  private static long hash(Object element)
+  {
+    return mix(Objects.hashCode(element) * 0x9E3779B97F4A7C15L);
+  }
+
+  /**
+   * Mixes all bits of the value (finalizer of the MurmurHash3 algorithm).
+   *
+   * @param value The value to mix.
+   * @return The mixed value.
+   */
+  private static long mix(long value)
+  {
+    value ^= value >>> 33;
+    value *= 0xFF51AFD7ED558CCDL;
+    value ^= value >>> 33;
+    value *= 0xC4CEB9FE1A85EC53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ApproximateRedundantSet [size=" + this.totalCount + ", distinct=" + distinctCount() + ", heavy hitters=" +
+      getHeavyHitters() + "]";
+  }
+}
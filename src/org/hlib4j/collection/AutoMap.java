@@ -9,10 +9,18 @@
 package org.hlib4j.collection;
 
 
+import org.hlib4j.concept.KeyBlock;
 import org.hlib4j.concept.KeyGenerator;
 import org.hlib4j.util.States;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * The <code>AutoMap</code> allows to record a flow of data with a map key value generated automatically. It's
@@ -25,7 +33,7 @@ import java.util.Map;
  */
 public class AutoMap<K, V>
 {
-  private final KeyGenerator<?> keyGenerator;
+  private final KeyGenerator<K> keyGenerator;
   private final Map associatedMap;
 
   /**
@@ -51,6 +59,46 @@ public class AutoMap<K, V>
     this.associatedMap.put(keyGenerator.generateNewKey(), value);
   }
 
+  /**
+   * Puts all values for the associated map. The keys of the values are generated as a single block by the
+   * <code>KeyGenerator</code>, and the values are given to the associated map in a single <code>putAll</code>
+   * operation, with the size of the batch known before the adding. An empty <code>HashMap</code> is thus sized once for
+   * the whole batch, whereas a map holding values yet may still be resized during the adding. The values are read
+   * without any copy, so the collection must not be modified during this call.
+   *
+   * @param values Values for the associated map.
+   * @return The block of keys generated for the values, in the order of the values.
+   */
+  public KeyBlock<K> putAll(Collection<? extends V> values)
+  {
+    return putBatch(values);
+  }
+
+  /**
+   * Puts all values for the associated map, like {@link #putAll(Collection)}.
+   *
+   * @param values Values for the associated map.
+   * @return The block of keys generated for the values, in the order of the values.
+   */
+  public KeyBlock<K> putAll(V[] values)
+  {
+    return putBatch(Arrays.asList(values));
+  }
+
+  /**
+   * Puts the values with a block of generated keys.
+   *
+   * @param values Values for the associated map.
+   * @return The block of generated keys.
+   */
+  @SuppressWarnings("unchecked")
+  private KeyBlock<K> putBatch(Collection<? extends V> values)
+  {
+    KeyBlock<K> _keys = this.keyGenerator.generateNewKeys(values.size());
+    this.associatedMap.putAll(new BatchView<>(_keys, values));
+    return _keys;
+  }
+
   /**
    * Return the associated <code>Map</code> used by this instance.
    *
@@ -70,4 +118,87 @@ public class AutoMap<K, V>
     sb.append('}');
     return sb.toString();
   }
+
+  /**
+   * Policy of the eviction of a bounded <code>AutoMap</code>.
+   *
+   * @see Collections#makeBoundedAutoMap(KeyGenerator, int, EvictionPolicy, java.util.function.BiConsumer)
+   */
+  public enum EvictionPolicy
+  {
+    /**
+     * The oldest put value is evicted first.
+     */
+    FIFO,
+
+    /**
+     * The least recently put or read value is evicted first.
+     */
+    LRU
+  }
+
+  /**
+   * Read-only map view on a batch of values with their block of keys. The size of the view is known before its
+   * entries are read, so <code>Map.putAll</code> is able to size its map before the adding. Each value is given with
+   * the key of the block at its index, while the values are iterated.
+   *
+   * @param <K> The key type.
+   * @param <V> The value type.
+   */
+  private static class BatchView<K, V> extends AbstractMap<K, V>
+  {
+    private final KeyBlock<K> keys;
+    private final Collection<? extends V> values;
+
+    BatchView(KeyBlock<K> keys, Collection<? extends V> values)
+    {
+      this.keys = keys;
+      this.values = values;
+    }
+
+    @Override
+    public int size()
+    {
+      return this.keys.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+      return new AbstractSet<Entry<K, V>>()
+      {
+        @Override
+        public int size()
+        {
+          return BatchView.this.keys.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+          return new Iterator<Entry<K, V>>()
+          {
+            private final Iterator<? extends V> valueIterator = BatchView.this.values.iterator();
+            private int nextIndex;
+
+            @Override
+            public boolean hasNext()
+            {
+              return this.nextIndex < BatchView.this.keys.size() && this.valueIterator.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next()
+            {
+              if (!hasNext())
+              {
+                throw new NoSuchElementException();
+              }
+              return new SimpleImmutableEntry<>(BatchView.this.keys.get(this.nextIndex++), this.valueIterator.next());
+            }
+          };
+        }
+      };
+    }
+  }
 }
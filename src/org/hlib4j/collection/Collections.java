@@ -8,11 +8,22 @@
 
 package org.hlib4j.collection;
 
+import org.hlib4j.concept.BlockKeyGenerator;
 import org.hlib4j.concept.Cleaner;
+import org.hlib4j.concept.KeyGenerator;
+import org.hlib4j.concept.SequenceKeyGenerator;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 
 /**
@@ -100,6 +111,25 @@ public class Collections
     return new FilteredCollection<>(originalCollection, ruleForThisCollection);
   }
 
+  /**
+   * Returns a collection for which all elements are managing according to the predicate definition, with the tracking
+   * of the modifications of the <code>originalCollection</code>. Iterating over this collection revalidates all
+   * elements only while the size of the <code>originalCollection</code> was modified outside the returned collection;
+   * the elements inserted through the returned collection are validated once, when they are added. A modification
+   * outside the returned collection that keeps the size, like <code>List.set</code>, is not detected. This kind of
+   * collection is dedicated to large collections iterated frequently.
+   *
+   * @param <ElementType>         The type of the element in the collection.
+   * @param originalCollection    The original collection on which the rule will be applied.
+   * @param ruleForThisCollection The predicate used to define the rule on collection elements managing.
+   * @return The collection with a filter rule on collection elements.
+   */
+  public static <ElementType> Collection<ElementType> makeTrackedFilteredCollection(
+    Collection<ElementType> originalCollection, Predicate<ElementType> ruleForThisCollection)
+  {
+    return new FilteredCollection<>(originalCollection, ruleForThisCollection, true);
+  }
+
   /**
    * Returns a list for which all elements of this list are managing according to the predicate definition.
    *
@@ -114,6 +144,42 @@ public class Collections
     return new FilteredList<>(originalList, ruleForThisList);
   }
 
+  /**
+   * Returns a list of <code>int</code> values for which all values are managing according to the predicate definition.
+   * The values are stored without any boxing.
+   *
+   * @param ruleForThisList The predicate used to define the rule on list values managing.
+   * @return The list with a filter rule on adding values.
+   */
+  public static IntFilteredList makeFilteredIntList(IntPredicate ruleForThisList)
+  {
+    return new IntFilteredList(ruleForThisList);
+  }
+
+  /**
+   * Returns a list of <code>long</code> values for which all values are managing according to the predicate definition.
+   * The values are stored without any boxing.
+   *
+   * @param ruleForThisList The predicate used to define the rule on list values managing.
+   * @return The list with a filter rule on adding values.
+   */
+  public static LongFilteredList makeFilteredLongList(LongPredicate ruleForThisList)
+  {
+    return new LongFilteredList(ruleForThisList);
+  }
+
+  /**
+   * Returns a list of <code>double</code> values for which all values are managing according to the predicate definition.
+   * The values are stored without any boxing.
+   *
+   * @param ruleForThisList The predicate used to define the rule on list values managing.
+   * @return The list with a filter rule on adding values.
+   */
+  public static DoubleFilteredList makeFilteredDoubleList(DoublePredicate ruleForThisList)
+  {
+    return new DoubleFilteredList(ruleForThisList);
+  }
+
   /**
    * Returns a map for which all elements of this map are managing according to the predicate definition.
    *
@@ -128,6 +194,213 @@ public class Collections
     return new FilteredMap<>(originalMap, ruleForThisMap);
   }
 
+  /**
+   * Returns a map for which all elements of this map are managing according to the predicate definition. The returned
+   * map is backed by a new <code>HashMap</code> pre-sized to hold the expected number of records without any resize.
+   *
+   * @param <K>            The key of the map
+   * @param <V>            The value type of the map
+   * @param expectedSize   The expected number of records of the map.
+   * @param ruleForThisMap The predicate used to define the rule on map elements managing.
+   * @return The map with a filter rule on adding elements.
+   */
+  public static <K, V> Map<K, V> makeFilteredMap(int expectedSize, Predicate<V> ruleForThisMap)
+  {
+    return new FilteredMap<>(new HashMap<>((int) (expectedSize / 0.75f) + 1), ruleForThisMap);
+  }
+
+  /**
+   * Returns a thread-safe collection for which all elements are managing according to the predicate definition. The
+   * <code>originalCollection</code> must be a thread-safe collection, like a <code>ConcurrentLinkedQueue</code> or a
+   * <code>ConcurrentHashMap.newKeySet()</code>. The returned collection doesn't hold any lock: the predicate is tested
+   * by the calling thread before the element is given to the <code>originalCollection</code>.
+   *
+   * @param <ElementType>         The type of the element in the collection.
+   * @param originalCollection    The original thread-safe collection on which the rule will be applied.
+   * @param ruleForThisCollection The predicate used to define the rule on collection elements managing.
+   * @return The thread-safe collection with a filter rule on collection elements.
+   */
+  public static <ElementType> Collection<ElementType> makeConcurrentFilteredCollection(
+    Collection<ElementType> originalCollection, Predicate<ElementType> ruleForThisCollection)
+  {
+    return new ConcurrentFilteredCollection<>(originalCollection, ruleForThisCollection);
+  }
+
+  /**
+   * Returns a thread-safe map for which all values are managing according to the predicate definition. The returned
+   * map doesn't hold any lock: each operation tests the predicate and delegates to the atomic operation of the
+   * <code>originalMap</code>. The cleaning removes each forbidden value atomically, entry by entry, so the writers are
+   * never blocked by a global lock.
+   *
+   * @param <K>            The key of the map
+   * @param <V>            The value type of the map
+   * @param originalMap    The original concurrent map on which the rule will be applied.
+   * @param ruleForThisMap The predicate used to define the rule on map elements managing.
+   * @return The thread-safe map with a filter rule on adding elements.
+   */
+  public static <K, V> ConcurrentMap<K, V> makeConcurrentFilteredMap(ConcurrentMap<K, V> originalMap,
+                                                                   Predicate<V> ruleForThisMap)
+  {
+    return new ConcurrentFilteredMap<>(originalMap, ruleForThisMap);
+  }
+
+  /**
+   * Returns a thread-safe {@link AutoMap} backed by a <code>ConcurrentHashMap</code>. The <code>keyGenerator</code>
+   * must be thread-safe too, like a {@link SequenceKeyGenerator} or a {@link BlockKeyGenerator}.
+   *
+   * @param <K>          The key of the map
+   * @param <V>          The value type of the map
+   * @param keyGenerator The thread-safe generator of the keys.
+   * @return The thread-safe <code>AutoMap</code>.
+   */
+  public static <K, V> AutoMap<K, V> makeConcurrentAutoMap(KeyGenerator<K> keyGenerator)
+  {
+    return new AutoMap<>(keyGenerator, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Returns a thread-safe {@link AutoMap} backed by a <code>ConcurrentHashMap</code>, with <code>Long</code> keys
+   * generated by a {@link BlockKeyGenerator}: each thread generates its keys from its own block, so the threads that
+   * put values don't contend on the key generation.
+   *
+   * @param <V> The value type of the map
+   * @return The thread-safe <code>AutoMap</code>.
+   */
+  public static <V> AutoMap<Long, V> makeConcurrentAutoMap()
+  {
+    return makeConcurrentAutoMap(new BlockKeyGenerator());
+  }
+
+  /**
+   * Returns an {@link AutoMap} that stores its values by dense ranges of <code>Long</code> keys, for a
+   * <code>keyGenerator</code> that generates ascending keys, like a {@link SequenceKeyGenerator}. The values are stored
+   * into an array of chunks at the index <code>key - base</code>, without boxed keys nor entries: a value is read by an
+   * array load, and the associated map is iterated in ascending key order. The chunks emptied by the removals are
+   * released. A key lower than the first key put into the empty map is refused. The <code>null</code> values are not
+   * accepted, and the returned map is not thread-safe.
+   *
+   * @param <V>          The value type of the map
+   * @param keyGenerator The generator of ascending keys.
+   * @return The <code>AutoMap</code> with a dense storage.
+   */
+  public static <V> AutoMap<Long, V> makeDenseAutoMap(KeyGenerator<Long> keyGenerator)
+  {
+    return new AutoMap<>(keyGenerator, new DenseLongMap<>());
+  }
+
+  /**
+   * Returns an {@link AutoMap} with a bounded capacity: when a value is put into the full map, a value is evicted
+   * according to the policy, so the memory stays flat under a sustained adding.
+   * <ul>
+   * <li>{@link AutoMap.EvictionPolicy#FIFO}: the value with the oldest generated key is evicted. The entries are
+   * stored into a ring buffer allocated with the map, so putting a value doesn't allocate any memory.</li>
+   * <li>{@link AutoMap.EvictionPolicy#LRU}: the least recently put or read value is evicted.</li>
+   * </ul>
+   * Each evicted value is given with its key to the <code>evictionListener</code>, so it can be saved elsewhere. The
+   * returned map is not thread-safe.
+   *
+   * @param <K>              The key of the map
+   * @param <V>              The value type of the map
+   * @param keyGenerator     The generator of the keys.
+   * @param capacity         The maximal number of values.
+   * @param policy           The eviction policy.
+   * @param evictionListener The listener of the evicted values, <code>null</code> if there is no listener.
+   * @return The bounded <code>AutoMap</code>.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  public static <K, V> AutoMap<K, V> makeBoundedAutoMap(KeyGenerator<K> keyGenerator, int capacity,
+                                                       AutoMap.EvictionPolicy policy,
+                                                       BiConsumer<? super K, ? super V> evictionListener)
+  {
+    Map<K, V> _map;
+    switch (Objects.requireNonNull(policy, "Null policy"))
+    {
+      case LRU:
+        _map = new LruMap<>(capacity, evictionListener);
+        break;
+      default:
+        _map = new RingBufferMap<>(capacity, evictionListener);
+        break;
+    }
+    return new AutoMap<>(keyGenerator, _map);
+  }
+
+  /**
+   * Returns an {@link AutoMap} with a bounded capacity, without eviction listener.
+   *
+   * @param <K>          The key of the map
+   * @param <V>          The value type of the map
+   * @param keyGenerator The generator of the keys.
+   * @param capacity     The maximal number of values.
+   * @param policy       The eviction policy.
+   * @return The bounded <code>AutoMap</code>.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   * @see #makeBoundedAutoMap(KeyGenerator, int, AutoMap.EvictionPolicy, BiConsumer)
+   */
+  public static <K, V> AutoMap<K, V> makeBoundedAutoMap(KeyGenerator<K> keyGenerator, int capacity,
+                                                       AutoMap.EvictionPolicy policy)
+  {
+    return makeBoundedAutoMap(keyGenerator, capacity, policy, null);
+  }
+
+  /**
+   * Returns a read-only view on the collection that's showing only the elements accepted by the predicate definition.
+   * Contrary to {@link #makeFilteredCollection(java.util.Collection, java.util.function.Predicate)}, the
+   * <code>originalCollection</code> is never modified: the elements are filtered on the fly while the view is iterated
+   * or streamed. The <code>Spliterator</code> of the view relies on the one of the <code>originalCollection</code>, so
+   * a <code>parallelStream()</code> on the view is split as well as on the <code>originalCollection</code>.
+   *
+   * @param <ElementType>         The type of the element in the collection.
+   * @param originalCollection    The original collection on which the rule will be applied.
+   * @param ruleForThisCollection The predicate used to define the rule on collection elements showing.
+   * @return The read-only view with a filter rule on collection elements.
+   */
+  public static <ElementType> Collection<ElementType> makeFilteredView(Collection<ElementType> originalCollection,
+                                                                       Predicate<? super ElementType> ruleForThisCollection)
+  {
+    return new FilteredView<>(originalCollection, ruleForThisCollection);
+  }
+
+  /**
+   * Returns a read-only view on the map that's showing only the entries for which the value is accepted by the
+   * predicate definition. The <code>originalMap</code> is never modified.
+   *
+   * @param <K>            The key of the map
+   * @param <V>            The value type of the map
+   * @param originalMap    The original map on which the rule will be applied.
+   * @param ruleForThisMap The predicate used to define the rule on map values showing.
+   * @return The read-only view with a filter rule on map values.
+   */
+  public static <K, V> Map<K, V> makeFilteredView(Map<K, V> originalMap, Predicate<? super V> ruleForThisMap)
+  {
+    return java.util.Collections.unmodifiableMap(new FilteredMapView<>(originalMap, ruleForThisMap));
+  }
+
+  /**
+   * Inserts all elements of the collection into the list at the specified position, and gives the rejected elements if
+   * the list is returned by {@link #makeFilteredList(java.util.List, java.util.function.Predicate)}. In this case, the
+   * accepted and rejected elements are split in one pass, and the accepted elements are inserted as a single block. For
+   * other lists, all elements are inserted with <code>addAll(int, Collection)</code>.
+   *
+   * @param <ElementType>    The type of the element in the list.
+   * @param list             The list into which the elements are inserted.
+   * @param index            Index at which to insert the first element.
+   * @param values           Collection containing elements to be added to the list.
+   * @param rejectedElements Collection that receives the elements rejected by the predicate of the list.
+   * @return <code>true</code> if all elements were accepted.
+   */
+  public static <ElementType> boolean addAll(List<ElementType> list, int index, Collection<? extends ElementType> values,
+                                             Collection<? super ElementType> rejectedElements)
+  {
+    if (list instanceof FilteredList)
+    {
+      return ((FilteredList<ElementType>) list).addAll(index, values, rejectedElements);
+    }
+
+    list.addAll(index, values);
+    return true;
+  }
+
   /**
    * Delete values from the collection that are not corresponding to a predicate definition. Values will be deleted only if the collection gets a predicate implementation.
    *
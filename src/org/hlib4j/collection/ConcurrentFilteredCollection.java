@@ -0,0 +1,241 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.Cleaner;
+import org.hlib4j.util.States;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe <code>Collection</code> where elements are filtering according to its predicate definition. This class
+ * takes the control of an external thread-safe collection, like a <code>ConcurrentLinkedQueue</code> or a
+ * <code>ConcurrentHashMap.newKeySet()</code>. It doesn't hold any lock itself: the predicate is tested by the calling
+ * thread, and the operation is delegated to the external collection. The cleaning relies on the
+ * <code>removeIf(...)</code> implementation of the external collection, that's removing each forbidden element
+ * atomically without a global lock on the collection.<br><br>
+ * <p>
+ * Contrary to {@link FilteredCollection}, the iteration on this collection doesn't clean it, since the iterator of a
+ * concurrent collection is weakly consistent: a forbidden element added into the external collection behind this one
+ * stays until the next call to {@link #clean()}.<br><br>
+ * <p>
+ * This class is using as implementations for {@link Collections#makeConcurrentFilteredCollection(java.util.Collection, java.util.function.Predicate)}.
+ *
+ * @param <ElementType> Elements types of this collection.
+ * @author Tioben Neenot
+ * @see FilteredCollection
+ */
+final class ConcurrentFilteredCollection<ElementType> extends AbstractCollection<ElementType> implements Cleaner
+{
+
+  /**
+   * The filter to manage all elements in the managedCollection
+   */
+  private Predicate<ElementType> filter = null;
+
+  /**
+   * The thread-safe collection to manage
+   */
+  private Collection<ElementType> managedCollection = null;
+
+  /**
+   * Builds an instance of this <code>ConcurrentFilteredCollection</code>.
+   *
+   * @param originalCollection    Thread-safe collection links with this wrapper for which all elements will be managing
+   *                              by the given filter.
+   * @param ruleForThisCollection The predicate to apply on each element of this collection.
+   */
+  ConcurrentFilteredCollection(Collection<ElementType> originalCollection, Predicate<ElementType> ruleForThisCollection)
+  {
+    super();
+
+    try
+    {
+      this.filter = States.validate(ruleForThisCollection);
+      this.managedCollection = States.validateNotNullOnly(originalCollection);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null element.");
+    }
+
+    // Force the cleaning on this collection
+    clean();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   *  @see org.hlib4j.concept.Cleaner#clean()
+   */
+  @Override
+  public int clean()
+  {
+    // The size can be modified concurrently during the cleaning, so the removed elements are counted one by one
+    AtomicInteger _counter = new AtomicInteger();
+    this.managedCollection.removeIf(e ->
+    {
+      if (this.filter.test(e))
+      {
+        return false;
+      }
+
+      _counter.incrementAndGet();
+      return true;
+    });
+
+    return _counter.get();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#add(java.lang.Object)
+   */
+  @Override
+  public boolean add(ElementType element)
+  {
+    return this.filter.test(element) && this.managedCollection.add(element);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#addAll(java.util.Collection)
+   */
+  @Override
+  public boolean addAll(Collection<? extends ElementType> otherCollection)
+  {
+    boolean _is_all_added = true;
+
+    for (ElementType e : otherCollection)
+    {
+      // If once add is false, so isAllAdded will be false
+      _is_all_added &= add(e);
+    }
+
+    return _is_all_added;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#clear()
+   */
+  @Override
+  public void clear()
+  {
+    this.managedCollection.clear();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#contains(java.lang.Object)
+   */
+  @Override
+  public boolean contains(Object element)
+  {
+    return this.managedCollection.contains(element);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#isEmpty()
+   */
+  @Override
+  public boolean isEmpty()
+  {
+    return this.managedCollection.isEmpty();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#iterator()
+   */
+  @Override
+  public Iterator<ElementType> iterator()
+  {
+    return this.managedCollection.iterator();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.Collection#spliterator()
+   */
+  @Override
+  public Spliterator<ElementType> spliterator()
+  {
+    return this.managedCollection.spliterator();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#remove(java.lang.Object)
+   */
+  @Override
+  public boolean remove(Object element)
+  {
+    return this.managedCollection.remove(element);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#size()
+   */
+  @Override
+  public int size()
+  {
+    return this.managedCollection.size();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode()
+  {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + this.managedCollection.hashCode();
+    result = prime * result + this.filter.hashCode();
+    return result;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof ConcurrentFilteredCollection<?>))
+    {
+      return false;
+    }
+    ConcurrentFilteredCollection<?> other = (ConcurrentFilteredCollection<?>) obj;
+    return this.managedCollection.equals(other.managedCollection) && this.filter.equals(other.filter);
+  }
+}
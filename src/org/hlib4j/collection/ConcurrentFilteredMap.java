@@ -0,0 +1,402 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.Cleaner;
+import org.hlib4j.util.States;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe <code>ConcurrentMap</code> that's controlling its values according to a predicate. Like
+ * {@link FilteredMap}, this class takes the control of an external <code>ConcurrentMap</code>, but it doesn't hold any
+ * lock itself: each operation tests the predicate and delegates to the atomic operation of the external map, so the
+ * writers are only synchronized by the external map itself.<br><br>
+ * <p>
+ * The cleaning is running entry by entry: a forbidden value is removed with the atomic
+ * {@link ConcurrentMap#remove(Object, Object)} operation, so a value replaced concurrently by a valid one is never
+ * removed, and writers are never blocked by a global lock during the cleaning.<br><br>
+ * <p>
+ * This class is using as implementations for {@link Collections#makeConcurrentFilteredMap(java.util.concurrent.ConcurrentMap, java.util.function.Predicate)}.
+ *
+ * @param <K> The key type for this collection
+ * @param <V> The value type for this collection
+ * @author Tioben Neenot
+ * @see FilteredMap
+ */
+final class ConcurrentFilteredMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Cleaner
+{
+
+  /**
+   * Internal managedMap to manage all records
+   */
+  private ConcurrentMap<K, V> managedMap = null;
+  /**
+   * The ruleForThisMap to apply to all managedMap records
+   */
+  private Predicate<V> ruleForThisMap = null;
+
+  /**
+   * Build an instance of this managedMap.
+   *
+   * @param sourceMap      Map to use for records managing
+   * @param ruleForThisMap The predicate to use with the Map
+   */
+  ConcurrentFilteredMap(ConcurrentMap<K, V> sourceMap, Predicate<V> ruleForThisMap)
+  {
+    super();
+
+    try
+    {
+      this.managedMap = States.validateNotNullOnly(sourceMap);
+      this.ruleForThisMap = States.validate(ruleForThisMap);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null Map or ruleForThisMap.");
+    }
+
+    // Purge all records from the original managedMap that are not conforms with the
+    // ruleForThisMap
+    clean();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see org.hlib4j.concept.Cleaner#clean()
+   */
+  @Override
+  public int clean()
+  {
+    int _counter = 0;
+
+    for (Map.Entry<K, V> _entry : this.managedMap.entrySet())
+    {
+      V _value = _entry.getValue();
+      if (!this.ruleForThisMap.test(_value) && this.managedMap.remove(_entry.getKey(), _value))
+      {
+        ++_counter;
+      }
+    }
+
+    return _counter;
+  }
+
+  /**
+   * Gives the value to record into the managedMap according to the ruleForThisMap.
+   *
+   * @param newValue     The value computed for the managedMap, or <code>null</code> to remove the mapping.
+   * @param currentValue The current value of the managedMap.
+   * @return The <code>newValue</code> if it's accepted, or the <code>currentValue</code> to keep the managedMap
+   * unchanged otherwise.
+   */
+  private V acceptOrKeep(V newValue, V currentValue)
+  {
+    return newValue == null || this.ruleForThisMap.test(newValue) ? newValue : currentValue;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#hashCode()
+   */
+  @Override
+  public int hashCode()
+  {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + this.managedMap.hashCode();
+    return result;
+  }
+
+  /*
+   * (non javadoc)
+   *
+   * @see java.lang.Object#equals(Object)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean equals(Object obj)
+  {
+    if (obj == null)
+    {
+      return false;
+    }
+    if (getClass() != obj.getClass())
+    {
+      return false;
+    }
+    final ConcurrentFilteredMap<K, V> other = (ConcurrentFilteredMap<K, V>) obj;
+    if (this.managedMap != other.managedMap && !this.managedMap.equals(other.managedMap))
+    {
+      return false;
+    }
+    return this.ruleForThisMap == other.ruleForThisMap || this.ruleForThisMap.equals(other.ruleForThisMap);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#values()
+   */
+  @Override
+  public Collection<V> values()
+  {
+    // The values are controlled while they are written, so the view of the managedMap is given without any copy: it
+    // can't add values, and it's not purged at each call.
+    return this.managedMap.values();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#entrySet()
+   */
+  @Override
+  public Set<Map.Entry<K, V>> entrySet()
+  {
+    // The values given to the entries are controlled by the ruleForThisMap. No cleaning before the iteration, since
+    // the iterator of the managedMap is weakly consistent.
+    return new FilteredEntrySet<>(this.managedMap.entrySet(), this.ruleForThisMap, null);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#keySet()
+   */
+  @Override
+  public Set<K> keySet()
+  {
+    return this.managedMap.keySet();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#clear()
+   */
+  @Override
+  public void clear()
+  {
+    this.managedMap.clear();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#containsKey(java.lang.Object)
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return this.managedMap.containsKey(key);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#containsValue(java.lang.Object)
+   */
+  @Override
+  public boolean containsValue(Object value)
+  {
+    return this.managedMap.containsValue(value);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#get(java.lang.Object)
+   */
+  @Override
+  public V get(Object key)
+  {
+    return this.managedMap.get(key);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#isEmpty()
+   */
+  @Override
+  public boolean isEmpty()
+  {
+    return this.managedMap.isEmpty();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#size()
+   */
+  @Override
+  public int size()
+  {
+    return this.managedMap.size();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#put(java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public V put(K key, V value)
+  {
+    if (!this.ruleForThisMap.test(value))
+    {
+      return null;
+    }
+
+    return this.managedMap.put(key, value);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#putAll(java.util.Map)
+   */
+  @Override
+  public void putAll(Map<? extends K, ? extends V> m)
+  {
+    for (Map.Entry<? extends K, ? extends V> _entry : m.entrySet())
+    {
+      put(_entry.getKey(), _entry.getValue());
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#putIfAbsent(java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public V putIfAbsent(K key, V value)
+  {
+    if (!this.ruleForThisMap.test(value))
+    {
+      return null;
+    }
+
+    return this.managedMap.putIfAbsent(key, value);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#remove(java.lang.Object)
+   */
+  @Override
+  public V remove(Object key)
+  {
+    return this.managedMap.remove(key);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#remove(java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public boolean remove(Object key, Object value)
+  {
+    return this.managedMap.remove(key, value);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#replace(java.lang.Object, java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public boolean replace(K key, V oldValue, V newValue)
+  {
+    return this.ruleForThisMap.test(newValue) && this.managedMap.replace(key, oldValue, newValue);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#replace(java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public V replace(K key, V value)
+  {
+    if (!this.ruleForThisMap.test(value))
+    {
+      return null;
+    }
+
+    return this.managedMap.replace(key, value);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#replaceAll(java.util.function.BiFunction)
+   */
+  @Override
+  public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function)
+  {
+    // The rejected values keep the current value, so the default retry loop of ConcurrentMap is not used
+    this.managedMap.replaceAll((k, v) -> acceptOrKeep(function.apply(k, v), v));
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#computeIfAbsent(java.lang.Object, java.util.function.Function)
+   */
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+  {
+    return this.managedMap.computeIfAbsent(key, k -> acceptOrKeep(mappingFunction.apply(k), null));
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#computeIfPresent(java.lang.Object, java.util.function.BiFunction)
+   */
+  @Override
+  public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+  {
+    return this.managedMap.computeIfPresent(key, (k, v) -> acceptOrKeep(remappingFunction.apply(k, v), v));
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#compute(java.lang.Object, java.util.function.BiFunction)
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+  {
+    return this.managedMap.compute(key, (k, v) -> acceptOrKeep(remappingFunction.apply(k, v), v));
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.concurrent.ConcurrentMap#merge(java.lang.Object, java.lang.Object, java.util.function.BiFunction)
+   */
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+  {
+    return this.managedMap.compute(key, (k, v) -> acceptOrKeep(v == null ? value : remappingFunction.apply(v, value), v));
+  }
+}
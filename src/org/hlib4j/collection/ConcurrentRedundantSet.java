@@ -0,0 +1,483 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.Cleaner;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe version of the {@link RedundantSet} collection. Each distinct element is recorded once with a counter
+ * of its occurrences. The added occurrences are counted by a striped counter, so concurrent threads adding the same
+ * element don't fight for a single memory location. The removed occurrences are counted by a compare-and-set loop that
+ * never removes more occurrences than added, so concurrent removers of the last occurrences all succeed while an
+ * occurrence is left. No lock is taken by {@link #add(Object)}, {@link #remove(Object)} or
+ * {@link #countElementFor(Object)}.<br><br>
+ * <p>
+ * The iterators are weakly consistent: each element is given as many times as its number of occurrences read when the
+ * iterator reaches it, and the iterators never throw <code>ConcurrentModificationException</code>. The number of
+ * occurrences of an element that is concurrently updated, and the {@link #size()} of this collection, are a snapshot
+ * that may not contain the updates in progress.<br><br>
+ * <p>
+ * An element whose all occurrences are removed stays recorded with no occurrence, to avoid losing a concurrent
+ * adding. These elements are removed by {@link #clean()}, which is safe to call while other threads update this
+ * collection. An update never waits for the cleaning: the cleaning only marks a counter without occurrence as being
+ * checked, and an update that finds this mark cancels the check, so the counter is kept. A counter is removed only if
+ * no update was in progress or begun during the check; an update that finds a removed counter retries on a new
+ * counter.
+ *
+ * @param <T> The type of the elements.
+ * @author Tioben Neenot
+ */
+public class ConcurrentRedundantSet<T> extends AbstractSet<T> implements Cleaner
+{
+
+  /**
+   * Key recorded into the internal representation for the <code>null</code> element.
+   */
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * The counter of occurrences of each distinct element
+   */
+  private final ConcurrentMap<Object, Occurrences> internalRedundantValues;
+
+  /**
+   * The number of occurrences of all elements
+   */
+  private final LongAdder totalOccurrences;
+
+  /**
+   * Builds a <code>ConcurrentRedundantSet</code> collection based on the element of the collection given as
+   * parameters.
+   *
+   * @param values Element of the collection that will be copied into the current one.
+   */
+  public ConcurrentRedundantSet(Collection<T> values)
+  {
+    this();
+
+    addAll(values);
+  }
+
+  /**
+   * Build an empty collection for the ConcurrentRedundantSet class.
+   */
+  public ConcurrentRedundantSet()
+  {
+    super();
+    this.internalRedundantValues = new ConcurrentHashMap<>();
+    this.totalOccurrences = new LongAdder();
+  }
+
+  /**
+   * Adds an occurrence of the value.
+   *
+   * @param value The value to add.
+   * @return Always <code>true</code>.
+   */
+  @Override
+  public boolean add(T value)
+  {
+    Object _key = mask(value);
+
+    Occurrences _occurrences;
+    while (!(_occurrences = occurrencesFor(_key)).beginUpdate())
+    {
+      // The counter is removed by a cleaning: a new counter is created
+      this.internalRedundantValues.remove(_key, _occurrences);
+    }
+
+    _occurrences.add();
+    _occurrences.endUpdate();
+    this.totalOccurrences.increment();
+    return true;
+  }
+
+  /**
+   * Removes an occurrence of the value.
+   *
+   * @param value The value to remove.
+   * @return <code>true</code> if an occurrence was removed.
+   */
+  @Override
+  public boolean remove(Object value)
+  {
+    Object _key = mask(value);
+
+    Occurrences _occurrences;
+    while ((_occurrences = this.internalRedundantValues.get(_key)) != null && !_occurrences.beginUpdate())
+    {
+      // The counter is removed by a cleaning, so it had no occurrence
+      this.internalRedundantValues.remove(_key, _occurrences);
+    }
+
+    if (_occurrences == null)
+    {
+      return false;
+    }
+
+    boolean _is_removed = _occurrences.remove();
+    _occurrences.endUpdate();
+
+    if (_is_removed)
+    {
+      this.totalOccurrences.decrement();
+    }
+    return _is_removed;
+  }
+
+  @Override
+  public boolean contains(Object value)
+  {
+    return this.countElementFor(value) > 0;
+  }
+
+  /**
+   * Gets the number of occurrences of the element.
+   *
+   * @param element The element to search.
+   * @return The number of occurrences of the element, <code>0</code> if the element is not into this collection.
+   */
+  public int countElementFor(Object element)
+  {
+    Occurrences _occurrences = this.internalRedundantValues.get(mask(element));
+    return _occurrences == null ? 0 : toCount(_occurrences.count());
+  }
+
+  /**
+   * Returns the number of elements of this collection, redundant elements included. If this number is greater than
+   * <code>Integer.MAX_VALUE</code>, <code>Integer.MAX_VALUE</code> is returned.
+   *
+   * @return The number of elements of this collection.
+   */
+  @Override
+  public int size()
+  {
+    return toCount(this.totalOccurrences.sum());
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return this.totalOccurrences.sum() <= 0;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends T> values)
+  {
+    for (T v : values) add(v);
+    return true;
+  }
+
+  /**
+   * Removes all elements of this collection. The elements concurrently added may be kept.
+   */
+  @Override
+  public void clear()
+  {
+    for (Map.Entry<Object, Occurrences> _entry : this.internalRedundantValues.entrySet())
+    {
+      Occurrences _occurrences = _entry.getValue();
+      if (_occurrences.retire())
+      {
+        this.internalRedundantValues.remove(_entry.getKey(), _occurrences);
+        this.totalOccurrences.add(-_occurrences.count());
+      }
+    }
+  }
+
+  /**
+   * Removes the elements recorded without any occurrence.
+   *
+   * @return The number of distinct elements removed.
+   */
+  @Override
+  public int clean()
+  {
+    int _counter = 0;
+    for (Map.Entry<Object, Occurrences> _entry : this.internalRedundantValues.entrySet())
+    {
+      Occurrences _occurrences = _entry.getValue();
+      if (_occurrences.count() == 0 && _occurrences.retireIfEmpty())
+      {
+        this.internalRedundantValues.remove(_entry.getKey(), _occurrences);
+        ++_counter;
+      }
+    }
+
+    return _counter;
+  }
+
+  @Override
+  public Iterator<T> iterator()
+  {
+    return new ConcurrentRedundantSetIterator();
+  }
+
+  /**
+   * Returns a weakly consistent <code>Spliterator</code> on all elements of this collection, redundant elements
+   * included.
+   *
+   * @return A <code>Spliterator</code> on all elements of this collection.
+   */
+  @Override
+  public Spliterator<T> spliterator()
+  {
+    return Spliterators.spliteratorUnknownSize(this.iterator(), Spliterator.CONCURRENT);
+  }
+
+  /**
+   * Gets the counter of the key, by creating it if it's not existing.
+   *
+   * @param key The masked key.
+   * @return The counter of the key.
+   */
+  private Occurrences occurrencesFor(Object key)
+  {
+    Occurrences _occurrences = this.internalRedundantValues.get(key);
+    return _occurrences != null ? _occurrences : this.internalRedundantValues.computeIfAbsent(key, k -> new
+      Occurrences());
+  }
+
+  private static int toCount(long sum)
+  {
+    return (int) Math.max(0, Math.min(Integer.MAX_VALUE, sum));
+  }
+
+  private static Object mask(Object element)
+  {
+    return element == null ? NULL_KEY : element;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T unmask(Object key)
+  {
+    return key == NULL_KEY ? null : (T) key;
+  }
+
+  /**
+   * Counter of the occurrences of an element: the number of added occurrences minus the number of removed ones. A
+   * retired counter is removed from the internal representation, and it's never updated any more. The state of a
+   * counter is {@link #ACTIVE}, {@link #RETIRED}, or the mark of the cleaning that's checking it.
+   */
+  private static final class Occurrences
+  {
+
+    // State of a counter that can be updated
+    private static final Object ACTIVE = new Object();
+
+    // State of a counter removed from the internal representation
+    private static final Object RETIRED = new Object();
+
+    // The number of added occurrences, which never decreases
+    private final LongAdder addedOccurrences = new LongAdder();
+
+    // The number of removed occurrences, never greater than the number of added ones
+    private final AtomicLong removedOccurrences = new AtomicLong();
+
+    // The number of updates in progress
+    private final LongAdder pendingUpdates = new LongAdder();
+
+    private final AtomicReference<Object> state = new AtomicReference<>(ACTIVE);
+
+    /**
+     * Registers an update of this counter. If this counter is checked by a cleaning, the check is cancelled.
+     *
+     * @return <code>false</code> if this counter is retired, and must not be updated.
+     */
+    private boolean beginUpdate()
+    {
+      this.pendingUpdates.increment();
+      while (true)
+      {
+        Object _state = this.state.get();
+        if (_state == ACTIVE)
+        {
+          return true;
+        }
+        if (_state == RETIRED)
+        {
+          this.pendingUpdates.decrement();
+          return false;
+        }
+        if (this.state.compareAndSet(_state, ACTIVE))
+        {
+          return true;
+        }
+      }
+    }
+
+    private void endUpdate()
+    {
+      this.pendingUpdates.decrement();
+    }
+
+    private void add()
+    {
+      this.addedOccurrences.increment();
+    }
+
+    /**
+     * Removes an occurrence, if an occurrence is left. A concurrent remover can only make this call retry, by removing
+     * another occurrence, so the call fails only if no occurrence is left.
+     *
+     * @return <code>true</code> if an occurrence was removed.
+     */
+    private boolean remove()
+    {
+      while (true)
+      {
+        long _removed = this.removedOccurrences.get();
+        // The number of added occurrences never decreases, so it's still greater than _removed when the CAS succeeds
+        if (this.addedOccurrences.sum() <= _removed)
+        {
+          return false;
+        }
+        if (this.removedOccurrences.compareAndSet(_removed, _removed + 1))
+        {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Gets the number of occurrences. The removed occurrences are read first, so the result is never negative.
+     *
+     * @return The number of occurrences.
+     */
+    private long count()
+    {
+      long _removed = this.removedOccurrences.get();
+      return this.addedOccurrences.sum() - _removed;
+    }
+
+    /**
+     * Retires this counter if it has no occurrence and no update in progress. This method never waits: an update begun
+     * during the check cancels it, and this counter is kept.
+     *
+     * @return <code>true</code> if this counter is retired by this call.
+     */
+    private boolean retireIfEmpty()
+    {
+      // A new mark for each check, so a check cancelled and begun again by another cleaning is never confused with it
+      Object _check = new Object();
+      if (!this.state.compareAndSet(ACTIVE, _check))
+      {
+        return false;
+      }
+
+      if (this.pendingUpdates.sum() == 0 && count() == 0 && this.state.compareAndSet(_check, RETIRED))
+      {
+        return true;
+      }
+
+      this.state.compareAndSet(_check, ACTIVE);
+      return false;
+    }
+
+    /**
+     * Retires this counter, and waits for the end of the updates in progress, so its number of occurrences is exact.
+     * Only the caller waits: the updates begun after the retirement fail at once.
+     *
+     * @return <code>false</code> if this counter was retired yet by another thread.
+     */
+    private boolean retire()
+    {
+      if (this.state.getAndSet(RETIRED) == RETIRED)
+      {
+        return false;
+      }
+
+      while (this.pendingUpdates.sum() != 0)
+      {
+        Thread.yield();
+      }
+      return true;
+    }
+  }
+
+  /**
+   * This class reads each entry of the internal representation and loops on the same value according to the
+   * occurrences number read once by entry.
+   */
+  private class ConcurrentRedundantSetIterator implements Iterator<T>
+  {
+
+    // The iterator on the entries of the internal representation
+    private final Iterator<Map.Entry<Object, Occurrences>> entryIterator;
+
+    // The current element gets from the entryIterator
+    private T currentElement = null;
+
+    // The number of occurrences left to give for the currentElement
+    private int remainingOccurrences = 0;
+
+    // The last element given by next(), that can be removed
+    private T lastElement = null;
+
+    // true if the last element can be removed
+    private boolean isRemovable = false;
+
+    public ConcurrentRedundantSetIterator()
+    {
+      this.entryIterator = internalRedundantValues.entrySet().iterator();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (this.remainingOccurrences == 0 && this.entryIterator.hasNext())
+      {
+        Map.Entry<Object, Occurrences> _entry = this.entryIterator.next();
+        this.currentElement = unmask(_entry.getKey());
+        this.remainingOccurrences = toCount(_entry.getValue().count());
+      }
+
+      return this.remainingOccurrences > 0;
+    }
+
+    @Override
+    public T next()
+    {
+      if (!this.hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+
+      --this.remainingOccurrences;
+      this.lastElement = this.currentElement;
+      this.isRemovable = true;
+      return this.lastElement;
+    }
+
+    @Override
+    public void remove()
+    {
+      if (!this.isRemovable)
+      {
+        throw new IllegalStateException();
+      }
+
+      this.isRemovable = false;
+      ConcurrentRedundantSet.this.remove(this.lastElement);
+    }
+  }
+}
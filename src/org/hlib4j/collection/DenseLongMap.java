@@ -0,0 +1,666 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Map with <code>Long</code> keys that are mostly contiguous, like the keys generated by a sequence. The values are
+ * stored into an append-only array of chunks, at the index <code>key - base</code>: the keys are neither boxed nor
+ * hashed, no entry object is stored, a value is read by an array load, and the entries are iterated sequentially in
+ * ascending key order.<br><br>
+ * <p>
+ * A removed value leaves an empty slot into its chunk. A chunk whose values fall to a quarter of its slots is
+ * compacted into a sparse chunk: its values are packed with the sorted indexes of their slots, and found by a binary
+ * search. A sparse chunk is expanded again when its values exceed half of the slots. A chunk that doesn't contain any
+ * value anymore is released, and the released chunks at the beginning of the array are compacted when they are half of
+ * the array, so the memory follows the number of live values and the range of their keys. The base is the first key
+ * put into the empty map: a key lower than the base, or too far from it, is refused. The <code>null</code> values are
+ * not accepted. This class is not thread-safe.
+ *
+ * @param <V> The type of the values.
+ * @author Tioben Neenot
+ */
+final class DenseLongMap<V> extends AbstractMap<Long, V>
+{
+
+  /**
+   * Number of bits of the index of a value into its chunk.
+   */
+  private static final int CHUNK_BITS = 10;
+
+  /**
+   * Number of values of a chunk.
+   */
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+  /**
+   * Mask of the index of a value into its chunk.
+   */
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  /**
+   * Number of values under which a chunk is compacted into a sparse chunk.
+   */
+  private static final int SPARSE_THRESHOLD = CHUNK_SIZE >> 2;
+
+  /**
+   * Maximal number of values of a sparse chunk.
+   */
+  private static final int SPARSE_CAPACITY = CHUNK_SIZE >> 1;
+
+  /**
+   * Maximal number of chunks.
+   */
+  private static final int MAXIMUM_CHUNKS = 1 << 20;
+
+  /**
+   * The chunks of values, <code>null</code> for a released chunk. The values of a sparse chunk are packed.
+   */
+  private Object[][] chunks;
+
+  /**
+   * The sorted indexes of the slots of the values of each sparse chunk, <code>null</code> for the other chunks
+   */
+  private char[][] sparseSlots;
+
+  /**
+   * The number of values of each chunk
+   */
+  private int[] chunkSizes;
+
+  /**
+   * The number of chunks used into the array
+   */
+  private int chunkCount;
+
+  /**
+   * The key of the first slot of the first chunk
+   */
+  private long base;
+
+  /**
+   * The number of values
+   */
+  private int size;
+
+  /**
+   * The number of modifications, to detect the concurrent modifications while iterating
+   */
+  private int modificationCount;
+
+  /**
+   * Build an empty map.
+   */
+  DenseLongMap()
+  {
+    super();
+
+    this.chunks = new Object[8][];
+    this.sparseSlots = new char[8][];
+    this.chunkSizes = new int[8];
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#size()
+   */
+  @Override
+  public int size()
+  {
+    return this.size;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#containsKey(java.lang.Object)
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return get(key) != null;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#get(java.lang.Object)
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Object key)
+  {
+    if (!(key instanceof Long))
+    {
+      return null;
+    }
+
+    long _index = (Long) key - this.base;
+    if (_index < 0 || _index >= (long) this.chunkCount << CHUNK_BITS)
+    {
+      return null;
+    }
+
+    int _chunk_index = (int) (_index >>> CHUNK_BITS);
+    Object[] _chunk = this.chunks[_chunk_index];
+    if (_chunk == null)
+    {
+      return null;
+    }
+
+    int _position = positionOf(_chunk_index, (int) _index & CHUNK_MASK);
+    return _position < 0 ? null : (V) _chunk[_position];
+  }
+
+  /**
+   * Puts the value at the slot of the key.
+   *
+   * @param key   The key of the value.
+   * @param value The value.
+   * @return The previous value of the key, <code>null</code> if the key had no value.
+   * @throws NullPointerException     If the key or the value is <code>null</code>.
+   * @throws IllegalArgumentException If the key is lower than the base, or too far from it.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V put(Long key, V value)
+  {
+    Objects.requireNonNull(key, "Null key");
+    Objects.requireNonNull(value, "Null value");
+
+    if (this.size == 0)
+    {
+      clear();
+      this.base = key;
+    }
+
+    long _index = key - this.base;
+    if (_index < 0 || _index >= (long) MAXIMUM_CHUNKS << CHUNK_BITS)
+    {
+      throw new IllegalArgumentException("Key out of the dense range: " + key + " (base " + this.base + ")");
+    }
+
+    int _chunk_index = (int) (_index >>> CHUNK_BITS);
+    if (_chunk_index >= this.chunkCount)
+    {
+      ensureChunks(_chunk_index + 1);
+    }
+
+    Object[] _chunk = this.chunks[_chunk_index];
+    if (_chunk == null)
+    {
+      _chunk = new Object[CHUNK_SIZE];
+      this.chunks[_chunk_index] = _chunk;
+    }
+
+    int _slot = (int) _index & CHUNK_MASK;
+    int _position = positionOf(_chunk_index, _slot);
+    if (_position < 0)
+    {
+      if (this.chunkSizes[_chunk_index] < SPARSE_CAPACITY)
+      {
+        insertSparse(_chunk_index, -_position - 1, _slot, value);
+        return null;
+      }
+
+      expand(_chunk_index);
+      _chunk = this.chunks[_chunk_index];
+      _position = _slot;
+    }
+
+    Object _previous = _chunk[_position];
+    _chunk[_position] = value;
+    if (_previous == null)
+    {
+      ++this.chunkSizes[_chunk_index];
+      ++this.size;
+      ++this.modificationCount;
+    }
+
+    return (V) _previous;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#remove(java.lang.Object)
+   */
+  @Override
+  public V remove(Object key)
+  {
+    if (!(key instanceof Long))
+    {
+      return null;
+    }
+
+    long _index = (Long) key - this.base;
+    if (_index < 0 || _index >= (long) this.chunkCount << CHUNK_BITS)
+    {
+      return null;
+    }
+
+    return removeAt((int) (_index >>> CHUNK_BITS), (int) _index & CHUNK_MASK);
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#clear()
+   */
+  @Override
+  public void clear()
+  {
+    Arrays.fill(this.chunks, 0, this.chunkCount, null);
+    Arrays.fill(this.sparseSlots, 0, this.chunkCount, null);
+    Arrays.fill(this.chunkSizes, 0, this.chunkCount, 0);
+    this.chunkCount = 0;
+    this.size = 0;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Gives the entries to the action, in ascending key order, without creating any entry.
+   *
+   * @param action The action to run for each key and its value.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(BiConsumer<? super Long, ? super V> action)
+  {
+    int _modification_count = this.modificationCount;
+    for (int _chunk_index = 0; _chunk_index < this.chunkCount; ++_chunk_index)
+    {
+      Object[] _chunk = this.chunks[_chunk_index];
+      if (_chunk == null)
+      {
+        continue;
+      }
+
+      long _first_key = this.base + ((long) _chunk_index << CHUNK_BITS);
+      char[] _slots = this.sparseSlots[_chunk_index];
+      if (_slots != null)
+      {
+        for (int _position = 0; _position < this.chunkSizes[_chunk_index]; ++_position)
+        {
+          action.accept(_first_key + _slots[_position], (V) _chunk[_position]);
+        }
+      } else
+      {
+        for (int _slot = 0; _slot < CHUNK_SIZE; ++_slot)
+        {
+          if (_chunk[_slot] != null)
+          {
+            action.accept(_first_key + _slot, (V) _chunk[_slot]);
+          }
+        }
+      }
+
+      if (_modification_count != this.modificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#entrySet()
+   */
+  @Override
+  public Set<Entry<Long, V>> entrySet()
+  {
+    return new AbstractSet<Entry<Long, V>>()
+    {
+      @Override
+      public int size()
+      {
+        return DenseLongMap.this.size;
+      }
+
+      @Override
+      public void clear()
+      {
+        DenseLongMap.this.clear();
+      }
+
+      @Override
+      public Iterator<Entry<Long, V>> iterator()
+      {
+        return new EntryIterator();
+      }
+    };
+  }
+
+  /**
+   * Removes the value of a slot. The chunk is released if it's empty, or compacted into a sparse chunk if it has few
+   * values left.
+   *
+   * @param chunkIndex The index of the chunk.
+   * @param slot       The index of the slot into the chunk.
+   * @return The removed value, <code>null</code> if the slot was empty.
+   */
+  @SuppressWarnings("unchecked")
+  private V removeAt(int chunkIndex, int slot)
+  {
+    Object[] _chunk = this.chunks[chunkIndex];
+    if (_chunk == null)
+    {
+      return null;
+    }
+
+    int _position = positionOf(chunkIndex, slot);
+    if (_position < 0 || _chunk[_position] == null)
+    {
+      return null;
+    }
+
+    Object _previous = _chunk[_position];
+    int _chunk_size = --this.chunkSizes[chunkIndex];
+    char[] _slots = this.sparseSlots[chunkIndex];
+    if (_slots != null)
+    {
+      System.arraycopy(_chunk, _position + 1, _chunk, _position, _chunk_size - _position);
+      System.arraycopy(_slots, _position + 1, _slots, _position, _chunk_size - _position);
+      _chunk[_chunk_size] = null;
+    } else
+    {
+      _chunk[_position] = null;
+    }
+    --this.size;
+    ++this.modificationCount;
+
+    if (_chunk_size == 0)
+    {
+      this.chunks[chunkIndex] = null;
+      this.sparseSlots[chunkIndex] = null;
+      compact();
+    } else if (_slots == null && _chunk_size <= SPARSE_THRESHOLD)
+    {
+      shrink(chunkIndex);
+    }
+
+    return (V) _previous;
+  }
+
+  /**
+   * Gets the position of the value of a slot into its chunk: the slot itself for a dense chunk, the position found by
+   * a binary search for a sparse chunk.
+   *
+   * @param chunkIndex The index of the chunk, not released.
+   * @param slot       The index of the slot into the chunk.
+   * @return The position of the value, or <code>-(insertion position) - 1</code> if a sparse chunk has no value for
+   * the slot.
+   */
+  private int positionOf(int chunkIndex, int slot)
+  {
+    char[] _slots = this.sparseSlots[chunkIndex];
+    return _slots == null ? slot : Arrays.binarySearch(_slots, 0, this.chunkSizes[chunkIndex], (char) slot);
+  }
+
+  /**
+   * Inserts a value into a sparse chunk, and grows the chunk if it's full.
+   *
+   * @param chunkIndex The index of the sparse chunk.
+   * @param position   The insertion position of the value.
+   * @param slot       The index of the slot of the value.
+   * @param value      The value to insert.
+   */
+  private void insertSparse(int chunkIndex, int position, int slot, Object value)
+  {
+    Object[] _chunk = this.chunks[chunkIndex];
+    char[] _slots = this.sparseSlots[chunkIndex];
+    int _chunk_size = this.chunkSizes[chunkIndex];
+    if (_chunk_size == _chunk.length)
+    {
+      int _length = Math.min(SPARSE_CAPACITY, _chunk_size + (_chunk_size >> 1) + 1);
+      _chunk = this.chunks[chunkIndex] = Arrays.copyOf(_chunk, _length);
+      _slots = this.sparseSlots[chunkIndex] = Arrays.copyOf(_slots, _length);
+    }
+
+    System.arraycopy(_chunk, position, _chunk, position + 1, _chunk_size - position);
+    System.arraycopy(_slots, position, _slots, position + 1, _chunk_size - position);
+    _chunk[position] = value;
+    _slots[position] = (char) slot;
+    ++this.chunkSizes[chunkIndex];
+    ++this.size;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Compacts a dense chunk into a sparse chunk.
+   *
+   * @param chunkIndex The index of the dense chunk.
+   */
+  private void shrink(int chunkIndex)
+  {
+    Object[] _chunk = this.chunks[chunkIndex];
+    int _chunk_size = this.chunkSizes[chunkIndex];
+    Object[] _values = new Object[_chunk_size];
+    char[] _slots = new char[_chunk_size];
+
+    int _position = 0;
+    for (int _slot = 0; _position < _chunk_size; ++_slot)
+    {
+      if (_chunk[_slot] != null)
+      {
+        _values[_position] = _chunk[_slot];
+        _slots[_position++] = (char) _slot;
+      }
+    }
+
+    this.chunks[chunkIndex] = _values;
+    this.sparseSlots[chunkIndex] = _slots;
+  }
+
+  /**
+   * Expands a sparse chunk into a dense chunk.
+   *
+   * @param chunkIndex The index of the sparse chunk.
+   */
+  private void expand(int chunkIndex)
+  {
+    Object[] _values = this.chunks[chunkIndex];
+    char[] _slots = this.sparseSlots[chunkIndex];
+    Object[] _chunk = new Object[CHUNK_SIZE];
+    for (int _position = 0; _position < this.chunkSizes[chunkIndex]; ++_position)
+    {
+      _chunk[_slots[_position]] = _values[_position];
+    }
+
+    this.chunks[chunkIndex] = _chunk;
+    this.sparseSlots[chunkIndex] = null;
+  }
+
+  /**
+   * Removes the released chunks at the beginning and at the end of the array, when the released chunks at the
+   * beginning are half of the used chunks. The base moves forward by the removed chunks.
+   */
+  private void compact()
+  {
+    while (this.chunkCount > 0 && this.chunks[this.chunkCount - 1] == null)
+    {
+      --this.chunkCount;
+    }
+
+    int _released = 0;
+    while (_released < this.chunkCount && this.chunks[_released] == null)
+    {
+      ++_released;
+    }
+
+    if (_released > 0 && _released * 2 >= this.chunkCount)
+    {
+      int _remaining = this.chunkCount - _released;
+      System.arraycopy(this.chunks, _released, this.chunks, 0, _remaining);
+      System.arraycopy(this.sparseSlots, _released, this.sparseSlots, 0, _remaining);
+      System.arraycopy(this.chunkSizes, _released, this.chunkSizes, 0, _remaining);
+      Arrays.fill(this.chunks, _remaining, this.chunkCount, null);
+      Arrays.fill(this.sparseSlots, _remaining, this.chunkCount, null);
+      Arrays.fill(this.chunkSizes, _remaining, this.chunkCount, 0);
+      this.chunkCount = _remaining;
+      this.base += (long) _released << CHUNK_BITS;
+    }
+  }
+
+  /**
+   * Increases the number of used chunks, and grows the array of chunks if it's necessary.
+   *
+   * @param chunkCount The number of chunks to use.
+   */
+  private void ensureChunks(int chunkCount)
+  {
+    if (chunkCount > this.chunks.length)
+    {
+      int _length = Math.min(MAXIMUM_CHUNKS, Math.max(chunkCount, this.chunks.length + (this.chunks.length >> 1)));
+      this.chunks = Arrays.copyOf(this.chunks, _length);
+      this.sparseSlots = Arrays.copyOf(this.sparseSlots, _length);
+      this.chunkSizes = Arrays.copyOf(this.chunkSizes, _length);
+    }
+    this.chunkCount = chunkCount;
+  }
+
+  /**
+   * Iterator on the entries, in ascending key order.
+   */
+  private final class EntryIterator implements Iterator<Entry<Long, V>>
+  {
+
+    /**
+     * The expected number of modifications of the map
+     */
+    private int expectedModificationCount = DenseLongMap.this.modificationCount;
+
+    /**
+     * The index of the next value to give, from the first slot of the first chunk
+     */
+    private long nextIndex = -1;
+
+    /**
+     * The key of the last given entry, <code>null</code> if it's removed or if there is no given entry
+     */
+    private Long lastKey;
+
+    /**
+     * The number of values still to give
+     */
+    private int remaining = DenseLongMap.this.size;
+
+    EntryIterator()
+    {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return this.remaining > 0;
+    }
+
+    @Override
+    public Entry<Long, V> next()
+    {
+      if (this.expectedModificationCount != DenseLongMap.this.modificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+
+      Long _key = DenseLongMap.this.base + this.nextIndex;
+      this.lastKey = _key;
+      --this.remaining;
+      advance();
+
+      return new DenseEntry(_key);
+    }
+
+    @Override
+    public void remove()
+    {
+      if (this.lastKey == null)
+      {
+        throw new IllegalStateException();
+      }
+      if (this.expectedModificationCount != DenseLongMap.this.modificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+
+      // The base may move while the chunks are compacted, so the next value is found again by its key
+      long _next_key = DenseLongMap.this.base + this.nextIndex;
+      DenseLongMap.this.remove(this.lastKey);
+      this.nextIndex = _next_key - DenseLongMap.this.base;
+      this.expectedModificationCount = DenseLongMap.this.modificationCount;
+      this.lastKey = null;
+    }
+
+    /**
+     * Moves to the next non-empty slot.
+     */
+    private void advance()
+    {
+      if (this.remaining == 0)
+      {
+        return;
+      }
+
+      long _index = this.nextIndex + 1;
+      while (true)
+      {
+        int _chunk_index = (int) (_index >>> CHUNK_BITS);
+        Object[] _chunk = DenseLongMap.this.chunks[_chunk_index];
+        char[] _slots = DenseLongMap.this.sparseSlots[_chunk_index];
+        if (_chunk == null)
+        {
+          _index = (long) (_chunk_index + 1) << CHUNK_BITS;
+        } else if (_slots != null)
+        {
+          // The next value of a sparse chunk is at the insertion position of the slot
+          int _position = positionOf(_chunk_index, (int) _index & CHUNK_MASK);
+          _position = _position < 0 ? -_position - 1 : _position;
+          if (_position < DenseLongMap.this.chunkSizes[_chunk_index])
+          {
+            this.nextIndex = ((long) _chunk_index << CHUNK_BITS) + _slots[_position];
+            return;
+          }
+          _index = (long) (_chunk_index + 1) << CHUNK_BITS;
+        } else if (_chunk[(int) _index & CHUNK_MASK] == null)
+        {
+          ++_index;
+        } else
+        {
+          this.nextIndex = _index;
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Entry on a slot of the map.
+   */
+  private final class DenseEntry extends SimpleEntry<Long, V>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    DenseEntry(Long key)
+    {
+      super(key, DenseLongMap.this.get(key));
+    }
+
+    @Override
+    public V setValue(V value)
+    {
+      DenseLongMap.this.put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.util.States;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+/**
+ * A list of <code>double</code> values filtered according to its predicate definition. Only the values accepted by the
+ * predicate are added to the list, the other ones are rejected. The values are stored into a growable
+ * <code>double[]</code> array without any boxing, neither for the storage nor for the predicate evaluation, and
+ * {@link #forEach(DoubleConsumer)} reads the values without any allocation.<br><br>
+ * <p>
+ * This class is returned by {@link Collections#makeFilteredDoubleList(java.util.function.DoublePredicate)}.
+ *
+ * @author Tioben Neenot
+ * @see FilteredList
+ */
+public final class DoubleFilteredList
+{
+
+  /**
+   * Default capacity of the values array.
+   */
+  private static final int DEFAULT_CAPACITY = 10;
+
+  /**
+   * The filter links with this list
+   */
+  private final DoublePredicate filter;
+
+  /**
+   * The values of this list
+   */
+  private double[] values;
+
+  /**
+   * The number of values of this list
+   */
+  private int size;
+
+  /**
+   * Builds an instance of the <code>DoubleFilteredList</code>.
+   *
+   * @param ruleForThisList The predicate to apply on each value of this list.
+   */
+  DoubleFilteredList(DoublePredicate ruleForThisList)
+  {
+    super();
+
+    try
+    {
+      this.filter = States.validateNotNullOnly(ruleForThisList);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null element.");
+    }
+
+    this.values = new double[DEFAULT_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Adds a value at the end of this list, if it's accepted by the predicate.
+   *
+   * @param value Value to add.
+   * @return <code>true</code> if the value was accepted.
+   */
+  public boolean add(double value)
+  {
+    if (!this.filter.test(value))
+    {
+      return false;
+    }
+
+    ensureCapacity(this.size + 1);
+    this.values[this.size++] = value;
+    return true;
+  }
+
+  /**
+   * Adds all values accepted by the predicate at the end of this list, by keeping their order. The array of this list
+   * is grown once for all values.
+   *
+   * @param otherValues Values to add.
+   * @return <code>true</code> if all values were accepted.
+   */
+  public boolean addAll(double... otherValues)
+  {
+    ensureCapacity(this.size + otherValues.length);
+
+    int _new_size = this.size;
+    for (double _value : otherValues)
+    {
+      if (this.filter.test(_value))
+      {
+        this.values[_new_size++] = _value;
+      }
+    }
+
+    boolean _is_all_added = _new_size - this.size == otherValues.length;
+    this.size = _new_size;
+
+    return _is_all_added;
+  }
+
+  /**
+   * Gets the value at the specified position.
+   *
+   * @param index Index of the value.
+   * @return The value at the specified position.
+   * @throws IndexOutOfBoundsException If the index is out of range.
+   */
+  public double get(int index)
+  {
+    checkIndex(index);
+    return this.values[index];
+  }
+
+  /**
+   * Replaces the value at the specified position, if the new value is accepted by the predicate.
+   *
+   * @param index Index of the value to replace.
+   * @param value New value.
+   * @return <code>true</code> if the value was accepted.
+   * @throws IndexOutOfBoundsException If the index is out of range.
+   */
+  public boolean set(int index, double value)
+  {
+    checkIndex(index);
+    if (!this.filter.test(value))
+    {
+      return false;
+    }
+
+    this.values[index] = value;
+    return true;
+  }
+
+  /**
+   * Removes the value at the specified position, and shifts the following values to the left.
+   *
+   * @param index Index of the value to remove.
+   * @return The removed value.
+   * @throws IndexOutOfBoundsException If the index is out of range.
+   */
+  public double removeAt(int index)
+  {
+    checkIndex(index);
+
+    double _old_value = this.values[index];
+    System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+    --this.size;
+
+    return _old_value;
+  }
+
+  /**
+   * Gets the index of the first occurrence of the value. Values are compared like <code>Double.equals(Object)</code>.
+   *
+   * @param value Value to search.
+   * @return The index of the first occurrence, or <code>-1</code> if this list doesn't contain the value.
+   */
+  public int indexOf(double value)
+  {
+    for (int _idx = 0; _idx < this.size; ++_idx)
+    {
+      if (Double.doubleToLongBits(this.values[_idx]) == Double.doubleToLongBits(value))
+      {
+        return _idx;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Controls if this list contains the value.
+   *
+   * @param value Value to search.
+   * @return <code>true</code> if this list contains the value.
+   */
+  public boolean contains(double value)
+  {
+    return indexOf(value) >= 0;
+  }
+
+  /**
+   * Gets the number of values of this list.
+   *
+   * @return The number of values.
+   */
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * Controls if this list contains no value.
+   *
+   * @return <code>true</code> if this list is empty.
+   */
+  public boolean isEmpty()
+  {
+    return this.size == 0;
+  }
+
+  /**
+   * Removes all values of this list.
+   */
+  public void clear()
+  {
+    this.size = 0;
+  }
+
+  /**
+   * Gives each value of this list to the action, in the order of this list.
+   *
+   * @param action Action to run for each value.
+   */
+  public void forEach(DoubleConsumer action)
+  {
+    for (int _idx = 0; _idx < this.size; ++_idx)
+    {
+      action.accept(this.values[_idx]);
+    }
+  }
+
+  /**
+   * Gets a sequential stream on the values of this list.
+   *
+   * @return A stream on the values of this list.
+   */
+  public DoubleStream stream()
+  {
+    return Arrays.stream(this.values, 0, this.size);
+  }
+
+  /**
+   * Gets a copy of the values of this list.
+   *
+   * @return An array with all values of this list.
+   */
+  public double[] toArray()
+  {
+    return Arrays.copyOf(this.values, this.size);
+  }
+
+  /**
+   * Grows the array of values to contain at least the given number of values.
+   *
+   * @param minCapacity Minimum number of values.
+   */
+  private void ensureCapacity(int minCapacity)
+  {
+    if (minCapacity > this.values.length)
+    {
+      this.values = Arrays.copyOf(this.values, Math.max(minCapacity, this.values.length + (this.values.length >> 1)));
+    }
+  }
+
+  /**
+   * Controls the index is in the range of this list.
+   *
+   * @param index Index to control.
+   */
+  private void checkIndex(int index)
+  {
+    if (index < 0 || index >= this.size)
+    {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode()
+  {
+    int result = 1;
+    for (int _idx = 0; _idx < this.size; ++_idx)
+    {
+      result = 31 * result + Double.hashCode(this.values[_idx]);
+    }
+    return result;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof DoubleFilteredList))
+    {
+      return false;
+    }
+    DoubleFilteredList other = (DoubleFilteredList) obj;
+    if (this.size != other.size || !this.filter.equals(other.filter))
+    {
+      return false;
+    }
+    for (int _idx = 0; _idx < this.size; ++_idx)
+    {
+      if (Double.doubleToLongBits(this.values[_idx]) != Double.doubleToLongBits(other.values[_idx]))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString()
+  {
+    return Arrays.toString(toArray());
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.io.Codec;
+import org.hlib4j.io.Workspace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link AutoMap} whose values are stored into files of a {@link Workspace}, so they survive a restart. The keys are
+ * the numbers of the values, from <code>0</code>, and the values can't be removed or replaced.<br><br>
+ * <p>
+ * Each put value is appended to a memory-mapped segment file; a new segment file is created when the last one is full.
+ * The location of each value is recorded into a memory-mapped index file. The values are flushed to the disk by
+ * {@link #commit()}, and automatically each time a number of values are put, so several values share the same flush
+ * (group commit). When the map is opened, only the values put after the last commit are controlled, by their
+ * checksum.<br><br>
+ * <p>
+ * The values are read straight from the mapped segments: {@link #getBuffer(long)} gives the bytes of a value without
+ * copying them. This class is not thread-safe.
+ *
+ * @param <V> The value type of the map.
+ * @author Tioben Neenot
+ */
+public class DurableAutoMap<V> extends AutoMap<Long, V> implements Closeable
+{
+
+  /**
+   * Default size of a segment file: 64 MB.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+  /**
+   * Default number of put values between two automatic commits.
+   */
+  public static final int DEFAULT_COMMIT_INTERVAL = 1024;
+
+  /**
+   * The stored map
+   */
+  private final LogMap<V> log;
+
+  /**
+   * Build an instance on the stored map.
+   *
+   * @param log The stored map.
+   */
+  private DurableAutoMap(LogMap<V> log)
+  {
+    super(log.keyGenerator(), log);
+
+    this.log = log;
+  }
+
+  /**
+   * Opens the map stored into the workspace with the name, or creates it if it doesn't exist, with segment files of
+   * {@link #DEFAULT_SEGMENT_SIZE} bytes and a commit each {@link #DEFAULT_COMMIT_INTERVAL} values.
+   *
+   * @param <V>       The value type of the map.
+   * @param workspace The workspace of the files.
+   * @param name      The name of the map, prefix of its files.
+   * @param codec     The codec of the values.
+   * @return The opened map.
+   * @throws IOException If the files can't be read or written, or if they are not the files of a map.
+   */
+  public static <V> DurableAutoMap<V> open(Workspace workspace, String name, Codec<V> codec) throws IOException
+  {
+    return open(workspace, name, codec, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_INTERVAL);
+  }
+
+  /**
+   * Opens the map stored into the workspace with the name, or creates it if it doesn't exist.
+   *
+   * @param <V>            The value type of the map.
+   * @param workspace      The workspace of the files.
+   * @param name           The name of the map, prefix of its files.
+   * @param codec          The codec of the values.
+   * @param segmentSize    The size of each segment file, used only if the map is created.
+   * @param commitInterval The number of put values between two automatic commits, <code>0</code> to commit only by
+   *                       {@link #commit()}.
+   * @return The opened map.
+   * @throws IOException              If the files can't be read or written, or if they are not the files of a map.
+   * @throws IllegalArgumentException If the size of the segments or the commit interval is not valid.
+   */
+  public static <V> DurableAutoMap<V> open(Workspace workspace, String name, Codec<V> codec, int segmentSize,
+                                           int commitInterval) throws IOException
+  {
+    return new DurableAutoMap<>(new LogMap<>(workspace.toPath(), name, codec, segmentSize, commitInterval));
+  }
+
+  /**
+   * Gets the bytes of a value, without copying them.
+   *
+   * @param key The key of the value.
+   * @return A read-only buffer on the encoded bytes of the value, <code>null</code> if the key has no value.
+   */
+  public ByteBuffer getBuffer(long key)
+  {
+    return this.log.getBuffer(key);
+  }
+
+  /**
+   * Gets the number of values of this map.
+   *
+   * @return The number of values.
+   */
+  public long size()
+  {
+    return this.log.longSize();
+  }
+
+  /**
+   * Flushes the put values to the disk. The values put before a commit are kept after a restart.
+   */
+  public void commit()
+  {
+    this.log.commit();
+  }
+
+  /**
+   * Commits the put values, and closes the files of this map.
+   *
+   * @throws IOException If the files can't be closed.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    this.log.close();
+  }
+}
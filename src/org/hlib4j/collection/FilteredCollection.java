@@ -22,7 +22,15 @@ import java.util.function.Predicate;
  * collection given as argument to the constructor {@link #FilteredCollection(java.util.Collection, java.util.function.Predicate)}} contains
  * forbidden elements yet, the <code>FilteredCollection</code> will delete them. <br><br>
  * <p>
- * This class is using as implementations for {@link Collections#makeFilteredCollection(java.util.Collection, java.util.function.Predicate)}.
+ * By default each call to {@link #iterator()}, {@link #toArray()} or {@link #toArray(Object[])} revalidates all elements of the
+ * external collection. With the tracking mode, the elements inserted through this <code>FilteredCollection</code> are
+ * validated once by {@link #add(Object)}, so nothing is revalidated while the external collection isn't modified behind
+ * this one. A full revalidation is only running while the size of the external collection doesn't match the size known
+ * by this <code>FilteredCollection</code>, that's meaning the external collection was modified behind this one. A
+ * modification behind this collection that keeps the size, like <code>List.set</code>, is not detected.<br><br>
+ * <p>
+ * This class is using as implementations for {@link Collections#makeFilteredCollection(java.util.Collection, java.util.function.Predicate)}
+ * and {@link Collections#makeTrackedFilteredCollection(java.util.Collection, java.util.function.Predicate)}.
  *
  * @param <ElementType> Elements types of this collection.
  * @author Tioben Neenot
@@ -41,6 +49,16 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
    */
   private Collection<ElementType> managedCollection = null;
 
+  /**
+   * <code>true</code> if the tracking mode is enabled.
+   */
+  private boolean trackChanges = false;
+
+  /**
+   * Size of the managedCollection as known by this collection after its last operation.
+   */
+  private int knownSize = -1;
+
   /**
    * Builds an instance of this <code>FilteredCollection</code>. This class is a wrapper on a real
    * collection, and takes the control of the external collection, according to filter definition.
@@ -50,6 +68,22 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
    * @param ruleForThisCollection The predicate to apply on each element of this collection.
    */
   FilteredCollection(Collection<ElementType> originalCollection, Predicate<ElementType> ruleForThisCollection)
+  {
+    this(originalCollection, ruleForThisCollection, false);
+  }
+
+  /**
+   * Builds an instance of this <code>FilteredCollection</code> with or without the tracking mode.
+   *
+   * @param originalCollection    Collection links with this wrapper for which all elements will be managing by the given
+   *                              filter.
+   * @param ruleForThisCollection The predicate to apply on each element of this collection.
+   * @param trackChanges          <code>true</code> to revalidate all elements only when the external collection is
+   *                              modified behind this collection, <code>false</code> to revalidate all elements for each
+   *                              cleaning.
+   */
+  FilteredCollection(Collection<ElementType> originalCollection, Predicate<ElementType> ruleForThisCollection,
+                     boolean trackChanges)
   {
     super();
 
@@ -64,6 +98,12 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
 
     // Force the cleaning on this collection
     clean();
+
+    if (trackChanges)
+    {
+      this.trackChanges = true;
+      this.knownSize = this.managedCollection.size();
+    }
   }
 
   /*
@@ -71,25 +111,63 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
    *
    *  @see org.hlib4j.collection.Cleaner#clean()
    */
-  @SuppressWarnings("unchecked")
   @Override
   public int clean()
   {
-    int _counter = 0;
-    // Control the collection contents. Here remove all elements that contains forbidden value.
-    List<Object> _raw_list = Arrays.asList(this.managedCollection.toArray());
-    for (Object _element : _raw_list)
+    if (!isTracking())
     {
-      if (!this.filter.test((ElementType) _element))
-      {
-        this.managedCollection.remove(_element);
-        ++_counter;
-      }
+      return cleanAll();
+    }
+
+    // The elements inserted through this collection were validated by add(), so only a modification behind this
+    // collection needs a revalidation of all elements.
+    if (this.managedCollection.size() == this.knownSize)
+    {
+      return 0;
     }
 
+    int _counter = cleanAll();
+    this.knownSize = this.managedCollection.size();
+
     return _counter;
   }
 
+  /**
+   * Revalidates all elements of the managedCollection.
+   *
+   * @return The number of elements removed.
+   */
+  private int cleanAll()
+  {
+    return Purger.purge(this.managedCollection, this.filter);
+  }
+
+  /**
+   * Controls if the tracking mode is enabled for this collection.
+   *
+   * @return <code>true</code> if the tracking mode is enabled.
+   */
+  private boolean isTracking()
+  {
+    return this.trackChanges;
+  }
+
+  /**
+   * Records the size of the managedCollection after an operation made through this collection, so that this one is not
+   * considered as modified behind this collection.
+   *
+   * @param sizeBeforeOperation Size of the managedCollection before the operation.
+   */
+  private void updateKnownSize(int sizeBeforeOperation)
+  {
+    // A size that doesn't match before the operation means a modification behind this collection: keeps the mismatch
+    // to force the full cleaning.
+    if (isTracking() && sizeBeforeOperation == this.knownSize)
+    {
+      this.knownSize = this.managedCollection.size();
+    }
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -104,7 +182,11 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
       return false;
     }
 
-    return this.managedCollection.add(element);
+    int _size_before = this.managedCollection.size();
+    boolean _is_added = this.managedCollection.add(element);
+    updateKnownSize(_size_before);
+
+    return _is_added;
   }
 
   /*
@@ -135,6 +217,11 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
   public void clear()
   {
     this.managedCollection.clear();
+
+    if (isTracking())
+    {
+      this.knownSize = 0;
+    }
   }
 
   /*
@@ -180,7 +267,20 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
   {
     // Clean all element of the link collection, in case of element would be added by the last one.
     clean();
-    return this.managedCollection.iterator();
+    return isTracking() ? new TrackingIterator(this.managedCollection.iterator()) : this.managedCollection.iterator();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.Collection#spliterator()
+   */
+  @Override
+  public Spliterator<ElementType> spliterator()
+  {
+    // Clean all element of the link collection, in case of element would be added by the last one.
+    clean();
+    return this.managedCollection.spliterator();
   }
 
   /*
@@ -191,7 +291,11 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
   @Override
   public boolean remove(Object element)
   {
-    return this.managedCollection.remove(element);
+    int _size_before = this.managedCollection.size();
+    boolean _is_removed = this.managedCollection.remove(element);
+    updateKnownSize(_size_before);
+
+    return _is_removed;
   }
 
   /*
@@ -202,7 +306,11 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
   @Override
   public boolean removeAll(Collection<?> otherCollection)
   {
-    return this.managedCollection.removeAll(otherCollection);
+    int _size_before = this.managedCollection.size();
+    boolean _is_removed = this.managedCollection.removeAll(otherCollection);
+    updateKnownSize(_size_before);
+
+    return _is_removed;
   }
 
   /*
@@ -224,7 +332,11 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
       }
     }
 
-    return this.managedCollection.retainAll(initialCollection);
+    int _size_before = this.managedCollection.size();
+    boolean _is_modified = this.managedCollection.retainAll(initialCollection);
+    updateKnownSize(_size_before);
+
+    return _is_modified;
   }
 
   /*
@@ -311,4 +423,48 @@ final class FilteredCollection<ElementType> extends AbstractCollection<ElementTy
     return this.filter.equals(other.filter);
 
   }
+
+  /**
+   * An iterator that keeps the known size of the managedCollection up to date while an element is removed through it.
+   *
+   * @author Tioben Neenot
+   */
+  private class TrackingIterator implements Iterator<ElementType>
+  {
+
+    /**
+     * Real iterator of the managedCollection
+     */
+    private final Iterator<ElementType> realIterator;
+
+    /**
+     * Builds an instance of TrackingIterator
+     *
+     * @param it Embedded Iterator type.
+     */
+    private TrackingIterator(Iterator<ElementType> it)
+    {
+      this.realIterator = it;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return this.realIterator.hasNext();
+    }
+
+    @Override
+    public ElementType next()
+    {
+      return this.realIterator.next();
+    }
+
+    @Override
+    public void remove()
+    {
+      int _size_before = FilteredCollection.this.managedCollection.size();
+      this.realIterator.remove();
+      updateKnownSize(_size_before);
+    }
+  }
 }
@@ -0,0 +1,184 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.Cleaner;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The set of entries of a filtered map. Each entry given by this set controls the value given to its
+ * {@link java.util.Map.Entry#setValue(Object)} method according to the rule of the filtered map: a forbidden value is
+ * rejected, the entry is not modified, and <code>null</code> is returned, like for the <code>put(...)</code> method of
+ * the filtered map.<br><br>
+ * <p>
+ * If a {@link Cleaner} is given, it's running before each iteration, in case of forbidden values were added into the
+ * external map behind the filtered map.
+ *
+ * @param <K> The key type of the entries
+ * @param <V> The value type of the entries
+ * @author Tioben Neenot
+ * @see FilteredMap
+ * @see ConcurrentFilteredMap
+ */
+final class FilteredEntrySet<K, V> extends AbstractSet<Map.Entry<K, V>>
+{
+
+  /**
+   * The set of entries of the managed map
+   */
+  private final Set<Map.Entry<K, V>> managedEntries;
+
+  /**
+   * The rule to apply to all values of the entries
+   */
+  private final Predicate<V> ruleForThisMap;
+
+  /**
+   * The cleaner of the managed map, or <code>null</code> if no cleaning is required before an iteration
+   */
+  private final Cleaner cleaner;
+
+  /**
+   * Builds an instance of FilteredEntrySet.
+   *
+   * @param managedEntries The set of entries of the managed map.
+   * @param ruleForThisMap The rule to apply to all values of the entries.
+   * @param cleaner        The cleaner of the managed map, or <code>null</code> if no cleaning is required.
+   */
+  FilteredEntrySet(Set<Map.Entry<K, V>> managedEntries, Predicate<V> ruleForThisMap, Cleaner cleaner)
+  {
+    this.managedEntries = managedEntries;
+    this.ruleForThisMap = ruleForThisMap;
+    this.cleaner = cleaner;
+  }
+
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator()
+  {
+    if (this.cleaner != null)
+    {
+      this.cleaner.clean();
+    }
+
+    Iterator<Map.Entry<K, V>> _real_iterator = this.managedEntries.iterator();
+
+    return new Iterator<Map.Entry<K, V>>()
+    {
+      @Override
+      public boolean hasNext()
+      {
+        return _real_iterator.hasNext();
+      }
+
+      @Override
+      public Map.Entry<K, V> next()
+      {
+        return new FilteredEntry(_real_iterator.next());
+      }
+
+      @Override
+      public void remove()
+      {
+        _real_iterator.remove();
+      }
+    };
+  }
+
+  @Override
+  public int size()
+  {
+    return this.managedEntries.size();
+  }
+
+  @Override
+  public boolean contains(Object o)
+  {
+    return this.managedEntries.contains(o);
+  }
+
+  @Override
+  public boolean remove(Object o)
+  {
+    return this.managedEntries.remove(o);
+  }
+
+  @Override
+  public void clear()
+  {
+    this.managedEntries.clear();
+  }
+
+  /**
+   * An entry controlled by the rule of the filtered map.
+   */
+  private class FilteredEntry implements Map.Entry<K, V>
+  {
+
+    /**
+     * Real entry of the managed map
+     */
+    private final Map.Entry<K, V> realEntry;
+
+    /**
+     * Builds an instance of FilteredEntry
+     *
+     * @param realEntry Embedded entry.
+     */
+    private FilteredEntry(Map.Entry<K, V> realEntry)
+    {
+      this.realEntry = realEntry;
+    }
+
+    @Override
+    public K getKey()
+    {
+      return this.realEntry.getKey();
+    }
+
+    @Override
+    public V getValue()
+    {
+      return this.realEntry.getValue();
+    }
+
+    @Override
+    public V setValue(V value)
+    {
+      if (!FilteredEntrySet.this.ruleForThisMap.test(value))
+      {
+        return null;
+      }
+
+      return this.realEntry.setValue(value);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      return this.realEntry.equals(o);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return this.realEntry.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+      return this.realEntry.toString();
+    }
+  }
+}
@@ -41,11 +41,6 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
    */
   private List<ElementType> managedList = null;
 
-  /**
-   * Internal flag to control some operations on this list
-   */
-  private boolean ctrlFlag = false;
-
   /**
    * Builds an instance of the <code>FilteredList</code>. This class is a wrapper on a real
    * collection, and takes the control of the external collection, according to filter definition.
@@ -78,13 +73,7 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
   @Override
   public int clean()
   {
-    int _original_size = this.managedList.size();
-
-    {
-      new FilteredCollection<>(this.managedList, this.filter);
-    }
-
-    return _original_size - this.managedList.size();
+    return Purger.purge(this.managedList, this.filter);
   }
 
   /*
@@ -107,8 +96,7 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
   @Override
   public void add(int index, ElementType elementType)
   {
-    this.ctrlFlag = this.filter.test(elementType);
-    if (this.ctrlFlag)
+    if (this.filter.test(elementType))
     {
       this.managedList.add(index, elementType);
     }
@@ -121,24 +109,48 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
   }
 
   /*
-       * (non-Javadoc)
-       *
-       * @see java.util.AbstractList#addAll(int, java.util.Collection)
-       */
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractList#addAll(int, java.util.Collection)
+   */
   @Override
   public boolean addAll(int index, Collection<? extends ElementType> c)
   {
-    boolean _is_all_added = this.ctrlFlag = true;
+    return addAll(index, c, null);
+  }
 
+  /**
+   * Inserts all elements of the collection accepted by the filter at the specified position. The accepted and rejected
+   * elements are split in one pass, and the accepted elements are inserted as a single block, so the tail of the
+   * managedList is shifted once.
+   *
+   * @param index            Index at which to insert the first accepted element.
+   * @param c                Collection containing elements to be added to this list.
+   * @param rejectedElements Collection that receives the elements rejected by the filter, or <code>null</code>.
+   * @return <code>true</code> if all elements were accepted.
+   */
+  boolean addAll(int index, Collection<? extends ElementType> c, Collection<? super ElementType> rejectedElements)
+  {
+    // Each element is tested once, so the predicate runs only once by element even if it's not deterministic
+    List<ElementType> _accepted_elements = new ArrayList<>(c.size());
+    boolean _all_accepted = true;
     for (ElementType elementType : c)
     {
-      add(index++, elementType);
-
-      // Retains the cumulative ctrlFlag after each add
-      _is_all_added &= this.ctrlFlag;
+      if (this.filter.test(elementType))
+      {
+        _accepted_elements.add(elementType);
+      } else
+      {
+        _all_accepted = false;
+        if (rejectedElements != null)
+        {
+          rejectedElements.add(elementType);
+        }
+      }
     }
+    this.managedList.addAll(index, _accepted_elements);
 
-    return _is_all_added;
+    return _all_accepted;
   }
 
   /*
@@ -230,6 +242,19 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
     return this.managedList.iterator();
   }
 
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.List#spliterator()
+   */
+  @Override
+  public Spliterator<ElementType> spliterator()
+  {
+    // Clean collection in case of link collection to this one is a reference
+    clean();
+    return this.managedList.spliterator();
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -286,10 +311,8 @@ final class FilteredList<ElementType> extends AbstractList<ElementType> implemen
   @Override
   protected void removeRange(int fromIndex, int toIndex)
   {
-    for (int i = fromIndex; i < toIndex; ++i)
-    {
-      remove(i);
-    }
+    // Single shift of the tail of the managedList
+    this.managedList.subList(fromIndex, toIndex).clear();
   }
 
   /*
@@ -11,7 +11,10 @@ import org.hlib4j.concept.Cleaner;
 import org.hlib4j.util.States;
 
 import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -26,7 +29,9 @@ import java.util.function.Predicate;
  * {@link #FilteredMap(java.util.Map, java.util.function.Predicate)}, this class is not a real managedMap itself, but takes
  * the control of an external managedMap. All elements in the managedMap will be managed
  * according to the predicate. If the external managedMap contains forbidden
- * elements yet, this managedMap will delete forbidden elements.
+ * elements yet, this managedMap will delete forbidden elements. The entries given by
+ * {@link #entrySet()} control the value given to their <code>setValue(...)</code> method according
+ * to the predicate too.
  *
  * @param <K> The key type for this collection
  * @param <V> The value type for this collection
@@ -160,7 +165,8 @@ final class FilteredMap<K, V> extends AbstractMap<K, V> implements Cleaner
   @Override
   public Set<java.util.Map.Entry<K, V>> entrySet()
   {
-    return this.managedMap.entrySet();
+    // The values given to the entries are controlled by the ruleForThisMap
+    return new FilteredEntrySet<>(this.managedMap.entrySet(), this.ruleForThisMap, this);
   }
 
   /*
@@ -193,7 +199,40 @@ final class FilteredMap<K, V> extends AbstractMap<K, V> implements Cleaner
   @Override
   public Set<K> keySet()
   {
-    return this.managedMap.keySet();
+    return new AbstractSet<K>()
+    {
+      @Override
+      public Iterator<K> iterator()
+      {
+        // Clean map in case of link map to this one is a reference
+        clean();
+        return FilteredMap.this.managedMap.keySet().iterator();
+      }
+
+      @Override
+      public int size()
+      {
+        return FilteredMap.this.managedMap.size();
+      }
+
+      @Override
+      public boolean contains(Object key)
+      {
+        return FilteredMap.this.managedMap.containsKey(key);
+      }
+
+      @Override
+      public boolean remove(Object key)
+      {
+        return FilteredMap.this.managedMap.keySet().remove(key);
+      }
+
+      @Override
+      public void clear()
+      {
+        FilteredMap.this.managedMap.clear();
+      }
+    };
   }
 
   /*
@@ -220,9 +259,33 @@ final class FilteredMap<K, V> extends AbstractMap<K, V> implements Cleaner
   @Override
   public void putAll(Map<? extends K, ? extends V> m)
   {
-    for (K _key : m.keySet())
+    // Evaluates the ruleForThisMap on all values first, to give all records to the managedMap in one operation if they
+    // are all accepted. The entries are walked in both passes, so the indexes of the rejected values match.
+    BitSet _rejected_values = new BitSet();
+    int _index = 0;
+    for (Map.Entry<? extends K, ? extends V> _entry : m.entrySet())
+    {
+      if (!this.ruleForThisMap.test(_entry.getValue()))
+      {
+        _rejected_values.set(_index);
+      }
+      ++_index;
+    }
+
+    if (_rejected_values.isEmpty())
+    {
+      this.managedMap.putAll(m);
+      return;
+    }
+
+    // Otherwise, only the accepted records are given, by using the result of the evaluation
+    _index = 0;
+    for (Map.Entry<? extends K, ? extends V> _entry : m.entrySet())
     {
-      put(_key, m.get(_key));
+      if (!_rejected_values.get(_index++))
+      {
+        this.managedMap.put(_entry.getKey(), _entry.getValue());
+      }
     }
   }
 
@@ -256,12 +319,7 @@ final class FilteredMap<K, V> extends AbstractMap<K, V> implements Cleaner
   @Override
   public int clean()
   {
-    int _original_size = this.managedMap.size();
-
     // Purge forbidden values according to the ruleForThisMap
-    {
-      new FilteredCollection<>(this.managedMap.values(), this.ruleForThisMap);
-    }
-    return _original_size - this.managedMap.size();
+    return Purger.purge(this.managedMap, this.ruleForThisMap);
   }
 }
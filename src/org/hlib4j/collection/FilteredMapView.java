@@ -0,0 +1,159 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.util.States;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * A read-only <code>Map</code> view that's showing only the entries of an external map for which the value is
+ * accepted by its predicate definition. Like {@link FilteredView}, this view never modifies the external map, and its
+ * entries are filtered on the fly.<br><br>
+ * <p>
+ * This class is using as implementations for {@link Collections#makeFilteredView(java.util.Map, java.util.function.Predicate)},
+ * which protects it against all modifications.
+ *
+ * @param <K> The key type for this map
+ * @param <V> The value type for this map
+ * @author Tioben Neenot
+ * @see FilteredView
+ */
+final class FilteredMapView<K, V> extends AbstractMap<K, V>
+{
+
+  /**
+   * The map to show
+   */
+  private Map<K, V> sourceMap = null;
+
+  /**
+   * The rule to show the values of the sourceMap
+   */
+  private Predicate<? super V> ruleForThisMap = null;
+
+  /**
+   * The filtered view on the entries of the sourceMap
+   */
+  private Set<Map.Entry<K, V>> entries = null;
+
+  /**
+   * Build an instance of this view.
+   *
+   * @param sourceMap      Map to show
+   * @param ruleForThisMap The predicate to use with the Map
+   */
+  FilteredMapView(Map<K, V> sourceMap, Predicate<? super V> ruleForThisMap)
+  {
+    super();
+
+    try
+    {
+      this.sourceMap = States.validateNotNullOnly(sourceMap);
+      this.ruleForThisMap = States.validate(ruleForThisMap);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null Map or ruleForThisMap.");
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#entrySet()
+   */
+  @Override
+  public Set<Map.Entry<K, V>> entrySet()
+  {
+    if (this.entries == null)
+    {
+      this.entries = new EntrySetView();
+    }
+
+    return this.entries;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#containsKey(java.lang.Object)
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return this.sourceMap.containsKey(key) && this.ruleForThisMap.test(this.sourceMap.get(key));
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractMap#get(java.lang.Object)
+   */
+  @Override
+  public V get(Object key)
+  {
+    V _value = this.sourceMap.get(key);
+    if (_value == null && !this.sourceMap.containsKey(key))
+    {
+      return null;
+    }
+
+    return this.ruleForThisMap.test(_value) ? _value : null;
+  }
+
+  /**
+   * The set of entries of the sourceMap accepted by the rule of this view. All operations are delegated to a
+   * {@link FilteredView} on the entries of the sourceMap.
+   */
+  private class EntrySetView extends AbstractSet<Map.Entry<K, V>>
+  {
+
+    /**
+     * The view on the entries of the sourceMap
+     */
+    private final FilteredView<Map.Entry<K, V>> view = new FilteredView<>(FilteredMapView.this.sourceMap.entrySet(),
+      e -> FilteredMapView.this.ruleForThisMap.test(e.getValue()));
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator()
+    {
+      return this.view.iterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator()
+    {
+      return this.view.spliterator();
+    }
+
+    @Override
+    public int size()
+    {
+      return this.view.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+      return this.view.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+      return this.view.contains(o);
+    }
+  }
+}
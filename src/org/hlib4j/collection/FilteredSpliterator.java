@@ -0,0 +1,123 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A <code>Spliterator</code> that's filtering the elements of another <code>Spliterator</code> on the fly, according to
+ * a predicate definition. The split of this <code>Spliterator</code> relies on the split of the source one, so a
+ * parallel stream over a filtered view is split as well as a parallel stream over its source. Since the number of
+ * accepted elements is unknown until the traversal, the size given by {@link #estimateSize()} is only an upper bound,
+ * and this <code>Spliterator</code> is never <code>SIZED</code>.
+ *
+ * @param <ElementType> The type of the elements.
+ * @author Tioben Neenot
+ */
+final class FilteredSpliterator<ElementType> implements Spliterator<ElementType>, Consumer<ElementType>
+{
+
+  /**
+   * The source spliterator
+   */
+  private final Spliterator<ElementType> sourceSpliterator;
+
+  /**
+   * The filter to apply on each element of the source spliterator
+   */
+  private final Predicate<? super ElementType> filter;
+
+  /**
+   * The last element read from the source spliterator by {@link #tryAdvance(Consumer)}
+   */
+  private ElementType currentElement = null;
+
+  /**
+   * Builds an instance of FilteredSpliterator
+   *
+   * @param sourceSpliterator The source spliterator.
+   * @param filter            The filter to apply on each element of the source spliterator.
+   */
+  FilteredSpliterator(Spliterator<ElementType> sourceSpliterator, Predicate<? super ElementType> filter)
+  {
+    this.sourceSpliterator = sourceSpliterator;
+    this.filter = filter;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super ElementType> action)
+  {
+    // This instance is the consumer of the source spliterator, to avoid an allocation for each element
+    while (this.sourceSpliterator.tryAdvance(this))
+    {
+      ElementType _element = this.currentElement;
+      this.currentElement = null;
+
+      if (this.filter.test(_element))
+      {
+        action.accept(_element);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super ElementType> action)
+  {
+    this.sourceSpliterator.forEachRemaining(e ->
+    {
+      if (this.filter.test(e))
+      {
+        action.accept(e);
+      }
+    });
+  }
+
+  @Override
+  public Spliterator<ElementType> trySplit()
+  {
+    Spliterator<ElementType> _prefix = this.sourceSpliterator.trySplit();
+
+    return _prefix == null ? null : new FilteredSpliterator<>(_prefix, this.filter);
+  }
+
+  @Override
+  public long estimateSize()
+  {
+    return this.sourceSpliterator.estimateSize();
+  }
+
+  @Override
+  public int characteristics()
+  {
+    return this.sourceSpliterator.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+  }
+
+  @Override
+  public Comparator<? super ElementType> getComparator()
+  {
+    return this.sourceSpliterator.getComparator();
+  }
+
+  /**
+   * Receives the element read from the source spliterator by {@link #tryAdvance(Consumer)}.
+   *
+   * @param element Element read from the source spliterator.
+   */
+  @Override
+  public void accept(ElementType element)
+  {
+    this.currentElement = element;
+  }
+}
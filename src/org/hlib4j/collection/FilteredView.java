@@ -0,0 +1,204 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.util.States;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * A read-only <code>Collection</code> that's showing only the elements of an external collection accepted by its
+ * predicate definition. Contrary to {@link FilteredCollection}, this view never modifies the external collection: the
+ * elements are filtered on the fly while this view is iterated or streamed, so several views with different predicates
+ * can share the same external collection without any copy.<br><br>
+ * <p>
+ * The {@link #size()} of this view is counted each time it's requested, since the external collection can be modified
+ * without changing its size. All operations that modify this view throw an <code>UnsupportedOperationException</code>.<br><br>
+ * <p>
+ * This class is using as implementations for {@link Collections#makeFilteredView(java.util.Collection, java.util.function.Predicate)}.
+ *
+ * @param <ElementType> Elements types of this collection.
+ * @author Tioben Neenot
+ * @see FilteredSpliterator
+ */
+final class FilteredView<ElementType> extends AbstractCollection<ElementType>
+{
+
+  /**
+   * The filter to show the elements of the sourceCollection
+   */
+  private Predicate<? super ElementType> filter = null;
+
+  /**
+   * The collection to show
+   */
+  private Collection<ElementType> sourceCollection = null;
+
+  /**
+   * Builds an instance of this <code>FilteredView</code>.
+   *
+   * @param sourceCollection      Collection links with this view for which elements will be shown according to the given
+   *                              filter.
+   * @param ruleForThisCollection The predicate to apply on each element of this view.
+   */
+  FilteredView(Collection<ElementType> sourceCollection, Predicate<? super ElementType> ruleForThisCollection)
+  {
+    super();
+
+    try
+    {
+      this.filter = States.validate(ruleForThisCollection);
+      this.sourceCollection = States.validateNotNullOnly(sourceCollection);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null element.");
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#iterator()
+   */
+  @Override
+  public Iterator<ElementType> iterator()
+  {
+    return new FilteredIterator(this.sourceCollection.iterator());
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.Collection#spliterator()
+   */
+  @Override
+  public Spliterator<ElementType> spliterator()
+  {
+    return new FilteredSpliterator<>(this.sourceCollection.spliterator(), this.filter);
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#size()
+   */
+  @Override
+  public int size()
+  {
+    int _counter = 0;
+    for (ElementType _element : this.sourceCollection)
+    {
+      if (this.filter.test(_element))
+      {
+        ++_counter;
+      }
+    }
+
+    return _counter;
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#isEmpty()
+   */
+  @Override
+  public boolean isEmpty()
+  {
+    return !iterator().hasNext();
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see java.util.AbstractCollection#contains(java.lang.Object)
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean contains(Object element)
+  {
+    try
+    {
+      return this.sourceCollection.contains(element) && this.filter.test((ElementType) element);
+    } catch (ClassCastException e)
+    {
+      return false;
+    }
+  }
+
+  /**
+   * An iterator that's skipping the elements of the source iterator rejected by the filter.
+   *
+   * @author Tioben Neenot
+   */
+  private class FilteredIterator implements Iterator<ElementType>
+  {
+
+    /**
+     * Real iterator of the sourceCollection
+     */
+    private final Iterator<ElementType> realIterator;
+
+    /**
+     * Next element accepted by the filter
+     */
+    private ElementType nextElement = null;
+
+    /**
+     * <code>true</code> if the nextElement is available
+     */
+    private boolean isNextElementAvailable = false;
+
+    /**
+     * Builds an instance of FilteredIterator
+     *
+     * @param it Embedded Iterator type.
+     */
+    private FilteredIterator(Iterator<ElementType> it)
+    {
+      this.realIterator = it;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (!this.isNextElementAvailable && this.realIterator.hasNext())
+      {
+        ElementType _element = this.realIterator.next();
+        if (FilteredView.this.filter.test(_element))
+        {
+          this.nextElement = _element;
+          this.isNextElementAvailable = true;
+        }
+      }
+
+      return this.isNextElementAvailable;
+    }
+
+    @Override
+    public ElementType next()
+    {
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+
+      ElementType _element = this.nextElement;
+      this.nextElement = null;
+      this.isNextElementAvailable = false;
+
+      return _element;
+    }
+  }
+}
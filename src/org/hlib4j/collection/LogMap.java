@@ -0,0 +1,640 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.KeyGenerator;
+import org.hlib4j.concept.LongKeyBlock;
+import org.hlib4j.io.Codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only map stored into memory-mapped files. The keys are the numbers of the records, from <code>0</code>: each
+ * new value is appended to the last segment file, as a record made of its length, its checksum and its encoded bytes.
+ * A segment file has a fixed size, and a new segment is created when a record doesn't fit into the last one. The index
+ * file contains the location of each record, and a header with the number of committed records.<br><br>
+ * <p>
+ * The records are flushed to the disk by {@link #commit()}, which is also called each time a number of records are
+ * appended (group commit): the segments are flushed first, then the index, then the header. When the map is opened, only
+ * the records of the index after the committed ones are controlled by their checksum, until the first invalid one: the
+ * valid records are kept and the others are dropped. The values are read straight from the mapped segments. This class
+ * is not thread-safe.
+ *
+ * @param <V> The type of the values.
+ * @author Tioben Neenot
+ */
+final class LogMap<V> extends AbstractMap<Long, V> implements Closeable
+{
+
+  /**
+   * Magic number of the index files.
+   */
+  private static final int MAGIC_NUMBER = 0x484C4F47;
+
+  /**
+   * Size of the header of the index file: the magic number, the size of the segments and the number of committed
+   * records.
+   */
+  private static final int HEADER_SIZE = 16;
+
+  /**
+   * Size of the header of a record: the length of the value and its checksum.
+   */
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  /**
+   * Number of bits of the number of index entries mapped together.
+   */
+  private static final int INDEX_CHUNK_BITS = 17;
+
+  /**
+   * Number of index entries mapped together.
+   */
+  private static final int INDEX_CHUNK_ENTRIES = 1 << INDEX_CHUNK_BITS;
+
+  /**
+   * The directory of the files
+   */
+  private final Path directory;
+
+  /**
+   * The name of the map, prefix of its files
+   */
+  private final String name;
+
+  /**
+   * The codec of the values
+   */
+  private final Codec<V> codec;
+
+  /**
+   * The size of each segment file
+   */
+  private final int segmentSize;
+
+  /**
+   * The number of appended records between two commits
+   */
+  private final int commitInterval;
+
+  /**
+   * The channel of the index file
+   */
+  private final FileChannel indexChannel;
+
+  /**
+   * The mapped header of the index file
+   */
+  private final MappedByteBuffer header;
+
+  /**
+   * The mapped chunks of the index entries
+   */
+  private final List<MappedByteBuffer> indexChunks = new ArrayList<>();
+
+  /**
+   * The mapped segments
+   */
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  /**
+   * The checksum of the appended records
+   */
+  private final CRC32 checksum = new CRC32();
+
+  /**
+   * The number of records
+   */
+  private long size;
+
+  /**
+   * The number of committed records
+   */
+  private long committedSize;
+
+  /**
+   * The position of the next record into the last segment
+   */
+  private int writePosition;
+
+  /**
+   * <code>true</code> if the map is closed
+   */
+  private boolean closed;
+
+  /**
+   * Opens the map stored into the directory, or creates it if its files don't exist.
+   *
+   * @param directory      The directory of the files.
+   * @param name           The name of the map, prefix of its files.
+   * @param codec          The codec of the values.
+   * @param segmentSize    The size of each segment file, used only if the map is created.
+   * @param commitInterval The number of appended records between two commits, <code>0</code> to commit only on demand.
+   * @throws IOException              If the files can't be read or written, or if the index file is not valid.
+   * @throws IllegalArgumentException If the size of the segments or the commit interval is not valid.
+   */
+  LogMap(Path directory, String name, Codec<V> codec, int segmentSize, int commitInterval) throws IOException
+  {
+    super();
+
+    if (segmentSize <= RECORD_HEADER_SIZE || commitInterval < 0)
+    {
+      throw new IllegalArgumentException("Invalid segment size or commit interval");
+    }
+
+    this.directory = directory;
+    this.name = name;
+    this.codec = codec;
+    this.commitInterval = commitInterval;
+
+    Files.createDirectories(directory);
+    this.indexChannel = FileChannel.open(directory.resolve(name + ".index"), StandardOpenOption.CREATE,
+      StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try
+    {
+      boolean _created = this.indexChannel.size() == 0;
+      this.header = this.indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      if (_created)
+      {
+        this.header.putInt(0, MAGIC_NUMBER);
+        this.header.putInt(4, segmentSize);
+        this.header.putLong(8, 0L);
+        this.header.force();
+      } else if (this.header.getInt(0) != MAGIC_NUMBER)
+      {
+        throw new IOException("Not an AutoMap index: " + name);
+      }
+
+      this.segmentSize = this.header.getInt(4);
+      this.committedSize = this.header.getLong(8);
+      recover();
+    } catch (IOException | RuntimeException e)
+    {
+      this.indexChannel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a key generator that generates the key of the next appended records.
+   *
+   * @return The key generator.
+   */
+  KeyGenerator<Long> keyGenerator()
+  {
+    return new KeyGenerator<Long>()
+    {
+      @Override
+      public Long generateNewKey()
+      {
+        return LogMap.this.size;
+      }
+
+      @Override
+      public LongKeyBlock generateNewKeys(int count)
+      {
+        return new LongKeyBlock(LogMap.this.size, count);
+      }
+    };
+  }
+
+  /**
+   * Gets the number of records.
+   *
+   * @return The number of records.
+   */
+  long longSize()
+  {
+    return this.size;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#size()
+   */
+  @Override
+  public int size()
+  {
+    return (int) Math.min(Integer.MAX_VALUE, this.size);
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#containsKey(java.lang.Object)
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return key instanceof Long && (Long) key >= 0 && (Long) key < this.size;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#get(java.lang.Object)
+   */
+  @Override
+  public V get(Object key)
+  {
+    if (!containsKey(key))
+    {
+      return null;
+    }
+
+    ByteBuffer _record = read((Long) key);
+    return this.codec.decode(_record, _record.remaining());
+  }
+
+  /**
+   * Gets the bytes of a value, without copying them.
+   *
+   * @param key The key of the value.
+   * @return A read-only buffer on the bytes of the value into its mapped segment, <code>null</code> if the key has no
+   * value.
+   */
+  ByteBuffer getBuffer(long key)
+  {
+    return key < 0 || key >= this.size ? null : read(key).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Appends the value as the record of the key.
+   *
+   * @param key   The key of the value, which must be the number of records.
+   * @param value The value.
+   * @return Always <code>null</code>, since the key is new.
+   * @throws IllegalArgumentException If the key is not the next key, or if the encoded value is greater than a
+   *                                  segment.
+   * @throws UncheckedIOException     If the value can't be written.
+   */
+  @Override
+  public V put(Long key, V value)
+  {
+    if (this.closed)
+    {
+      throw new IllegalStateException("Closed AutoMap");
+    }
+    if (key == null || key != this.size)
+    {
+      throw new IllegalArgumentException("Append-only map, the next key is " + this.size + ": " + key);
+    }
+
+    byte[] _bytes = this.codec.encode(value);
+    if (_bytes.length > this.segmentSize - RECORD_HEADER_SIZE)
+    {
+      throw new IllegalArgumentException("Value greater than a segment: " + _bytes.length + " bytes");
+    }
+
+    try
+    {
+      if (this.segments.isEmpty() || this.writePosition + RECORD_HEADER_SIZE + _bytes.length > this.segmentSize)
+      {
+        rollSegment();
+      }
+
+      int _segment = this.segments.size() - 1;
+      ByteBuffer _writer = this.segments.get(_segment).duplicate();
+      _writer.position(this.writePosition);
+      _writer.putInt(_bytes.length).putInt(checksum(key, _bytes)).put(_bytes);
+
+      indexChunk(key).putLong(indexOffset(key), (long) _segment << 32 | this.writePosition);
+      this.writePosition = _writer.position();
+      ++this.size;
+
+      if (this.commitInterval > 0 && this.size - this.committedSize >= this.commitInterval)
+      {
+        commit();
+      }
+    } catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+
+    return null;
+  }
+
+  /**
+   * Flushes the appended records to the disk, then records them as committed.
+   */
+  void commit()
+  {
+    if (this.size == this.committedSize)
+    {
+      return;
+    }
+
+    // The records are flushed before the index, and the index before the header
+    this.segments.get(this.segments.size() - 1).force();
+    int _first_chunk = (int) (this.committedSize >>> INDEX_CHUNK_BITS);
+    int _last_chunk = (int) ((this.size - 1) >>> INDEX_CHUNK_BITS);
+    for (int _chunk = _first_chunk; _chunk <= _last_chunk; ++_chunk)
+    {
+      this.indexChunks.get(_chunk).force();
+    }
+
+    this.header.putLong(8, this.size);
+    this.header.force();
+    this.committedSize = this.size;
+  }
+
+  /**
+   * Commits the appended records, and closes the index file.
+   *
+   * @throws IOException If the index file can't be closed.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    if (!this.closed)
+    {
+      commit();
+      this.closed = true;
+      this.indexChannel.close();
+    }
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#entrySet()
+   */
+  @Override
+  public Set<Entry<Long, V>> entrySet()
+  {
+    return new AbstractSet<Entry<Long, V>>()
+    {
+      @Override
+      public int size()
+      {
+        return LogMap.this.size();
+      }
+
+      @Override
+      public Iterator<Entry<Long, V>> iterator()
+      {
+        return new Iterator<Entry<Long, V>>()
+        {
+          private long nextKey;
+
+          @Override
+          public boolean hasNext()
+          {
+            return this.nextKey < LogMap.this.size;
+          }
+
+          @Override
+          public Entry<Long, V> next()
+          {
+            if (!hasNext())
+            {
+              throw new NoSuchElementException();
+            }
+            Long _key = this.nextKey++;
+            return new SimpleImmutableEntry<>(_key, get(_key));
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Controls the records after the committed ones, and keeps the valid ones.
+   *
+   * @throws IOException If the files can't be read.
+   */
+  private void recover() throws IOException
+  {
+    this.size = this.committedSize;
+    if (this.size > 0)
+    {
+      long _location = indexChunk(this.size - 1).getLong(indexOffset(this.size - 1));
+      mapSegments((int) (_location >>> 32));
+      this.writePosition = (int) _location + RECORD_HEADER_SIZE + recordLength(_location);
+    }
+
+    // Only the tail of the index is replayed: each record must follow the previous one, with a valid checksum
+    while (HEADER_SIZE + (this.size + 1) * Long.BYTES <= this.indexChannel.size())
+    {
+      long _location = indexChunk(this.size).getLong(indexOffset(this.size));
+      int _segment = (int) (_location >>> 32);
+      int _position = (int) _location;
+      boolean _following = this.size == 0 ? _segment == 0 && _position == 0 :
+        (_segment == this.segments.size() - 1 && _position == this.writePosition) || (_segment == this.segments.size()
+          && _position == 0);
+      if (!_following || !Files.exists(segmentPath(_segment)))
+      {
+        break;
+      }
+
+      mapSegments(_segment);
+      if (!isValidRecord(this.size, _location))
+      {
+        break;
+      }
+
+      this.writePosition = _position + RECORD_HEADER_SIZE + recordLength(_location);
+      ++this.size;
+    }
+
+    discardIndexTail();
+    this.committedSize = this.size;
+    this.header.putLong(8, this.size);
+    this.header.force();
+  }
+
+  /**
+   * Clears the index entries after the recovered records, and flushes them before the header. Otherwise, a discarded
+   * record could follow again the new records written over the discarded ones, and be recovered by the next opening.
+   *
+   * @throws IOException If the size of the index file can't be read.
+   */
+  private void discardIndexTail() throws IOException
+  {
+    long _entries = (this.indexChannel.size() - HEADER_SIZE) / Long.BYTES;
+    int _last_cleared_chunk = -1;
+    for (long _key = this.size; _key < _entries; ++_key)
+    {
+      MappedByteBuffer _chunk = indexChunk(_key);
+      if (_chunk.getLong(indexOffset(_key)) != 0)
+      {
+        _chunk.putLong(indexOffset(_key), 0);
+        _last_cleared_chunk = (int) (_key >>> INDEX_CHUNK_BITS);
+      }
+    }
+
+    for (int _chunk = (int) (this.size >>> INDEX_CHUNK_BITS); _chunk <= _last_cleared_chunk; ++_chunk)
+    {
+      this.indexChunks.get(_chunk).force();
+    }
+  }
+
+  /**
+   * Controls the length and the checksum of a record.
+   *
+   * @param key      The key of the record.
+   * @param location The location of the record.
+   * @return <code>true</code> if the record is valid.
+   */
+  private boolean isValidRecord(long key, long location)
+  {
+    ByteBuffer _segment = this.segments.get((int) (location >>> 32));
+    int _position = (int) location;
+    if (_position < 0 || _position > this.segmentSize - RECORD_HEADER_SIZE)
+    {
+      return false;
+    }
+
+    int _length = _segment.getInt(_position);
+    if (_length < 0 || _length > this.segmentSize - RECORD_HEADER_SIZE - _position)
+    {
+      return false;
+    }
+
+    byte[] _bytes = new byte[_length];
+    ByteBuffer _reader = _segment.duplicate();
+    _reader.position(_position + RECORD_HEADER_SIZE);
+    _reader.get(_bytes);
+    return _segment.getInt(_position + 4) == checksum(key, _bytes);
+  }
+
+  /**
+   * Gets the value bytes of a record.
+   *
+   * @param key The key of the record.
+   * @return A buffer positioned on the value bytes, and limited to them.
+   */
+  private ByteBuffer read(long key)
+  {
+    long _location = indexChunk(key).getLong(indexOffset(key));
+    int _position = (int) _location;
+    ByteBuffer _reader = this.segments.get((int) (_location >>> 32)).duplicate();
+    _reader.limit(_position + RECORD_HEADER_SIZE + _reader.getInt(_position));
+    _reader.position(_position + RECORD_HEADER_SIZE);
+    return _reader;
+  }
+
+  /**
+   * Gets the length of the value of a record.
+   *
+   * @param location The location of the record.
+   * @return The length of the value.
+   */
+  private int recordLength(long location)
+  {
+    return this.segments.get((int) (location >>> 32)).getInt((int) location);
+  }
+
+  /**
+   * Computes the checksum of a record, from its key and its value bytes.
+   *
+   * @param key   The key of the record.
+   * @param bytes The value bytes.
+   * @return The checksum.
+   */
+  private int checksum(long key, byte[] bytes)
+  {
+    this.checksum.reset();
+    for (int _shift = 56; _shift >= 0; _shift -= 8)
+    {
+      this.checksum.update((int) (key >>> _shift));
+    }
+    this.checksum.update(bytes, 0, bytes.length);
+    return (int) this.checksum.getValue();
+  }
+
+  /**
+   * Flushes the last segment, and creates a new one.
+   *
+   * @throws IOException If the segment file can't be created.
+   */
+  private void rollSegment() throws IOException
+  {
+    if (!this.segments.isEmpty())
+    {
+      this.segments.get(this.segments.size() - 1).force();
+    }
+
+    Files.deleteIfExists(segmentPath(this.segments.size()));
+    mapSegments(this.segments.size());
+    this.writePosition = 0;
+  }
+
+  /**
+   * Maps the segments until the segment.
+   *
+   * @param lastSegment The number of the last segment to map.
+   * @throws IOException If a segment file can't be mapped.
+   */
+  private void mapSegments(int lastSegment) throws IOException
+  {
+    while (this.segments.size() <= lastSegment)
+    {
+      try (FileChannel _channel = FileChannel.open(segmentPath(this.segments.size()), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE))
+      {
+        this.segments.add(_channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize));
+      }
+    }
+  }
+
+  /**
+   * Gets the path of a segment file.
+   *
+   * @param segment The number of the segment.
+   * @return The path of the segment file.
+   */
+  private Path segmentPath(int segment)
+  {
+    return this.directory.resolve(String.format("%s-%05d.segment", this.name, segment));
+  }
+
+  /**
+   * Gets the mapped chunk of the index that contains the entry of a key. The chunk is mapped if it's not mapped yet.
+   *
+   * @param key The key.
+   * @return The mapped chunk.
+   */
+  private MappedByteBuffer indexChunk(long key)
+  {
+    int _chunk = (int) (key >>> INDEX_CHUNK_BITS);
+    while (this.indexChunks.size() <= _chunk)
+    {
+      try
+      {
+        this.indexChunks.add(this.indexChannel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) this.indexChunks
+          .size() * INDEX_CHUNK_ENTRIES * Long.BYTES, (long) INDEX_CHUNK_ENTRIES * Long.BYTES));
+      } catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return this.indexChunks.get(_chunk);
+  }
+
+  /**
+   * Gets the offset of the entry of a key into its mapped chunk.
+   *
+   * @param key The key.
+   * @return The offset of the entry.
+   */
+  private static int indexOffset(long key)
+  {
+    return (int) (key & (INDEX_CHUNK_ENTRIES - 1)) * Long.BYTES;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Map with a bounded capacity that evicts its least recently used entry when a new key is put into the full map. An
+ * entry is used when its key is put or read. Each evicted entry is given to the eviction listener. The entries are
+ * iterated from the least recently used to the most recently used. This class is not thread-safe.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @author Tioben Neenot
+ */
+final class LruMap<K, V> extends LinkedHashMap<K, V>
+{
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The maximal number of entries
+   */
+  private final int capacity;
+
+  /**
+   * The listener of the evicted entries
+   */
+  private final transient BiConsumer<? super K, ? super V> evictionListener;
+
+  /**
+   * Build an empty map with a bounded capacity.
+   *
+   * @param capacity         The maximal number of entries.
+   * @param evictionListener The listener of the evicted entries, <code>null</code> if there is no listener.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  LruMap(int capacity, BiConsumer<? super K, ? super V> evictionListener)
+  {
+    super(16, 0.75f, true);
+
+    if (capacity <= 0)
+    {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+
+    this.capacity = capacity;
+    this.evictionListener = evictionListener;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+   */
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+  {
+    if (size() <= this.capacity)
+    {
+      return false;
+    }
+
+    if (this.evictionListener != null)
+    {
+      this.evictionListener.accept(eldest.getKey(), eldest.getValue());
+    }
+    return true;
+  }
+}
@@ -0,0 +1,446 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.io.Codec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Read-only {@link RedundantSet} stored into a snapshot file, and read from a memory mapping of this file. The number
+ * of occurrences of an element is given by a binary search on the encoded elements, straight into the mapped bytes,
+ * without reading the whole file: opening a snapshot is immediate, and the processes that open the same snapshot share
+ * its pages.<br><br>
+ * <p>
+ * A snapshot is written by {@link #write(RedundantSet, Codec, Path)}, and a modifiable collection is restored by
+ * {@link #toRedundantSet()}. The file contains:
+ * <ul>
+ * <li>a header: a magic number, the number of distinct elements, the total number of occurrences, and the position of
+ * the index;</li>
+ * <li>a record by distinct element, sorted by the unsigned bytes of the encoded element: the length of the encoded
+ * element as variable-length integer, the encoded element, and its number of occurrences as variable-length
+ * integer;</li>
+ * <li>the index: the position of each record, as 4 bytes integer.</li>
+ * </ul>
+ * <p>
+ * A snapshot is limited to 2 GB, and the <code>null</code> element can't be written into a snapshot. This class is
+ * thread-safe.
+ *
+ * @param <T> The type of the elements.
+ * @author Tioben Neenot
+ */
+public final class MappedRedundantSet<T>
+{
+
+  /**
+   * Magic number of the snapshot files.
+   */
+  private static final int MAGIC_NUMBER = 0x48525331;
+
+  /**
+   * Size of the header of the snapshot files.
+   */
+  private static final int HEADER_SIZE = 20;
+
+  /**
+   * The mapped file
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * The codec of the elements
+   */
+  private final Codec<T> codec;
+
+  /**
+   * The number of distinct elements
+   */
+  private final int distinctCount;
+
+  /**
+   * The number of occurrences of all elements
+   */
+  private final long totalCount;
+
+  /**
+   * The position of the index into the file
+   */
+  private final int indexPosition;
+
+  /**
+   * Builds an instance on the mapped file.
+   *
+   * @param buffer The mapped file.
+   * @param codec  The codec of the elements.
+   * @throws IOException If the file is not a snapshot file.
+   */
+  private MappedRedundantSet(ByteBuffer buffer, Codec<T> codec) throws IOException
+  {
+    super();
+
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC_NUMBER)
+    {
+      throw new IOException("Not a RedundantSet snapshot");
+    }
+
+    this.buffer = buffer;
+    this.codec = codec;
+    this.distinctCount = buffer.getInt(4);
+    this.totalCount = buffer.getLong(8);
+    this.indexPosition = buffer.getInt(16);
+
+    if (this.distinctCount < 0 || this.indexPosition < HEADER_SIZE || (long) this.indexPosition + 4L * this
+      .distinctCount > buffer.capacity())
+    {
+      throw new IOException("Corrupted RedundantSet snapshot");
+    }
+  }
+
+  /**
+   * Writes the snapshot of the collection into the file. The snapshot is written into a temporary file of the same
+   * directory, flushed to the disk, and moved atomically to the file: the file is replaced if it's existing, and a
+   * snapshot opened on the previous file stays valid.
+   *
+   * @param <T>        The type of the elements.
+   * @param collection The collection to write.
+   * @param codec      The codec of the elements.
+   * @param file       The snapshot file.
+   * @throws IOException              If the file can't be written, or if the snapshot is greater than 2 GB.
+   * @throws IllegalArgumentException If two distinct elements have the same encoded bytes.
+   * @throws NullPointerException     If the collection contains the <code>null</code> element.
+   */
+  public static <T> void write(RedundantSet<T> collection, Codec<T> codec, Path file) throws IOException
+  {
+    // Each entry is the encoded element followed by its number of occurrences, so the entries are sorted directly
+    List<byte[]> _entries = new ArrayList<>();
+    long[] _total = new long[1];
+    collection.forEachEntry((element, count) ->
+    {
+      if (element == null)
+      {
+        throw new NullPointerException("Null element can't be written");
+      }
+      byte[] _key = codec.encode(element);
+      byte[] _entry = Arrays.copyOf(_key, _key.length + 4);
+      ByteBuffer.wrap(_entry, _key.length, 4).putInt(count);
+      _entries.add(_entry);
+      _total[0] += count;
+    });
+    _entries.sort(MappedRedundantSet::compareKeys);
+
+    long _position = HEADER_SIZE;
+    int[] _offsets = new int[_entries.size()];
+    for (int _idx = 0; _idx < _offsets.length; ++_idx)
+    {
+      byte[] _entry = _entries.get(_idx);
+      if (_idx > 0 && compareKeys(_entries.get(_idx - 1), _entry) == 0)
+      {
+        throw new IllegalArgumentException("Two distinct elements have the same encoded bytes");
+      }
+
+      int _key_length = _entry.length - 4;
+      _offsets[_idx] = (int) _position;
+      _position += varIntSize(_key_length) + _key_length + varIntSize(countOf(_entry));
+      if (_position + 4L * _offsets.length > Integer.MAX_VALUE)
+      {
+        throw new IOException("Snapshot greater than 2 GB");
+      }
+    }
+
+    Path _directory = file.toAbsolutePath().getParent();
+    Path _temporary_file = Files.createTempFile(_directory, file.getFileName().toString(), ".tmp");
+    try
+    {
+      try (FileChannel _channel = FileChannel.open(_temporary_file, StandardOpenOption.WRITE))
+      {
+        DataOutputStream _output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(_channel)));
+        _output.writeInt(MAGIC_NUMBER);
+        _output.writeInt(_offsets.length);
+        _output.writeLong(_total[0]);
+        _output.writeInt((int) _position);
+
+        for (byte[] _entry : _entries)
+        {
+          int _key_length = _entry.length - 4;
+          writeVarInt(_output, _key_length);
+          _output.write(_entry, 0, _key_length);
+          writeVarInt(_output, countOf(_entry));
+        }
+
+        for (int _offset : _offsets)
+        {
+          _output.writeInt(_offset);
+        }
+        _output.flush();
+        _channel.force(true);
+      }
+
+      Files.move(_temporary_file, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally
+    {
+      Files.deleteIfExists(_temporary_file);
+    }
+  }
+
+  /**
+   * Opens a snapshot file, by mapping it into memory.
+   *
+   * @param <T>   The type of the elements.
+   * @param file  The snapshot file.
+   * @param codec The codec of the elements, the same one used to write the snapshot.
+   * @return The read-only collection of the snapshot.
+   * @throws IOException If the file can't be read, or if it's not a snapshot file.
+   */
+  public static <T> MappedRedundantSet<T> open(Path file, Codec<T> codec) throws IOException
+  {
+    try (FileChannel _channel = FileChannel.open(file, StandardOpenOption.READ))
+    {
+      MappedByteBuffer _buffer = _channel.map(FileChannel.MapMode.READ_ONLY, 0, _channel.size());
+      return new MappedRedundantSet<>(_buffer, codec);
+    }
+  }
+
+  /**
+   * Gets the number of occurrences of the element, by a binary search into the mapped file.
+   *
+   * @param element The element to search.
+   * @return The number of occurrences of the element, <code>0</code> if the element is not into this collection.
+   */
+  public int countElementFor(T element)
+  {
+    if (element == null)
+    {
+      return 0;
+    }
+
+    byte[] _key = this.codec.encode(element);
+    int _low = 0;
+    int _high = this.distinctCount - 1;
+    while (_low <= _high)
+    {
+      int _middle = (_low + _high) >>> 1;
+      int _position = this.buffer.getInt(this.indexPosition + 4 * _middle);
+
+      int _length = readVarInt(this.buffer, _position);
+      int _key_position = _position + varIntSize(_length);
+      int _comparison = compareUnsigned(this.buffer, _key_position, _length, _key);
+      if (_comparison == 0)
+      {
+        return readVarInt(this.buffer, _key_position + _length);
+      }
+
+      if (_comparison < 0)
+      {
+        _low = _middle + 1;
+      } else
+      {
+        _high = _middle - 1;
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Controls if the element is into this collection.
+   *
+   * @param element The element to search.
+   * @return <code>true</code> if the element has at least one occurrence.
+   */
+  public boolean contains(T element)
+  {
+    return countElementFor(element) > 0;
+  }
+
+  /**
+   * Gets the number of occurrences of all elements.
+   *
+   * @return The number of elements, redundant elements included.
+   */
+  public long size()
+  {
+    return this.totalCount;
+  }
+
+  /**
+   * Gets the number of distinct elements.
+   *
+   * @return The number of distinct elements.
+   */
+  public int distinctCount()
+  {
+    return this.distinctCount;
+  }
+
+  /**
+   * Gives each distinct element to the action once, with its number of occurrences, in the order of the file.
+   *
+   * @param action The action to run for each distinct element and its number of occurrences.
+   */
+  public void forEachEntry(ObjIntConsumer<? super T> action)
+  {
+    ByteBuffer _reader = this.buffer.duplicate();
+    int _position = HEADER_SIZE;
+    for (int _record = 0; _record < this.distinctCount; ++_record)
+    {
+      int _length = readVarInt(_reader, _position);
+      _position += varIntSize(_length);
+
+      _reader.position(_position);
+      T _element = this.codec.decode(_reader, _length);
+      _position += _length;
+
+      int _count = readVarInt(_reader, _position);
+      _position += varIntSize(_count);
+
+      action.accept(_element, _count);
+    }
+  }
+
+  /**
+   * Restores a modifiable collection with all elements of this snapshot.
+   *
+   * @return A new collection with the same elements.
+   */
+  public RedundantSet<T> toRedundantSet()
+  {
+    RedundantSet<T> _collection = new RedundantSet<>(this.distinctCount);
+    forEachEntry(_collection::setCountFor);
+    return _collection;
+  }
+
+  /**
+   * Compares the encoded elements of two entries as unsigned bytes.
+   *
+   * @param left  The first entry.
+   * @param right The second entry.
+   * @return A negative number, zero or a positive number if the first encoded element is lower, equal or greater.
+   */
+  private static int compareKeys(byte[] left, byte[] right)
+  {
+    int _left_length = left.length - 4;
+    int _right_length = right.length - 4;
+    int _length = Math.min(_left_length, _right_length);
+    for (int _idx = 0; _idx < _length; ++_idx)
+    {
+      int _comparison = (left[_idx] & 0xFF) - (right[_idx] & 0xFF);
+      if (_comparison != 0)
+      {
+        return _comparison;
+      }
+    }
+
+    return _left_length - _right_length;
+  }
+
+  /**
+   * Gets the number of occurrences recorded at the end of an entry.
+   *
+   * @param entry The entry.
+   * @return The number of occurrences.
+   */
+  private static int countOf(byte[] entry)
+  {
+    return ByteBuffer.wrap(entry, entry.length - 4, 4).getInt();
+  }
+
+  /**
+   * Compares the bytes of the buffer with the other bytes, as unsigned bytes.
+   *
+   * @param buffer   The buffer with the first bytes.
+   * @param position The position of the first bytes.
+   * @param length   The number of first bytes.
+   * @param right    The second bytes.
+   * @return A negative number, zero or a positive number if the first bytes are lower, equal or greater.
+   */
+  private static int compareUnsigned(ByteBuffer buffer, int position, int length, byte[] right)
+  {
+    int _length = Math.min(length, right.length);
+    for (int _idx = 0; _idx < _length; ++_idx)
+    {
+      int _comparison = (buffer.get(position + _idx) & 0xFF) - (right[_idx] & 0xFF);
+      if (_comparison != 0)
+      {
+        return _comparison;
+      }
+    }
+
+    return length - right.length;
+  }
+
+  /**
+   * Writes a positive integer with 7 bits by byte, the highest bit of a byte is set if another byte follows.
+   *
+   * @param output The output stream.
+   * @param value  The positive integer.
+   * @throws IOException If the integer can't be written.
+   */
+  private static void writeVarInt(DataOutputStream output, int value) throws IOException
+  {
+    while ((value & ~0x7F) != 0)
+    {
+      output.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    output.writeByte(value);
+  }
+
+  /**
+   * Reads a positive integer written by {@link #writeVarInt(DataOutputStream, int)}.
+   *
+   * @param buffer   The buffer to read.
+   * @param position The position of the integer.
+   * @return The integer.
+   */
+  private static int readVarInt(ByteBuffer buffer, int position)
+  {
+    int _value = 0;
+    int _shift = 0;
+    byte _byte;
+    do
+    {
+      _byte = buffer.get(position++);
+      _value |= (_byte & 0x7F) << _shift;
+      _shift += 7;
+    } while (_byte < 0);
+
+    return _value;
+  }
+
+  private static int varIntSize(int value)
+  {
+    int _size = 1;
+    while ((value & ~0x7F) != 0)
+    {
+      value >>>= 7;
+      ++_size;
+    }
+    return _size;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "MappedRedundantSet [size=" + this.totalCount + ", distinct=" + this.distinctCount + "]";
+  }
+}
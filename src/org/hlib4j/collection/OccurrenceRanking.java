@@ -0,0 +1,442 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranking of the distinct elements of a {@link RedundantSet} according to their number of occurrences. This view is
+ * given by {@link RedundantSet#getRanking()}, and is updated by each modification of its collection.<br><br>
+ * <p>
+ * The elements with the same number of occurrences are grouped into a bucket, and the buckets are linked from the
+ * greatest number of occurrences to the lowest one. Adding or removing an occurrence moves the element to the
+ * neighbour bucket in constant time, so {@link #topK(int)} reads only the <code>k</code> first elements, and
+ * {@link #rankOf(Object)} reads only the buckets before the one of the element.
+ *
+ * @param <T> The type of the ranked elements.
+ * @author Tioben Neenot
+ */
+public final class OccurrenceRanking<T>
+{
+
+  /**
+   * The node of each ranked element
+   */
+  private final Map<Object, Node<T>> nodes;
+
+  /**
+   * The bucket with the greatest number of occurrences
+   */
+  private Bucket<T> highestBucket;
+
+  /**
+   * The bucket with the lowest number of occurrences
+   */
+  private Bucket<T> lowestBucket;
+
+  /**
+   * Builds the ranking of all elements of the occurrence table.
+   *
+   * @param occurrences The occurrence table to rank.
+   */
+  OccurrenceRanking(OccurrenceTable<T> occurrences)
+  {
+    super();
+    this.nodes = new HashMap<>((int) (occurrences.distinct() / 0.75f) + 1);
+    rebuild(occurrences);
+  }
+
+  /**
+   * Builds again the ranking of all elements of the occurrence table, after a bulk modification of this one.
+   *
+   * @param occurrences The occurrence table to rank.
+   */
+  void rebuild(OccurrenceTable<T> occurrences)
+  {
+    clear();
+
+    Map<Integer, Bucket<T>> _buckets = new HashMap<>();
+    for (int _slot = 0; _slot < occurrences.capacity(); ++_slot)
+    {
+      if (occurrences.isUsed(_slot))
+      {
+        Node<T> _node = new Node<>(occurrences.elementAt(_slot));
+        this.nodes.put(_node.element, _node);
+        _buckets.computeIfAbsent(occurrences.countAt(_slot), Bucket::new).attach(_node);
+      }
+    }
+
+    // Only the distinct numbers of occurrences are sorted
+    List<Bucket<T>> _sorted_buckets = new ArrayList<>(_buckets.values());
+    _sorted_buckets.sort(Comparator.comparingInt((Bucket<T> b) -> b.count).reversed());
+    for (Bucket<T> _bucket : _sorted_buckets)
+    {
+      linkAfter(this.lowestBucket, _bucket);
+    }
+  }
+
+  /**
+   * Gets the elements with the greatest numbers of occurrences, from the greatest one. The order of the elements with
+   * the same number of occurrences is not defined.
+   *
+   * @param k The maximal number of elements to get.
+   * @return A list with the <code>k</code> first elements of this ranking, or all elements if this ranking contains
+   * less elements.
+   */
+  public List<T> topK(int k)
+  {
+    List<T> _top = new ArrayList<>(Math.max(0, Math.min(k, this.nodes.size())));
+    for (Bucket<T> _bucket = this.highestBucket; _bucket != null && _top.size() < k; _bucket = _bucket.lower)
+    {
+      for (Node<T> _node = _bucket.head; _node != null && _top.size() < k; _node = _node.next)
+      {
+        _top.add(_node.element);
+      }
+    }
+
+    return _top;
+  }
+
+  /**
+   * Gets the rank of the element: <code>1</code> plus the number of elements with more occurrences. The elements with
+   * the same number of occurrences have the same rank.
+   *
+   * @param element The element to rank.
+   * @return The rank of the element, or <code>0</code> if the element is not into the collection.
+   */
+  public int rankOf(Object element)
+  {
+    Node<T> _node = this.nodes.get(element);
+    if (_node == null)
+    {
+      return 0;
+    }
+
+    int _rank = 1;
+    for (Bucket<T> _bucket = this.highestBucket; _bucket != _node.bucket; _bucket = _bucket.lower)
+    {
+      _rank += _bucket.size;
+    }
+
+    return _rank;
+  }
+
+  /**
+   * Gets the number of ranked elements, that is the number of distinct elements of the collection.
+   *
+   * @return The number of ranked elements.
+   */
+  public int size()
+  {
+    return this.nodes.size();
+  }
+
+  /**
+   * Records an occurrence added to the element.
+   *
+   * @param element The element with a new occurrence.
+   */
+  void increment(T element)
+  {
+    Node<T> _node = this.nodes.get(element);
+    if (_node == null)
+    {
+      _node = new Node<>(element);
+      this.nodes.put(element, _node);
+
+      Bucket<T> _lowest = this.lowestBucket;
+      if (_lowest == null || _lowest.count != 1)
+      {
+        _lowest = new Bucket<>(1);
+        linkAfter(this.lowestBucket, _lowest);
+      }
+      _lowest.attach(_node);
+      return;
+    }
+
+    Bucket<T> _current = _node.bucket;
+    Bucket<T> _higher = _current.higher;
+    if (_higher == null || _higher.count != _current.count + 1)
+    {
+      _higher = new Bucket<>(_current.count + 1);
+      linkAfter(_current.higher, _higher);
+    }
+
+    detach(_node);
+    _higher.attach(_node);
+  }
+
+  /**
+   * Records an occurrence removed from the element.
+   *
+   * @param element The element with a removed occurrence.
+   */
+  void decrement(Object element)
+  {
+    Node<T> _node = this.nodes.get(element);
+    if (_node == null)
+    {
+      return;
+    }
+
+    Bucket<T> _current = _node.bucket;
+    if (_current.count == 1)
+    {
+      this.nodes.remove(element);
+      detach(_node);
+      return;
+    }
+
+    Bucket<T> _lower = _current.lower;
+    if (_lower == null || _lower.count != _current.count - 1)
+    {
+      _lower = new Bucket<>(_current.count - 1);
+      linkAfter(_current, _lower);
+    }
+
+    detach(_node);
+    _lower.attach(_node);
+  }
+
+  /**
+   * Records a new number of occurrences of the element. The element is moved to the bucket of its new number of
+   * occurrences, found from its current bucket, so only the buckets between both are read.
+   *
+   * @param element The element with a new number of occurrences.
+   * @param count   The new number of occurrences, <code>0</code> if the element is removed.
+   */
+  void set(T element, int count)
+  {
+    if (count <= 0)
+    {
+      remove(element);
+      return;
+    }
+
+    Node<T> _node = this.nodes.get(element);
+    if (_node == null)
+    {
+      _node = new Node<>(element);
+      this.nodes.put(element, _node);
+      bucketFor(this.lowestBucket, count).attach(_node);
+    } else if (_node.bucket.count != count)
+    {
+      // The new bucket is found before the node is detached, since its current bucket may be removed
+      Bucket<T> _bucket = bucketFor(_node.bucket, count);
+      detach(_node);
+      _bucket.attach(_node);
+    }
+  }
+
+  /**
+   * Gets the bucket of a number of occurrences, by creating it if it's not existing. The bucket is searched from the
+   * given one, upwards or downwards.
+   *
+   * @param from  The bucket from which the search starts, <code>null</code> if there is no bucket.
+   * @param count The number of occurrences of the bucket.
+   * @return The bucket of the number of occurrences.
+   */
+  private Bucket<T> bucketFor(Bucket<T> from, int count)
+  {
+    // The lowest bucket with at least the number of occurrences, or null if there is no such bucket
+    Bucket<T> _higher = from;
+    if (_higher != null && _higher.count >= count)
+    {
+      while (_higher.lower != null && _higher.lower.count >= count)
+      {
+        _higher = _higher.lower;
+      }
+    } else
+    {
+      while (_higher != null && _higher.count < count)
+      {
+        _higher = _higher.higher;
+      }
+    }
+
+    if (_higher != null && _higher.count == count)
+    {
+      return _higher;
+    }
+
+    Bucket<T> _bucket = new Bucket<>(count);
+    linkAfter(_higher, _bucket);
+    return _bucket;
+  }
+
+  /**
+   * Records the removing of all occurrences of the element.
+   *
+   * @param element The removed element.
+   */
+  void remove(Object element)
+  {
+    Node<T> _node = this.nodes.remove(element);
+    if (_node != null)
+    {
+      detach(_node);
+    }
+  }
+
+  /**
+   * Records the removing of all elements.
+   */
+  void clear()
+  {
+    this.nodes.clear();
+    this.highestBucket = null;
+    this.lowestBucket = null;
+  }
+
+  /**
+   * Removes the node from its bucket, and removes the bucket if it becomes empty.
+   *
+   * @param node The node to remove.
+   */
+  private void detach(Node<T> node)
+  {
+    Bucket<T> _bucket = node.bucket;
+    _bucket.detach(node);
+
+    if (_bucket.size == 0)
+    {
+      if (_bucket.higher == null)
+      {
+        this.highestBucket = _bucket.lower;
+      } else
+      {
+        _bucket.higher.lower = _bucket.lower;
+      }
+
+      if (_bucket.lower == null)
+      {
+        this.lowestBucket = _bucket.higher;
+      } else
+      {
+        _bucket.lower.higher = _bucket.higher;
+      }
+    }
+  }
+
+  /**
+   * Links the bucket just after the higher bucket.
+   *
+   * @param higher The bucket with more occurrences, <code>null</code> to link the bucket as the highest one.
+   * @param bucket The bucket to link.
+   */
+  private void linkAfter(Bucket<T> higher, Bucket<T> bucket)
+  {
+    Bucket<T> _lower = higher == null ? this.highestBucket : higher.lower;
+
+    bucket.higher = higher;
+    bucket.lower = _lower;
+
+    if (higher == null)
+    {
+      this.highestBucket = bucket;
+    } else
+    {
+      higher.lower = bucket;
+    }
+
+    if (_lower == null)
+    {
+      this.lowestBucket = bucket;
+    } else
+    {
+      _lower.higher = bucket;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "OccurrenceRanking " + topK(10);
+  }
+
+  /**
+   * Ranked element, linked with the other elements of its bucket.
+   */
+  private static final class Node<T>
+  {
+
+    private final T element;
+
+    private Bucket<T> bucket;
+
+    private Node<T> previous;
+
+    private Node<T> next;
+
+    private Node(T element)
+    {
+      this.element = element;
+    }
+  }
+
+  /**
+   * Group of the elements with the same number of occurrences.
+   */
+  private static final class Bucket<T>
+  {
+
+    private final int count;
+
+    private Node<T> head;
+
+    private int size;
+
+    // The bucket with more occurrences
+    private Bucket<T> higher;
+
+    // The bucket with less occurrences
+    private Bucket<T> lower;
+
+    private Bucket(int count)
+    {
+      this.count = count;
+    }
+
+    private void attach(Node<T> node)
+    {
+      node.bucket = this;
+      node.previous = null;
+      node.next = this.head;
+      if (this.head != null)
+      {
+        this.head.previous = node;
+      }
+      this.head = node;
+      ++this.size;
+    }
+
+    private void detach(Node<T> node)
+    {
+      if (node.previous == null)
+      {
+        this.head = node.next;
+      } else
+      {
+        node.previous.next = node.next;
+      }
+      if (node.next != null)
+      {
+        node.next.previous = node.previous;
+      }
+      node.bucket = null;
+      node.previous = null;
+      node.next = null;
+      --this.size;
+    }
+  }
+}
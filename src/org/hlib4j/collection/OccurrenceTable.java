@@ -0,0 +1,573 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.Arrays;
+
+/**
+ * Occurrence counting engine used by {@link RedundantSet}. Each distinct element is recorded once into an open
+ * addressing table with linear probing, and its number of occurrences is kept as a primitive <code>int</code> at the
+ * same slot of a parallel array. No object is allocated by element: each operation is realized with a single probe
+ * sequence, and the total number of occurrences is maintained on each update.<br><br>
+ * <p>
+ * The <code>null</code> element is recorded with an internal marker, and the removing of a distinct element shifts
+ * back the following elements of its probe sequence, so the table never contains any deleted slot. Only the removing
+ * realized from a slot, while the table is iterated, keeps the element with no occurrence at its slot, so no element
+ * is moved under the iteration: this slot is reused if the element is added again, and dropped when the table is
+ * grown.
+ *
+ * @param <T> The type of the counted elements.
+ * @author Tioben Neenot
+ */
+final class OccurrenceTable<T>
+{
+
+  /**
+   * Marker recorded into the table for the <code>null</code> element.
+   */
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * Minimal capacity of the table.
+   */
+  private static final int MINIMAL_CAPACITY = 16;
+
+  /**
+   * Maximal capacity of the table.
+   */
+  private static final int MAXIMAL_CAPACITY = 1 << 30;
+
+  /**
+   * The recorded elements, <code>null</code> for a free slot
+   */
+  private Object[] keys;
+
+  /**
+   * The number of occurrences of the element recorded at the same slot
+   */
+  private int[] counts;
+
+  /**
+   * The number of distinct elements
+   */
+  private int distinctCount;
+
+  /**
+   * The number of used slots, slots of the elements with no occurrence included
+   */
+  private int occupiedCount;
+
+  /**
+   * The number of occurrences of all elements
+   */
+  private long totalCount;
+
+  /**
+   * The number of used slots from which the table is grown
+   */
+  private int threshold;
+
+  /**
+   * The number of modifications of the elements or of their occurrences, used by the iterators to detect a concurrent
+   * modification
+   */
+  private int modificationCount;
+
+  /**
+   * Builds an empty table able to contain the number of distinct elements without being grown.
+   *
+   * @param expectedDistinctCount The expected number of distinct elements.
+   */
+  OccurrenceTable(int expectedDistinctCount)
+  {
+    super();
+    allocate(capacityFor(expectedDistinctCount));
+  }
+
+  /**
+   * Builds a copy of the table, with the same slot for each element.
+   *
+   * @param source The table to copy.
+   */
+  OccurrenceTable(OccurrenceTable<T> source)
+  {
+    super();
+    this.keys = source.keys.clone();
+    this.counts = source.counts.clone();
+    this.occupiedCount = source.occupiedCount;
+    this.distinctCount = source.distinctCount;
+    this.totalCount = source.totalCount;
+    this.threshold = source.threshold;
+  }
+
+  /**
+   * Adds one occurrence of the element.
+   *
+   * @param element The element to add.
+   * @return The new number of occurrences, or <code>0</code> if the element has already the maximal number of
+   * occurrences.
+   */
+  int increment(T element)
+  {
+    Object _key = mask(element);
+    int _slot = slotOf(_key);
+
+    if (this.keys[_slot] != null)
+    {
+      if (this.counts[_slot] == Integer.MAX_VALUE)
+      {
+        return 0;
+      }
+      if (this.counts[_slot] == 0)
+      {
+        ++this.distinctCount;
+      }
+
+      ++this.totalCount;
+      ++this.modificationCount;
+      return ++this.counts[_slot];
+    }
+
+    if (this.occupiedCount >= this.threshold)
+    {
+      // The slots of the elements with no occurrence are dropped first
+      rehash(this.distinctCount >= this.threshold >>> 1 ? this.keys.length << 1 : this.keys.length);
+      _slot = slotOf(_key);
+    }
+
+    this.keys[_slot] = _key;
+    this.counts[_slot] = 1;
+    ++this.occupiedCount;
+    ++this.distinctCount;
+    ++this.totalCount;
+    ++this.modificationCount;
+
+    return 1;
+  }
+
+  /**
+   * Removes one occurrence of the element. The element is removed from the table with its last occurrence.
+   *
+   * @param element The element to remove.
+   * @return The new number of occurrences, or <code>-1</code> if the element was not present.
+   */
+  int decrement(Object element)
+  {
+    int _slot = slotOf(mask(element));
+
+    if (this.counts[_slot] == 0)
+    {
+      return -1;
+    }
+
+    --this.totalCount;
+    ++this.modificationCount;
+    if (--this.counts[_slot] == 0)
+    {
+      deleteSlot(_slot);
+      return 0;
+    }
+
+    return this.counts[_slot];
+  }
+
+  /**
+   * Removes all occurrences of the element.
+   *
+   * @param element The element to remove.
+   * @return The number of removed occurrences, <code>0</code> if the element was not present.
+   */
+  int delete(Object element)
+  {
+    int _slot = slotOf(mask(element));
+
+    int _count = this.counts[_slot];
+    if (_count == 0)
+    {
+      return 0;
+    }
+
+    this.totalCount -= _count;
+    deleteSlot(_slot);
+
+    return _count;
+  }
+
+  /**
+   * Sets the number of occurrences of the element. The element is removed from the table if the number is
+   * <code>0</code>.
+   *
+   * @param element The element to update.
+   * @param count   The new number of occurrences, positive or zero.
+   * @return The previous number of occurrences.
+   */
+  int set(T element, int count)
+  {
+    Object _key = mask(element);
+    int _slot = slotOf(_key);
+    int _previous = this.counts[_slot];
+
+    if (this.keys[_slot] != null)
+    {
+      if (count == 0)
+      {
+        if (_previous > 0)
+        {
+          this.totalCount -= _previous;
+          deleteSlot(_slot);
+        }
+        return _previous;
+      }
+
+      setAt(_slot, count);
+      return _previous;
+    }
+
+    if (count == 0)
+    {
+      return 0;
+    }
+
+    if (this.occupiedCount >= this.threshold)
+    {
+      rehash(this.distinctCount >= this.threshold >>> 1 ? this.keys.length << 1 : this.keys.length);
+      _slot = slotOf(_key);
+    }
+
+    this.keys[_slot] = _key;
+    this.counts[_slot] = count;
+    ++this.occupiedCount;
+    ++this.distinctCount;
+    this.totalCount += count;
+    ++this.modificationCount;
+
+    return 0;
+  }
+
+  /**
+   * Gets the number of occurrences of the element.
+   *
+   * @param element The element to search.
+   * @return The number of occurrences, <code>0</code> if the element is not present.
+   */
+  int count(Object element)
+  {
+    return this.counts[slotOf(mask(element))];
+  }
+
+  /**
+   * Gets the number of occurrences of all elements.
+   *
+   * @return The total number of occurrences.
+   */
+  long total()
+  {
+    return this.totalCount;
+  }
+
+  /**
+   * Gets the number of distinct elements.
+   *
+   * @return The number of distinct elements.
+   */
+  int distinct()
+  {
+    return this.distinctCount;
+  }
+
+  /**
+   * Removes all elements, the capacity of the table is kept.
+   */
+  void clear()
+  {
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.counts, 0);
+    this.occupiedCount = 0;
+    this.distinctCount = 0;
+    this.totalCount = 0;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Shrinks the table to the capacity needed by its distinct elements, if this capacity is smaller than the current
+   * one. The slots of the elements with no occurrence are dropped.
+   */
+  void trim()
+  {
+    int _capacity = capacityFor(this.distinctCount);
+    if (_capacity < this.keys.length)
+    {
+      rehash(_capacity);
+    }
+  }
+
+  /**
+   * Gets the number of slots of the table, free slots included.
+   *
+   * @return The number of slots.
+   */
+  int capacity()
+  {
+    return this.keys.length;
+  }
+
+  /**
+   * Controls if an element with at least one occurrence is recorded at the slot.
+   *
+   * @param slot The slot index.
+   * @return <code>true</code> if the slot is used.
+   */
+  boolean isUsed(int slot)
+  {
+    return this.counts[slot] > 0;
+  }
+
+  /**
+   * Gets the element recorded at the slot.
+   *
+   * @param slot The slot index of a used slot.
+   * @return The element of this slot.
+   */
+  T elementAt(int slot)
+  {
+    return unmask(this.keys[slot]);
+  }
+
+  /**
+   * Gets the number of occurrences of the element recorded at the slot.
+   *
+   * @param slot The slot index.
+   * @return The number of occurrences, <code>0</code> for a free slot.
+   */
+  int countAt(int slot)
+  {
+    return this.counts[slot];
+  }
+
+  /**
+   * Removes one occurrence of the element recorded at the slot. The element is kept at its slot with its last
+   * occurrence, so the other elements are not moved.
+   *
+   * @param slot The slot index of a used slot.
+   * @return The new number of occurrences.
+   */
+  int decrementAt(int slot)
+  {
+    --this.totalCount;
+    ++this.modificationCount;
+    if (--this.counts[slot] == 0)
+    {
+      --this.distinctCount;
+    }
+
+    return this.counts[slot];
+  }
+
+  /**
+   * Removes all occurrences of the element recorded at the slot. The element is kept at its slot, so the other
+   * elements are not moved.
+   *
+   * @param slot The slot index of a used slot.
+   * @return The number of removed occurrences.
+   */
+  int deleteAt(int slot)
+  {
+    int _count = this.counts[slot];
+    this.totalCount -= _count;
+    this.counts[slot] = 0;
+    --this.distinctCount;
+    ++this.modificationCount;
+
+    return _count;
+  }
+
+  /**
+   * Sets the number of occurrences of the element recorded at the slot. The element is kept at its slot, even with no
+   * occurrence, so the other elements are not moved.
+   *
+   * @param slot  The slot index of a slot with an element, even with no occurrence.
+   * @param count The new number of occurrences, positive or zero.
+   */
+  void setAt(int slot, int count)
+  {
+    int _previous = this.counts[slot];
+    if (_previous == 0 && count > 0)
+    {
+      ++this.distinctCount;
+    } else if (_previous > 0 && count == 0)
+    {
+      --this.distinctCount;
+    }
+
+    this.totalCount += count - _previous;
+    this.counts[slot] = count;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Gets the number of modifications of this table.
+   *
+   * @return The number of modifications.
+   */
+  int modifications()
+  {
+    return this.modificationCount;
+  }
+
+  /**
+   * Finds the slot of the key: the slot where the key is recorded, or the free slot that ends its probe sequence.
+   *
+   * @param key The masked key to search.
+   * @return The slot index.
+   */
+  private int slotOf(Object key)
+  {
+    int _mask = this.keys.length - 1;
+    int _slot = hash(key) & _mask;
+
+    Object _current;
+    while ((_current = this.keys[_slot]) != null)
+    {
+      if (_current == key || _current.equals(key))
+      {
+        return _slot;
+      }
+      _slot = (_slot + 1) & _mask;
+    }
+
+    return _slot;
+  }
+
+  /**
+   * Frees the slot and shifts back the following keys of the probe sequence, so no key becomes unreachable.
+   *
+   * @param slot The slot to free.
+   */
+  private void deleteSlot(int slot)
+  {
+    int _mask = this.keys.length - 1;
+    int _free = slot;
+    int _next = slot;
+
+    while (true)
+    {
+      _next = (_next + 1) & _mask;
+      Object _key = this.keys[_next];
+      if (_key == null)
+      {
+        break;
+      }
+
+      // The key can move to the free slot only if its home slot is not between the free slot and its current slot
+      int _home = hash(_key) & _mask;
+      if (((_next - _home) & _mask) >= ((_next - _free) & _mask))
+      {
+        this.keys[_free] = _key;
+        this.counts[_free] = this.counts[_next];
+        _free = _next;
+      }
+    }
+
+    this.keys[_free] = null;
+    this.counts[_free] = 0;
+    --this.occupiedCount;
+    --this.distinctCount;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Moves all keys into a new table.
+   *
+   * @param newCapacity The capacity of the new table, as a power of two.
+   */
+  private void rehash(int newCapacity)
+  {
+    if (newCapacity <= 0 || newCapacity > MAXIMAL_CAPACITY)
+    {
+      throw new IllegalStateException("Too many distinct elements: " + this.distinctCount);
+    }
+
+    Object[] _old_keys = this.keys;
+    int[] _old_counts = this.counts;
+    allocate(newCapacity);
+
+    int _mask = newCapacity - 1;
+    for (int _idx = 0; _idx < _old_keys.length; ++_idx)
+    {
+      Object _key = _old_keys[_idx];
+      if (_old_counts[_idx] > 0)
+      {
+        int _slot = hash(_key) & _mask;
+        while (this.keys[_slot] != null)
+        {
+          _slot = (_slot + 1) & _mask;
+        }
+        this.keys[_slot] = _key;
+        this.counts[_slot] = _old_counts[_idx];
+      }
+    }
+
+    this.occupiedCount = this.distinctCount;
+    ++this.modificationCount;
+  }
+
+  /**
+   * Allocates the arrays of the table.
+   *
+   * @param capacity The capacity of the table, as a power of two.
+   */
+  private void allocate(int capacity)
+  {
+    this.keys = new Object[capacity];
+    this.counts = new int[capacity];
+    this.threshold = capacity == MAXIMAL_CAPACITY ? capacity - 1 : capacity - (capacity >>> 2);
+  }
+
+  /**
+   * Computes the power of two capacity able to contain the number of distinct elements with a load factor of 0.75.
+   *
+   * @param expectedDistinctCount The expected number of distinct elements.
+   * @return The capacity of the table.
+   */
+  private static int capacityFor(int expectedDistinctCount)
+  {
+    long _minimal = Math.max(MINIMAL_CAPACITY, (long) Math.ceil(Math.max(0, expectedDistinctCount) / 0.75));
+    return (int) Math.min(MAXIMAL_CAPACITY, Long.highestOneBit(_minimal - 1) << 1);
+  }
+
+  /**
+   * Spreads the bits of the hash code, since the slot is computed only from the lowest bits.
+   *
+   * @param key The masked key.
+   * @return The mixed hash of the key.
+   */
+  private static int hash(Object key)
+  {
+    int _hash = key.hashCode() * 0x9E3779B9;
+    return _hash ^ (_hash >>> 16);
+  }
+
+  private static Object mask(Object element)
+  {
+    return element == null ? NULL_KEY : element;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T unmask(Object key)
+  {
+    return key == NULL_KEY ? null : (T) key;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "OccurrenceTable [distinct=" + this.distinctCount + ", total=" + this.totalCount + ", capacity=" +
+      this.keys.length + "]";
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.util.States;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the {@link Processing#perform(Object)} method of a {@link Processing} concurrently, for each element of a
+ * collection accepted by its {@link Processing#test(Object)} method. This executor is dedicated to the I/O-bound
+ * processing, like calls to local processes or file writing: each perform is given to a virtual thread if the JVM offers
+ * them (Java 21 and later), or to a bounded pool of platform threads otherwise. The number of performs running at the
+ * same time never exceeds the concurrency limit given to the constructor.<br><br>
+ * <p>
+ * The completion of each perform can be notified to a listener, in the order of the source collection with
+ * {@link CompletionOrder#ORDERED}, or as soon as the perform is done with {@link CompletionOrder#UNORDERED}. In both
+ * cases the listener is called by the thread that's running the executor, so it doesn't need to be thread-safe. A
+ * perform that throws a <code>RuntimeException</code> is considered as failed, and its exception is kept in the
+ * {@link Result}.
+ *
+ * @param <E> Element of the processing.
+ * @author Tioben Neenot
+ */
+public class ProcessingExecutor<E>
+{
+
+  /**
+   * The processing to run.
+   */
+  private final Processing<E> processing;
+
+  /**
+   * The maximum number of performs running at the same time.
+   */
+  private final int concurrencyLimit;
+
+  /**
+   * Builds an instance of the ProcessingExecutor.
+   *
+   * @param processing       The processing to run.
+   * @param concurrencyLimit The maximum number of performs running at the same time.
+   * @throws IllegalArgumentException If the concurrency limit is not strictly positive.
+   * @throws NullPointerException     If the processing is <code>null</code>.
+   */
+  public ProcessingExecutor(Processing<E> processing, int concurrencyLimit)
+  {
+    if (concurrencyLimit <= 0)
+    {
+      throw new IllegalArgumentException("Concurrency limit must be strictly positive: " + concurrencyLimit);
+    }
+
+    try
+    {
+      this.processing = States.validateNotNullOnly(processing);
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null processing.");
+    }
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  /**
+   * Gets the maximum number of performs running at the same time.
+   *
+   * @return The concurrency limit.
+   */
+  public int getConcurrencyLimit()
+  {
+    return this.concurrencyLimit;
+  }
+
+  /**
+   * Runs the processing on each element of the source collection, and waits for the end of all performs.
+   *
+   * @param source The elements to process.
+   * @return The result of all performs.
+   * @throws InterruptedException If the calling thread is interrupted while it's waiting for a perform.
+   */
+  public Result run(Collection<? extends E> source) throws InterruptedException
+  {
+    return run(source, CompletionOrder.UNORDERED, (e, b) ->
+    {
+      // No listener
+    });
+  }
+
+  /**
+   * Runs the processing on each element of the source collection, notifies each completion to the listener, and waits
+   * for the end of all performs.
+   *
+   * @param source   The elements to process.
+   * @param order    The order of the completion notifications.
+   * @param listener The listener that receives each performed element with the result of its perform.
+   * @return The result of all performs.
+   * @throws InterruptedException If the calling thread is interrupted while it's waiting for a perform.
+   */
+  public Result run(Collection<? extends E> source, CompletionOrder order, BiConsumer<? super E, Boolean> listener)
+    throws InterruptedException
+  {
+    Result _result = new Result();
+    Semaphore _permits = new Semaphore(this.concurrencyLimit);
+    ExecutorService _executor = newExecutor();
+
+    try
+    {
+      ExecutorCompletionService<Outcome<E>> _completion_service = new ExecutorCompletionService<>(_executor);
+      // The performs not notified yet, in the order of the source collection
+      Queue<Future<Outcome<E>>> _ordered_performs = new ArrayDeque<>();
+      int _unordered_performs = 0;
+
+      for (E _element : source)
+      {
+        if (!this.processing.test(_element))
+        {
+          ++_result.rejectedCount;
+          continue;
+        }
+
+        ++_result.acceptedCount;
+        _permits.acquire();
+        Callable<Outcome<E>> _task = () ->
+        {
+          try
+          {
+            return new Outcome<>(_element, this.processing.perform(_element), null);
+          } catch (RuntimeException e)
+          {
+            return new Outcome<>(_element, false, e);
+          } finally
+          {
+            _permits.release();
+          }
+        };
+
+        // Notifies the performs done yet, without waiting. The ordered performs are not given to the completion
+        // service, since its queue would keep each of them until the end of the run.
+        if (order == CompletionOrder.ORDERED)
+        {
+          _ordered_performs.add(_executor.submit(_task));
+          while (!_ordered_performs.isEmpty() && _ordered_performs.peek().isDone())
+          {
+            notify(_ordered_performs.poll(), _result, listener);
+          }
+        } else
+        {
+          _completion_service.submit(_task);
+          ++_unordered_performs;
+          for (Future<Outcome<E>> _done = _completion_service.poll(); _done != null; _done = _completion_service.poll())
+          {
+            --_unordered_performs;
+            notify(_done, _result, listener);
+          }
+        }
+      }
+
+      // Waits for the performs left
+      while (!_ordered_performs.isEmpty())
+      {
+        notify(_ordered_performs.poll(), _result, listener);
+      }
+      for (; _unordered_performs > 0; --_unordered_performs)
+      {
+        notify(_completion_service.take(), _result, listener);
+      }
+    } finally
+    {
+      _executor.shutdownNow();
+    }
+
+    return _result;
+  }
+
+  /**
+   * Gets the result of a perform, records it, and notifies it to the listener.
+   *
+   * @param perform  The perform to notify.
+   * @param result   The result of the run.
+   * @param listener The listener of the completions.
+   * @throws InterruptedException If the calling thread is interrupted while it's waiting for the perform.
+   */
+  private void notify(Future<Outcome<E>> perform, Result result, BiConsumer<? super E, Boolean> listener)
+    throws InterruptedException
+  {
+    Outcome<E> _outcome;
+    try
+    {
+      _outcome = perform.get();
+    } catch (ExecutionException e)
+    {
+      // Only an Error can reach this point, since the RuntimeException are caught by the perform task
+      throw new IllegalStateException("Perform aborted", e.getCause());
+    }
+
+    if (_outcome.isSucceeded)
+    {
+      ++result.succeededCount;
+    } else
+    {
+      ++result.failedCount;
+      if (_outcome.error != null)
+      {
+        result.errors.add(_outcome.error);
+      }
+    }
+
+    listener.accept(_outcome.element, _outcome.isSucceeded);
+  }
+
+  /**
+   * Builds the executor of the performs: an executor that starts a new virtual thread for each perform if the JVM
+   * offers them, or a pool of platform threads bounded to the concurrency limit otherwise.
+   *
+   * @return The executor of the performs.
+   */
+  private ExecutorService newExecutor()
+  {
+    try
+    {
+      // Virtual threads are only available since Java 21, so the method is looked up at runtime.
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e)
+    {
+      return Executors.newFixedThreadPool(this.concurrencyLimit);
+    }
+  }
+
+  /**
+   * Order of the completion notifications.
+   */
+  public enum CompletionOrder
+  {
+    /**
+     * The completions are notified in the order of the source collection.
+     */
+    ORDERED,
+
+    /**
+     * The completions are notified as soon as the performs are done.
+     */
+    UNORDERED
+  }
+
+  /**
+   * The outcome of a single perform.
+   *
+   * @param <E> Element of the processing.
+   */
+  private static final class Outcome<E>
+  {
+    private final E element;
+    private final boolean isSucceeded;
+    private final RuntimeException error;
+
+    private Outcome(E element, boolean isSucceeded, RuntimeException error)
+    {
+      this.element = element;
+      this.isSucceeded = isSucceeded;
+      this.error = error;
+    }
+  }
+
+  /**
+   * The aggregated result of a run.
+   */
+  public static final class Result
+  {
+    private long acceptedCount;
+    private long rejectedCount;
+    private long succeededCount;
+    private long failedCount;
+    private final List<RuntimeException> errors = new ArrayList<>();
+
+    private Result()
+    {
+      // Built by the executor only
+    }
+
+    /**
+     * Gets the number of elements accepted by the processing, and so performed.
+     *
+     * @return The number of accepted elements.
+     */
+    public long getAcceptedCount()
+    {
+      return this.acceptedCount;
+    }
+
+    /**
+     * Gets the number of elements rejected by the processing.
+     *
+     * @return The number of rejected elements.
+     */
+    public long getRejectedCount()
+    {
+      return this.rejectedCount;
+    }
+
+    /**
+     * Gets the number of performs that returned <code>true</code>.
+     *
+     * @return The number of succeeded performs.
+     */
+    public long getSucceededCount()
+    {
+      return this.succeededCount;
+    }
+
+    /**
+     * Gets the number of performs that returned <code>false</code> or threw an exception.
+     *
+     * @return The number of failed performs.
+     */
+    public long getFailedCount()
+    {
+      return this.failedCount;
+    }
+
+    /**
+     * Gets the exceptions thrown by the failed performs.
+     *
+     * @return The exceptions thrown by the performs.
+     */
+    public List<RuntimeException> getErrors()
+    {
+      return java.util.Collections.unmodifiableList(this.errors);
+    }
+
+    /**
+     * Controls if all accepted elements were performed with success.
+     *
+     * @return <code>true</code> if no perform failed.
+     */
+    public boolean isSucceeded()
+    {
+      return this.failedCount == 0;
+    }
+
+    @Override
+    public String toString()
+    {
+      final StringBuilder sb = new StringBuilder("Result{");
+      sb.append("acceptedCount=").append(acceptedCount);
+      sb.append(", rejectedCount=").append(rejectedCount);
+      sb.append(", succeededCount=").append(succeededCount);
+      sb.append(", failedCount=").append(failedCount);
+      sb.append(", errors=").append(errors.size());
+      sb.append('}');
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,413 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.util.States;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a chain of {@link Processing} stages over the elements of a collection in a single pass. Each element is given to
+ * the first stage: if the stage accepts the element with its {@link Processing#test(Object)} method, the element is
+ * performed with {@link Processing#perform(Object)}, and if the perform succeeds the element is given to the next
+ * stage, and so on. An element rejected by a stage, or for which the perform failed, is not given to the next stages.
+ * No intermediate collection is built between two stages.<br><br>
+ * <p>
+ * The pipeline can run sequentially with {@link #run(Collection)}, or on a fork/join pool with
+ * {@link #run(Collection, ForkJoinPool)}. In this last case, the source collection is cut into batches of the size
+ * given to the constructor, and each batch is a unit of work for the pool. So, all stages must be thread-safe to run the
+ * pipeline on a pool.<br><br>
+ * <p>
+ * Each run returns a {@link Report} that's giving the number of accepted, rejected and failed elements for each stage.
+ *
+ * @param <E> Element of the processing.
+ * @author Tioben Neenot
+ */
+public class ProcessingPipeline<E>
+{
+
+  /**
+   * Default number of elements by batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  /**
+   * Stages of this pipeline.
+   */
+  private final Processing<E>[] stages;
+
+  /**
+   * Number of elements by batch.
+   */
+  private final int batchSize;
+
+  /**
+   * Builds a pipeline with the default batch size.
+   *
+   * @param stages Stages of this pipeline, in their running order.
+   */
+  @SafeVarargs
+  public ProcessingPipeline(Processing<E>... stages)
+  {
+    this(DEFAULT_BATCH_SIZE, stages);
+  }
+
+  /**
+   * Builds a pipeline with a specific batch size.
+   *
+   * @param batchSize Number of elements by batch while the pipeline is running on a fork/join pool.
+   * @param stages    Stages of this pipeline, in their running order.
+   * @throws IllegalArgumentException If the batch size is not strictly positive.
+   * @throws NullPointerException     If there is no stage, or if a stage is <code>null</code>.
+   */
+  @SafeVarargs
+  public ProcessingPipeline(int batchSize, Processing<E>... stages)
+  {
+    if (batchSize <= 0)
+    {
+      throw new IllegalArgumentException("Batch size must be strictly positive: " + batchSize);
+    }
+
+    if (stages == null || stages.length == 0)
+    {
+      throw new NullPointerException("Invalid null or empty array. Null or empty stages.");
+    }
+
+    // The stages are copied one by one, so the array of the caller is never kept
+    @SuppressWarnings("unchecked")
+    Processing<E>[] _stages = (Processing<E>[]) new Processing<?>[stages.length];
+    try
+    {
+      for (int _idx = 0; _idx < stages.length; ++_idx)
+      {
+        _stages[_idx] = States.validateNotNullOnly(stages[_idx]);
+      }
+    } catch (AssertionError e)
+    {
+      throw new NullPointerException(e.getMessage() + ". Null or empty stages.");
+    }
+    this.stages = _stages;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Gets the number of elements by batch.
+   *
+   * @return The number of elements by batch.
+   */
+  public int getBatchSize()
+  {
+    return this.batchSize;
+  }
+
+  /**
+   * Gets the number of stages of this pipeline.
+   *
+   * @return The number of stages.
+   */
+  public int getStageCount()
+  {
+    return this.stages.length;
+  }
+
+  /**
+   * Runs all stages over all elements of the source collection, in the calling thread.
+   *
+   * @param source The elements to give to the pipeline.
+   * @return The report of the run.
+   */
+  public Report run(Collection<? extends E> source)
+  {
+    long[] _counters = newCounters();
+    for (E _element : source)
+    {
+      processElement(_element, _counters);
+    }
+
+    return new Report(_counters, this.stages.length);
+  }
+
+  /**
+   * Runs all stages over all elements of the source collection on a fork/join pool. A <code>RandomAccess</code> list is
+   * cut into batches by index ranges, without any copy. Other collections are read by the calling thread, and each
+   * batch is copied into an array given to the pool. At most twice as many batches as the parallelism of the pool are
+   * submitted and not yet joined: the calling thread joins the oldest batch before reading further, so only a bounded
+   * part of the source is held in memory.
+   *
+   * @param source The elements to give to the pipeline.
+   * @param pool   The pool running the batches.
+   * @return The report of the run.
+   */
+  public Report run(Collection<? extends E> source, ForkJoinPool pool)
+  {
+    if (source instanceof List && source instanceof RandomAccess)
+    {
+      List<? extends E> _list = (List<? extends E>) source;
+      return new Report(pool.invoke(new RangeTask(_list, 0, _list.size())), this.stages.length);
+    }
+
+    int _max_pending = Math.max(1, pool.getParallelism() * 2);
+    Deque<ForkJoinTask<long[]>> _pending_tasks = new ArrayDeque<>(_max_pending);
+    long[] _counters = newCounters();
+    Object[] _batch = new Object[this.batchSize];
+    int _batch_length = 0;
+    for (E _element : source)
+    {
+      _batch[_batch_length++] = _element;
+      if (_batch_length == this.batchSize)
+      {
+        if (_pending_tasks.size() == _max_pending)
+        {
+          mergeCounters(_counters, _pending_tasks.poll().join());
+        }
+        _pending_tasks.add(pool.submit(new BatchTask(_batch, _batch_length)));
+        _batch = new Object[this.batchSize];
+        _batch_length = 0;
+      }
+    }
+
+    if (_batch_length > 0)
+    {
+      _pending_tasks.add(pool.submit(new BatchTask(_batch, _batch_length)));
+    }
+
+    for (ForkJoinTask<long[]> _task : _pending_tasks)
+    {
+      mergeCounters(_counters, _task.join());
+    }
+
+    return new Report(_counters, this.stages.length);
+  }
+
+  /**
+   * Gives an element to all stages, while the element is accepted and performed by the current stage.
+   *
+   * @param element  The element to process.
+   * @param counters The counters of the current batch.
+   */
+  private void processElement(E element, long[] counters)
+  {
+    for (int _stage = 0; _stage < this.stages.length; ++_stage)
+    {
+      Processing<E> _processing = this.stages[_stage];
+      if (!_processing.test(element))
+      {
+        ++counters[_stage * Report.COUNTERS_BY_STAGE + Report.REJECTED];
+        return;
+      }
+
+      ++counters[_stage * Report.COUNTERS_BY_STAGE + Report.ACCEPTED];
+      if (!_processing.perform(element))
+      {
+        ++counters[_stage * Report.COUNTERS_BY_STAGE + Report.FAILED];
+        return;
+      }
+    }
+
+    ++counters[counters.length - 1];
+  }
+
+  /**
+   * Builds the counters for a run or a batch.
+   *
+   * @return The counters initialized with zero.
+   */
+  private long[] newCounters()
+  {
+    return new long[this.stages.length * Report.COUNTERS_BY_STAGE + 1];
+  }
+
+  /**
+   * Adds the counters of a batch into the global counters.
+   *
+   * @param counters      Global counters.
+   * @param batchCounters Counters of a batch.
+   */
+  private static void mergeCounters(long[] counters, long[] batchCounters)
+  {
+    for (int _idx = 0; _idx < counters.length; ++_idx)
+    {
+      counters[_idx] += batchCounters[_idx];
+    }
+  }
+
+  /**
+   * Task that processes a range of indexes of a <code>RandomAccess</code> list, and splits it while the range is
+   * greater than the batch size.
+   */
+  private class RangeTask extends RecursiveTask<long[]>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends E> source;
+    private final int fromIndex;
+    private final int toIndex;
+
+    private RangeTask(List<? extends E> source, int fromIndex, int toIndex)
+    {
+      this.source = source;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    protected long[] compute()
+    {
+      if (this.toIndex - this.fromIndex > ProcessingPipeline.this.batchSize)
+      {
+        int _middle = (this.fromIndex + this.toIndex) >>> 1;
+        RangeTask _left = new RangeTask(this.source, this.fromIndex, _middle);
+        _left.fork();
+
+        long[] _counters = new RangeTask(this.source, _middle, this.toIndex).compute();
+        mergeCounters(_counters, _left.join());
+        return _counters;
+      }
+
+      long[] _counters = newCounters();
+      for (int _idx = this.fromIndex; _idx < this.toIndex; ++_idx)
+      {
+        processElement(this.source.get(_idx), _counters);
+      }
+
+      return _counters;
+    }
+  }
+
+  /**
+   * Task that processes a batch of elements copied from the source collection.
+   */
+  private class BatchTask extends RecursiveTask<long[]>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] batch;
+    private final int length;
+
+    private BatchTask(Object[] batch, int length)
+    {
+      this.batch = batch;
+      this.length = length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected long[] compute()
+    {
+      long[] _counters = newCounters();
+      for (int _idx = 0; _idx < this.length; ++_idx)
+      {
+        processElement((E) this.batch[_idx], _counters);
+      }
+
+      return _counters;
+    }
+  }
+
+  /**
+   * The result of a pipeline run, with the number of accepted, rejected and failed elements for each stage.
+   */
+  public static final class Report
+  {
+    private static final int ACCEPTED = 0;
+    private static final int REJECTED = 1;
+    private static final int FAILED = 2;
+    private static final int COUNTERS_BY_STAGE = 3;
+
+    private final long[] counters;
+    private final int stageCount;
+
+    private Report(long[] counters, int stageCount)
+    {
+      this.counters = counters;
+      this.stageCount = stageCount;
+    }
+
+    /**
+     * Gets the number of stages of the pipeline.
+     *
+     * @return The number of stages.
+     */
+    public int getStageCount()
+    {
+      return this.stageCount;
+    }
+
+    /**
+     * Gets the number of elements accepted by the {@link Processing#test(Object)} method of a stage.
+     *
+     * @param stage Index of the stage, from 0.
+     * @return The number of accepted elements.
+     */
+    public long getAcceptedCount(int stage)
+    {
+      return getCounter(stage, ACCEPTED);
+    }
+
+    /**
+     * Gets the number of elements rejected by the {@link Processing#test(Object)} method of a stage.
+     *
+     * @param stage Index of the stage, from 0.
+     * @return The number of rejected elements.
+     */
+    public long getRejectedCount(int stage)
+    {
+      return getCounter(stage, REJECTED);
+    }
+
+    /**
+     * Gets the number of accepted elements for which the {@link Processing#perform(Object)} method of a stage failed.
+     *
+     * @param stage Index of the stage, from 0.
+     * @return The number of failed elements.
+     */
+    public long getFailedCount(int stage)
+    {
+      return getCounter(stage, FAILED);
+    }
+
+    /**
+     * Gets the number of elements accepted and performed by all stages.
+     *
+     * @return The number of elements that went through the whole pipeline.
+     */
+    public long getCompletedCount()
+    {
+      return this.counters[this.counters.length - 1];
+    }
+
+    private long getCounter(int stage, int counter)
+    {
+      if (stage < 0 || stage >= this.stageCount)
+      {
+        throw new IndexOutOfBoundsException("Stage: " + stage + ", stages: " + this.stageCount);
+      }
+
+      return this.counters[stage * COUNTERS_BY_STAGE + counter];
+    }
+
+    @Override
+    public String toString()
+    {
+      final StringBuilder sb = new StringBuilder("Report{");
+      sb.append("counters=").append(Arrays.toString(counters));
+      sb.append(", stageCount=").append(stageCount);
+      sb.append('}');
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Purge engine shared by all {@link org.hlib4j.concept.Cleaner} implementations of this package. Each purge removes
+ * the elements rejected by a predicate in a single linear pass, without any copy of the purged collection, and returns
+ * the exact number of removed elements:
+ * <ul>
+ * <li>an <code>ArrayList</code> is compacted in place, and its tail is removed once;</li>
+ * <li>other collections are purged with their own <code>removeIf(...)</code> implementation;</li>
+ * <li>a <code>Map</code> is purged by sweeping its entries with a single iterator.</li>
+ * </ul>
+ *
+ * @author Tioben Neenot
+ */
+final class Purger
+{
+
+  /**
+   * Avoid the instantiation of this class
+   */
+  private Purger()
+  {
+    // Do nothing
+  }
+
+  /**
+   * Removes all elements of the collection that are rejected by the rule.
+   *
+   * @param <E>               The type of the element in the collection.
+   * @param collectionToPurge Collection on which the rule will be applied.
+   * @param rule              The predicate that accepts the elements to keep.
+   * @return The number of elements removed.
+   */
+  static <E> int purge(Collection<E> collectionToPurge, Predicate<? super E> rule)
+  {
+    if (collectionToPurge instanceof ArrayList)
+    {
+      return compact((ArrayList<E>) collectionToPurge, rule);
+    }
+
+    int _original_size = collectionToPurge.size();
+    collectionToPurge.removeIf(e -> !rule.test(e));
+
+    return _original_size - collectionToPurge.size();
+  }
+
+  /**
+   * Removes all entries of the map for which the value is rejected by the rule.
+   *
+   * @param <K>        The key type of the map.
+   * @param <V>        The value type of the map.
+   * @param mapToPurge Map on which the rule will be applied.
+   * @param rule       The predicate that accepts the values to keep.
+   * @return The number of entries removed.
+   */
+  static <K, V> int purge(Map<K, V> mapToPurge, Predicate<? super V> rule)
+  {
+    int _counter = 0;
+    for (Iterator<Map.Entry<K, V>> _it = mapToPurge.entrySet().iterator(); _it.hasNext(); )
+    {
+      if (!rule.test(_it.next().getValue()))
+      {
+        _it.remove();
+        ++_counter;
+      }
+    }
+
+    return _counter;
+  }
+
+  /**
+   * Moves all accepted elements of the list at the head of this one, by keeping their order, and removes the remaining
+   * tail in one operation.
+   *
+   * @param <E>         The type of the element in the list.
+   * @param listToPurge List on which the rule will be applied.
+   * @param rule        The predicate that accepts the elements to keep.
+   * @return The number of elements removed.
+   */
+  private static <E> int compact(ArrayList<E> listToPurge, Predicate<? super E> rule)
+  {
+    int _size = listToPurge.size();
+    int _write_index = 0;
+
+    for (int _read_index = 0; _read_index < _size; ++_read_index)
+    {
+      E _element = listToPurge.get(_read_index);
+      if (rule.test(_element))
+      {
+        if (_write_index != _read_index)
+        {
+          listToPurge.set(_write_index, _element);
+        }
+        ++_write_index;
+      }
+    }
+
+    if (_write_index < _size)
+    {
+      listToPurge.subList(_write_index, _size).clear();
+    }
+
+    return _size - _write_index;
+  }
+}
@@ -8,10 +8,13 @@
 
 package org.hlib4j.collection;
 
-import org.hlib4j.math.Counter;
-import org.hlib4j.math.RangeException;
-
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Collection of elements with redundant elements authorized. This collection doesn't take each duplicate element as an specific
@@ -20,12 +23,21 @@ import java.util.*;
  * are counted as supplementary instance, but the effective instance will not be setting into the collection.<br><br>
  * <p>
  * To know the number of redundant elements, use the {@link #countElementFor(Object)}. The method {@link #size()} is taking account
- * of redundant elements for its size.
+ * of redundant elements for its size.<br><br>
+ * <p>
+ * The occurrences are counted by an open addressing table that keeps a primitive counter next to each distinct element,
+ * so {@link #add(Object)}, {@link #remove(Object)}, {@link #contains(Object)} and {@link #countElementFor(Object)} are
+ * realized with a single lookup, and {@link #size()} is given without any computation. The aggregations on the distinct
+ * elements should use {@link #forEachEntry(ObjIntConsumer)} or {@link #entryStream()}, that give each distinct element
+ * once with its number of occurrences.
  */
 public class RedundantSet<T> extends AbstractSet<T>
 {
 
-  private final Map<T, Counter> internalRedundantValues;
+  private final OccurrenceTable<T> internalRedundantValues;
+
+  // The ranking of the elements, built at the first request and updated by each modification
+  private OccurrenceRanking<T> ranking = null;
 
   /**
    * Builds a <code>RedundantSet</code> collection based on the element of the collection given as parameters.
@@ -43,66 +55,143 @@ public class RedundantSet<T> extends AbstractSet<T>
    * Build an empty collection for the RedundantSet class.
    */
   public RedundantSet()
+  {
+    this(0);
+  }
+
+  /**
+   * Build an empty collection able to record the number of distinct elements without growing its internal
+   * representation.
+   *
+   * @param expectedDistinctCount The expected number of distinct elements.
+   */
+  public RedundantSet(int expectedDistinctCount)
   {
     super();
-    this.internalRedundantValues = new HashMap<>();
+    this.internalRedundantValues = new OccurrenceTable<>(expectedDistinctCount);
+  }
+
+  /**
+   * Build a collection on the occurrence table.
+   *
+   * @param occurrences The internal representation of the collection.
+   */
+  private RedundantSet(OccurrenceTable<T> occurrences)
+  {
+    super();
+    this.internalRedundantValues = occurrences;
   }
 
   @Override
   public Iterator<T> iterator()
   {
-    return new RedundantSetIterator(this.internalRedundantValues);
+    return new RedundantSetIterator();
   }
 
-  @Override
-  public int size()
+  /**
+   * Gives each distinct element of this collection to the action once, with its number of occurrences. The time of
+   * this operation depends only on the number of distinct elements.
+   *
+   * @param action The action to run for each distinct element and its number of occurrences.
+   * @throws ConcurrentModificationException If this collection is modified by the action.
+   */
+  public void forEachEntry(ObjIntConsumer<? super T> action)
   {
-    int real_size = 0;
+    int _expected_modifications = this.internalRedundantValues.modifications();
+    for (int _slot = 0; _slot < this.internalRedundantValues.capacity(); ++_slot)
+    {
+      if (this.internalRedundantValues.isUsed(_slot))
+      {
+        action.accept(this.internalRedundantValues.elementAt(_slot), this.internalRedundantValues.countAt(_slot));
+      }
+    }
 
-    for (T _element : this.internalRedundantValues.keySet())
+    if (this.internalRedundantValues.modifications() != _expected_modifications)
     {
-      real_size += this.countElementFor(_element);
+      throw new ConcurrentModificationException();
     }
+  }
 
-    return real_size;
+  /**
+   * Returns a stream with an entry by distinct element of this collection: the key of the entry is the element, and its
+   * value is the number of occurrences of the element. This collection must not be modified while the stream is
+   * consumed.
+   *
+   * @return A stream of the distinct elements with their number of occurrences.
+   */
+  public Stream<Map.Entry<T, Integer>> entryStream()
+  {
+    return IntStream.range(0, this.internalRedundantValues.capacity()).filter(this.internalRedundantValues::isUsed)
+      .mapToObj(slot -> new AbstractMap.SimpleImmutableEntry<>(this.internalRedundantValues.elementAt(slot), this
+        .internalRedundantValues.countAt(slot)));
   }
 
+  /**
+   * Returns a <code>Spliterator</code> based on the slots of the internal representation of this collection. Each
+   * element is given as many times as its number of occurrences, without any new lookup for the element, and the split
+   * is realized on the distinct elements.
+   *
+   * @return A <code>Spliterator</code> on all elements of this collection, redundant elements included.
+   */
+  @Override
+  public Spliterator<T> spliterator()
+  {
+    return new RedundantSetSpliterator(0, this.internalRedundantValues.capacity(), this.internalRedundantValues.total(),
+      true);
+  }
+
+  /**
+   * Returns the number of elements of this collection, redundant elements included. If this number is greater than
+   * <code>Integer.MAX_VALUE</code>, <code>Integer.MAX_VALUE</code> is returned.
+   *
+   * @return The number of elements of this collection.
+   */
+  @Override
+  public int size()
+  {
+    return (int) Math.min(Integer.MAX_VALUE, this.internalRedundantValues.total());
+  }
+
+  /**
+   * Adds an occurrence of the value.
+   *
+   * @param value The value to add.
+   * @return <code>true</code> if the occurrence is added, <code>false</code> if the value has already
+   * <code>Integer.MAX_VALUE</code> occurrences.
+   */
   public boolean add(T value)
   {
-    try
-    {
-      if (this.internalRedundantValues.containsKey(value))
-      {
-        this.internalRedundantValues.get(value).increment();
-      } else
-      {
-        this.internalRedundantValues.put(value, new Counter(1, Integer.MAX_VALUE));
-      }
-    } catch (RangeException e)
+    if (this.internalRedundantValues.increment(value) == 0)
     {
       return false;
     }
 
+    if (this.ranking != null)
+    {
+      this.ranking.increment(value);
+    }
     return true;
   }
 
   @Override
   public boolean remove(Object value)
   {
-    if (this.internalRedundantValues.containsKey(value))
+    if (this.internalRedundantValues.decrement(value) < 0)
     {
-      if (this.internalRedundantValues.get(value).getCurrentValue() > 1)
-      {
-        this.internalRedundantValues.get(value).decrement();
-      } else
-      {
-        this.internalRedundantValues.remove(value);
-      }
+      return false;
+    }
 
-      return true;
+    if (this.ranking != null)
+    {
+      this.ranking.decrement(value);
     }
+    return true;
+  }
 
-    return false;
+  @Override
+  public boolean contains(Object value)
+  {
+    return this.internalRedundantValues.count(value) > 0;
   }
 
   @Override
@@ -120,16 +209,29 @@ public class RedundantSet<T> extends AbstractSet<T>
   @Override
   public boolean retainAll(Collection<?> otherCollection)
   {
+    // A lookup into a list is linear, so it's realized into a copy of its elements
+    if (!(otherCollection instanceof Set) && this.internalRedundantValues.distinct() > 1)
+    {
+      otherCollection = new HashSet<>(otherCollection);
+    }
+
     boolean are_some_retaining = false;
-    List<T> _duplicate_for_loop = (List<T>) Arrays.asList(this.internalRedundantValues.keySet().toArray());
-    for (Object _element : _duplicate_for_loop)
+    for (int _slot = 0; _slot < this.internalRedundantValues.capacity(); ++_slot)
     {
-      if (!otherCollection.contains(_element))
-      {
-        this.internalRedundantValues.remove(_element);
-      } else
+      if (this.internalRedundantValues.isUsed(_slot))
       {
-        are_some_retaining = true;
+        T _element = this.internalRedundantValues.elementAt(_slot);
+        if (!otherCollection.contains(_element))
+        {
+          this.internalRedundantValues.deleteAt(_slot);
+          if (this.ranking != null)
+          {
+            this.ranking.remove(_element);
+          }
+        } else
+        {
+          are_some_retaining = true;
+        }
       }
     }
 
@@ -143,9 +245,257 @@ public class RedundantSet<T> extends AbstractSet<T>
     return true;
   }
 
+  /**
+   * Returns the union of this collection and the other one: each element has the greatest of its numbers of
+   * occurrences into both collections.
+   *
+   * @param other The other collection.
+   * @return A new collection with the union of both collections.
+   */
+  public RedundantSet<T> union(RedundantSet<? extends T> other)
+  {
+    return union(other, null);
+  }
+
+  /**
+   * Returns the union of this collection and the other one, by reading the other collection with the tasks of the
+   * pool.
+   *
+   * @param other The other collection.
+   * @param pool  The pool that reads the other collection, <code>null</code> to read it sequentially.
+   * @return A new collection with the union of both collections.
+   * @see #union(RedundantSet)
+   */
+  public RedundantSet<T> union(RedundantSet<? extends T> other, ForkJoinPool pool)
+  {
+    RedundantSet<T> _result = new RedundantSet<>(new OccurrenceTable<>(this.internalRedundantValues));
+    _result.combine(other, MultisetOperation.UNION, pool);
+    return _result;
+  }
+
+  /**
+   * Returns the sum of this collection and the other one: each element has the sum of its numbers of occurrences into
+   * both collections, limited to <code>Integer.MAX_VALUE</code>.
+   *
+   * @param other The other collection.
+   * @return A new collection with the sum of both collections.
+   */
+  public RedundantSet<T> sum(RedundantSet<? extends T> other)
+  {
+    return sum(other, null);
+  }
+
+  /**
+   * Returns the sum of this collection and the other one, by reading the other collection with the tasks of the pool.
+   *
+   * @param other The other collection.
+   * @param pool  The pool that reads the other collection, <code>null</code> to read it sequentially.
+   * @return A new collection with the sum of both collections.
+   * @see #sum(RedundantSet)
+   */
+  public RedundantSet<T> sum(RedundantSet<? extends T> other, ForkJoinPool pool)
+  {
+    RedundantSet<T> _result = new RedundantSet<>(new OccurrenceTable<>(this.internalRedundantValues));
+    _result.combine(other, MultisetOperation.SUM, pool);
+    return _result;
+  }
+
+  /**
+   * Returns the intersection of this collection and the other one: each element has the lowest of its numbers of
+   * occurrences into both collections.
+   *
+   * @param other The other collection.
+   * @return A new collection with the intersection of both collections.
+   */
+  public RedundantSet<T> intersect(RedundantSet<?> other)
+  {
+    return intersect(other, null);
+  }
+
+  /**
+   * Returns the intersection of this collection and the other one, by reading this collection with the tasks of the
+   * pool.
+   *
+   * @param other The other collection.
+   * @param pool  The pool that reads this collection, <code>null</code> to read it sequentially.
+   * @return A new collection with the intersection of both collections.
+   * @see #intersect(RedundantSet)
+   */
+  public RedundantSet<T> intersect(RedundantSet<?> other, ForkJoinPool pool)
+  {
+    RedundantSet<T> _result = new RedundantSet<>(new OccurrenceTable<>(this.internalRedundantValues));
+    _result.combine(other, MultisetOperation.INTERSECTION, pool);
+    return _result;
+  }
+
+  /**
+   * Returns the difference of this collection and the other one: each element has its number of occurrences into this
+   * collection minus its number of occurrences into the other one, if this difference is positive.
+   *
+   * @param other The other collection.
+   * @return A new collection with the difference of both collections.
+   */
+  public RedundantSet<T> subtract(RedundantSet<?> other)
+  {
+    return subtract(other, null);
+  }
+
+  /**
+   * Returns the difference of this collection and the other one, by reading this collection with the tasks of the
+   * pool.
+   *
+   * @param other The other collection.
+   * @param pool  The pool that reads this collection, <code>null</code> to read it sequentially.
+   * @return A new collection with the difference of both collections.
+   * @see #subtract(RedundantSet)
+   */
+  public RedundantSet<T> subtract(RedundantSet<?> other, ForkJoinPool pool)
+  {
+    RedundantSet<T> _result = new RedundantSet<>(new OccurrenceTable<>(this.internalRedundantValues));
+    _result.combine(other, MultisetOperation.DIFFERENCE, pool);
+    return _result;
+  }
+
+  /**
+   * Updates this collection with its union with the other one.
+   *
+   * @param other The other collection.
+   * @return <code>true</code> if this collection was modified.
+   * @see #union(RedundantSet)
+   */
+  public boolean unionWith(RedundantSet<? extends T> other)
+  {
+    return combine(other, MultisetOperation.UNION, null);
+  }
+
+  /**
+   * Updates this collection with its sum with the other one.
+   *
+   * @param other The other collection.
+   * @return <code>true</code> if this collection was modified.
+   * @see #sum(RedundantSet)
+   */
+  public boolean sumWith(RedundantSet<? extends T> other)
+  {
+    return combine(other, MultisetOperation.SUM, null);
+  }
+
+  /**
+   * Updates this collection with its intersection with the other one.
+   *
+   * @param other The other collection.
+   * @return <code>true</code> if this collection was modified.
+   * @see #intersect(RedundantSet)
+   */
+  public boolean intersectWith(RedundantSet<?> other)
+  {
+    return combine(other, MultisetOperation.INTERSECTION, null);
+  }
+
+  /**
+   * Updates this collection with its difference with the other one.
+   *
+   * @param other The other collection.
+   * @return <code>true</code> if this collection was modified.
+   * @see #subtract(RedundantSet)
+   */
+  public boolean subtractWith(RedundantSet<?> other)
+  {
+    return combine(other, MultisetOperation.DIFFERENCE, null);
+  }
+
+  /**
+   * Applies the operation on this collection and the other one. The new numbers of occurrences are computed first,
+   * by reading the collection that contains all elements of the result, and possibly with the tasks of the pool. Then
+   * they are set into this collection, with a single pass.
+   *
+   * @param other     The other collection.
+   * @param operation The operation to apply.
+   * @param pool      The pool that computes the new numbers of occurrences, <code>null</code> to compute them
+   *                  sequentially.
+   * @return <code>true</code> if this collection was modified.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean combine(RedundantSet<?> other, MultisetOperation operation, ForkJoinPool pool)
+  {
+    OccurrenceTable<T> _target = this.internalRedundantValues;
+    OccurrenceTable<?> _other = other.internalRedundantValues;
+
+    // The union and the sum contain all elements of this collection, so only the elements of the other one are updated
+    boolean _is_other_driven = operation == MultisetOperation.UNION || operation == MultisetOperation.SUM;
+    OccurrenceTable<?> _driver = _is_other_driven ? _other : _target;
+    OccurrenceTable<?> _lookup = _is_other_driven ? _target : _other;
+
+    int[] _new_counts = new int[_driver.capacity()];
+    SlotRangeTask _task = new SlotRangeTask(_driver, _lookup, _is_other_driven, operation, _new_counts, 0, _driver
+      .capacity());
+    if (pool == null)
+    {
+      _task.compute();
+    } else
+    {
+      pool.invoke(_task);
+    }
+
+    boolean _is_modified = false;
+    for (int _slot = 0; _slot < _new_counts.length; ++_slot)
+    {
+      if (_driver.isUsed(_slot))
+      {
+        if (_is_other_driven)
+        {
+          _is_modified |= _target.set((T) _driver.elementAt(_slot), _new_counts[_slot]) != _new_counts[_slot];
+        } else if (_target.countAt(_slot) != _new_counts[_slot])
+        {
+          // The elements are kept at their slot, so this collection is read while it's updated
+          _target.setAt(_slot, _new_counts[_slot]);
+          _is_modified = true;
+        }
+      }
+    }
+
+    if (this.ranking != null && _is_modified)
+    {
+      this.ranking.rebuild(_target);
+    }
+
+    return _is_modified;
+  }
+
+  /**
+   * Gets the ranking of the distinct elements of this collection according to their number of occurrences. The ranking
+   * is built at the first call, then it's updated by each modification of this collection, with a constant cost.
+   *
+   * @return The ranking of the elements of this collection.
+   */
+  public OccurrenceRanking<T> getRanking()
+  {
+    if (this.ranking == null)
+    {
+      this.ranking = new OccurrenceRanking<>(this.internalRedundantValues);
+    }
+
+    return this.ranking;
+  }
+
   public int countElementFor(T element)
   {
-    return this.internalRedundantValues.containsKey(element) ? this.internalRedundantValues.get(element).getCurrentValue() : 0;
+    return this.internalRedundantValues.count(element);
+  }
+
+  /**
+   * Sets the number of occurrences of the element, to restore a collection from a snapshot.
+   *
+   * @param element The element to restore.
+   * @param count   The number of occurrences of the element, positive or zero.
+   */
+  void setCountFor(T element, int count)
+  {
+    this.internalRedundantValues.set(element, count);
+    if (this.ranking != null)
+    {
+      this.ranking.set(element, count);
+    }
   }
 
   @Override
@@ -181,65 +531,322 @@ public class RedundantSet<T> extends AbstractSet<T>
   public void clear()
   {
     this.internalRedundantValues.clear();
+    if (this.ranking != null)
+    {
+      this.ranking.clear();
+    }
   }
 
   /**
-   * This class reads each value and loop on the same value according to the occurrences number.
+   * Operations on the numbers of occurrences of an element into two collections.
    */
-  private class RedundantSetIterator implements Iterator<T>
+  private enum MultisetOperation
   {
+    UNION
+      {
+        @Override
+        int apply(int thisCount, int otherCount)
+        {
+          return Math.max(thisCount, otherCount);
+        }
+      },
+    SUM
+      {
+        @Override
+        int apply(int thisCount, int otherCount)
+        {
+          return (int) Math.min(Integer.MAX_VALUE, (long) thisCount + otherCount);
+        }
+      },
+    INTERSECTION
+      {
+        @Override
+        int apply(int thisCount, int otherCount)
+        {
+          return Math.min(thisCount, otherCount);
+        }
+      },
+    DIFFERENCE
+      {
+        @Override
+        int apply(int thisCount, int otherCount)
+        {
+          return Math.max(0, thisCount - otherCount);
+        }
+      };
+
+    abstract int apply(int thisCount, int otherCount);
+  }
 
-    // The current collection on which the iterator will be set
-    private final Map<T, Counter> redundantSetCollection;
+  /**
+   * Task that computes the new numbers of occurrences of a range of slots of a collection, by looking up each element
+   * into the other collection. The collections are only read, so the ranges are computed concurrently.
+   */
+  private static class SlotRangeTask extends RecursiveAction
+  {
 
-    // The iterator on keys of the current collection
-    private final Iterator<T> keySetIterator;
+    // Minimal number of slots of a task
+    private static final int MINIMAL_RANGE = 1 << 13;
 
-    // The current element gets from current collection keySetIterator
-    private T currentElement = null;
+    private static final long serialVersionUID = 1L;
 
-    // The occurrence counter on the currentElement
-    private int occurrenceCounter;
+    private final OccurrenceTable<?> driver;
+    private final OccurrenceTable<?> lookup;
+    private final boolean isOtherDriven;
+    private final MultisetOperation operation;
+    private final int[] newCounts;
+    private final int fromSlot;
+    private final int toSlot;
 
-    public RedundantSetIterator(Map<T, Counter> internalRedundantValues)
+    private SlotRangeTask(OccurrenceTable<?> driver, OccurrenceTable<?> lookup, boolean isOtherDriven,
+                          MultisetOperation operation, int[] newCounts, int fromSlot, int toSlot)
     {
-      this.redundantSetCollection = internalRedundantValues;
-      this.keySetIterator = this.redundantSetCollection.keySet().iterator();
-      this.occurrenceCounter = 0;
+      this.driver = driver;
+      this.lookup = lookup;
+      this.isOtherDriven = isOtherDriven;
+      this.operation = operation;
+      this.newCounts = newCounts;
+      this.fromSlot = fromSlot;
+      this.toSlot = toSlot;
     }
 
     @Override
-    public boolean hasNext()
+    protected void compute()
     {
+      if (this.toSlot - this.fromSlot > MINIMAL_RANGE && getPool() != null)
+      {
+        int _middle = (this.fromSlot + this.toSlot) >>> 1;
+        invokeAll(new SlotRangeTask(this.driver, this.lookup, this.isOtherDriven, this.operation, this.newCounts, this
+            .fromSlot, _middle),
+          new SlotRangeTask(this.driver, this.lookup, this.isOtherDriven, this.operation, this.newCounts, _middle, this
+            .toSlot));
+        return;
+      }
+
+      for (int _slot = this.fromSlot; _slot < this.toSlot; ++_slot)
+      {
+        if (this.driver.isUsed(_slot))
+        {
+          int _driver_count = this.driver.countAt(_slot);
+          int _lookup_count = this.lookup.count(this.driver.elementAt(_slot));
+          this.newCounts[_slot] = this.isOtherDriven ? this.operation.apply(_lookup_count, _driver_count) : this
+            .operation.apply(_driver_count, _lookup_count);
+        }
+      }
+    }
+  }
+
+  /**
+   * This class reads each slot of the internal representation and loops on the same value according to the
+   * occurrences number, read once by slot. An occurrence removed by the iterator is decremented in place.
+   */
+  private class RedundantSetIterator implements Iterator<T>
+  {
+
+    // The next slot to read into the internal representation
+    private int nextSlot;
+
+    // The current element gets from the internal representation
+    private T currentElement = null;
+
+    // The number of occurrences left to give for the currentElement
+    private int remainingOccurrences;
+
+    // The number of elements left to give
+    private long remainingElements;
+
+    // The slot of the last element given by next(), -1 if it can't be removed
+    private int lastSlot;
 
-      return this.keySetIterator.hasNext() || this.isAnotherOccurrenceExist();
+    // The modifications number of the internal representation expected by this iterator
+    private int expectedModifications;
 
+    public RedundantSetIterator()
+    {
+      this.nextSlot = 0;
+      this.remainingOccurrences = 0;
+      this.remainingElements = internalRedundantValues.total();
+      this.lastSlot = -1;
+      this.expectedModifications = internalRedundantValues.modifications();
     }
 
-    private boolean isAnotherOccurrenceExist()
+    @Override
+    public boolean hasNext()
     {
-      return this.currentElement != null && this.redundantSetCollection.get(this.currentElement).getCurrentValue() > this
-        .occurrenceCounter;
+      return this.remainingElements > 0;
     }
 
     @Override
     public T next()
     {
-      if (this.isAnotherOccurrenceExist())
+      if (internalRedundantValues.modifications() != this.expectedModifications)
+      {
+        throw new ConcurrentModificationException();
+      }
+      if (this.remainingElements <= 0)
       {
-        ++this.occurrenceCounter;
-        return this.currentElement;
+        throw new NoSuchElementException();
       }
 
-      this.occurrenceCounter = 1;
-      this.currentElement = this.keySetIterator.next();
+      if (this.remainingOccurrences == 0)
+      {
+        while (!internalRedundantValues.isUsed(this.nextSlot))
+        {
+          ++this.nextSlot;
+        }
+        this.currentElement = internalRedundantValues.elementAt(this.nextSlot);
+        this.remainingOccurrences = internalRedundantValues.countAt(this.nextSlot);
+        ++this.nextSlot;
+      }
+
+      --this.remainingOccurrences;
+      --this.remainingElements;
+      this.lastSlot = this.nextSlot - 1;
       return this.currentElement;
     }
 
     @Override
     public void remove()
     {
-      throw new UnsupportedOperationException("Unsupported operation");
+      if (this.lastSlot < 0)
+      {
+        throw new IllegalStateException();
+      }
+      if (internalRedundantValues.modifications() != this.expectedModifications)
+      {
+        throw new ConcurrentModificationException();
+      }
+
+      internalRedundantValues.decrementAt(this.lastSlot);
+      if (ranking != null)
+      {
+        ranking.decrement(this.currentElement);
+      }
+      this.lastSlot = -1;
+      this.expectedModifications = internalRedundantValues.modifications();
+    }
+  }
+
+  /**
+   * This class splits the slots of the internal representation, and gives each element of a slot according to its
+   * occurrences number.
+   */
+  private class RedundantSetSpliterator implements Spliterator<T>
+  {
+
+    // The next slot to read into the internal representation
+    private int nextSlot;
+
+    // The slot following the last slot of this spliterator
+    private final int fence;
+
+    // The current element gets from the internal representation
+    private T currentElement = null;
+
+    // The number of occurrences left to give for the currentElement
+    private int remainingOccurrences = 0;
+
+    // The estimated number of elements of this spliterator
+    private long estimatedSize;
+
+    // true while the estimatedSize is the exact number of elements
+    private boolean isExactSize;
+
+    // The modifications number of the internal representation expected by this spliterator
+    private final int expectedModifications;
+
+    private RedundantSetSpliterator(int origin, int fence, long estimatedSize, boolean isExactSize)
+    {
+      this.nextSlot = origin;
+      this.fence = fence;
+      this.estimatedSize = estimatedSize;
+      this.isExactSize = isExactSize;
+      this.expectedModifications = internalRedundantValues.modifications();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+      while (this.remainingOccurrences == 0)
+      {
+        if (this.nextSlot >= this.fence)
+        {
+          return false;
+        }
+        if (internalRedundantValues.isUsed(this.nextSlot))
+        {
+          this.currentElement = internalRedundantValues.elementAt(this.nextSlot);
+          this.remainingOccurrences = internalRedundantValues.countAt(this.nextSlot);
+        }
+        ++this.nextSlot;
+      }
+
+      --this.remainingOccurrences;
+      --this.estimatedSize;
+      action.accept(this.currentElement);
+      checkModifications();
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+      for (; this.remainingOccurrences > 0; --this.remainingOccurrences)
+      {
+        action.accept(this.currentElement);
+      }
+
+      for (; this.nextSlot < this.fence; ++this.nextSlot)
+      {
+        if (internalRedundantValues.isUsed(this.nextSlot))
+        {
+          T _element = internalRedundantValues.elementAt(this.nextSlot);
+          for (int _occurrence = internalRedundantValues.countAt(this.nextSlot); _occurrence > 0; --_occurrence)
+          {
+            action.accept(_element);
+          }
+        }
+      }
+      this.estimatedSize = 0;
+      checkModifications();
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+      int _middle = (this.nextSlot + this.fence) >>> 1;
+      if (this.remainingOccurrences > 0 || _middle <= this.nextSlot)
+      {
+        return null;
+      }
+
+      // The number of occurrences by slot is unknown, so the size of each part is only an estimation
+      RedundantSetSpliterator _prefix = new RedundantSetSpliterator(this.nextSlot, _middle, this.estimatedSize >>> 1,
+        false);
+      this.nextSlot = _middle;
+      this.estimatedSize -= _prefix.estimatedSize;
+      this.isExactSize = false;
+      return _prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+      return this.estimatedSize;
+    }
+
+    @Override
+    public int characteristics()
+    {
+      return this.isExactSize ? Spliterator.SIZED : 0;
+    }
+
+    private void checkModifications()
+    {
+      if (internalRedundantValues.modifications() != this.expectedModifications)
+      {
+        throw new ConcurrentModificationException();
+      }
     }
   }
 }
@@ -0,0 +1,481 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Map with a bounded capacity that evicts its oldest entry when a new key is put into the full map (first in, first
+ * out). The entries are stored into slots allocated with the map and chained from the oldest to the newest entry, and
+ * the keys are indexed by an open addressing table of slot numbers: putting a key doesn't allocate any memory, so the
+ * memory stays flat under a sustained adding. Without removal, the slots are used as a ring buffer.<br><br>
+ * <p>
+ * Putting an existing key replaces its value without changing its place into the chain. The slot of a removed entry is
+ * reused by the next new key. Each evicted entry is given to the eviction listener. The entries are iterated from the
+ * oldest to the newest. The <code>null</code> keys are not accepted. This class is not thread-safe.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @author Tioben Neenot
+ */
+final class RingBufferMap<K, V> extends AbstractMap<K, V>
+{
+
+  /**
+   * Maximal capacity of a map.
+   */
+  static final int MAXIMUM_CAPACITY = 1 << 28;
+
+  /**
+   * Slot number of the end of a chain.
+   */
+  private static final int NONE = -1;
+
+  /**
+   * The keys of the slots
+   */
+  private final Object[] keys;
+
+  /**
+   * The values of the slots
+   */
+  private final Object[] values;
+
+  /**
+   * The next newer slot of each slot, or the next free slot of a free slot
+   */
+  private final int[] nextSlots;
+
+  /**
+   * The next older slot of each slot
+   */
+  private final int[] previousSlots;
+
+  /**
+   * The index of the keys: each non-zero value is a slot plus one
+   */
+  private final int[] index;
+
+  /**
+   * The listener of the evicted entries
+   */
+  private final BiConsumer<? super K, ? super V> evictionListener;
+
+  /**
+   * The slot of the oldest entry
+   */
+  private int oldestSlot = NONE;
+
+  /**
+   * The slot of the newest entry
+   */
+  private int newestSlot = NONE;
+
+  /**
+   * The first slot of the chain of the released slots
+   */
+  private int freeSlot = NONE;
+
+  /**
+   * The number of slots used at least once
+   */
+  private int allocatedSlots;
+
+  /**
+   * The number of entries
+   */
+  private int size;
+
+  /**
+   * The number of modifications, to detect the concurrent modifications while iterating
+   */
+  private int modificationCount;
+
+  /**
+   * Build an empty map with a bounded capacity.
+   *
+   * @param capacity         The maximal number of entries.
+   * @param evictionListener The listener of the evicted entries, <code>null</code> if there is no listener.
+   * @throws IllegalArgumentException If the capacity is not positive or too large.
+   */
+  RingBufferMap(int capacity, BiConsumer<? super K, ? super V> evictionListener)
+  {
+    super();
+
+    if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+    {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+
+    this.keys = new Object[capacity];
+    this.values = new Object[capacity];
+    this.nextSlots = new int[capacity];
+    this.previousSlots = new int[capacity];
+    this.index = new int[Integer.highestOneBit(capacity) << 2];
+    this.evictionListener = evictionListener;
+  }
+
+  /**
+   * Gets the maximal number of entries of this map.
+   *
+   * @return The capacity.
+   */
+  int capacity()
+  {
+    return this.keys.length;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#size()
+   */
+  @Override
+  public int size()
+  {
+    return this.size;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#containsKey(java.lang.Object)
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return key != null && find(key) >= 0;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#get(java.lang.Object)
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Object key)
+  {
+    if (key == null)
+    {
+      return null;
+    }
+
+    int _position = find(key);
+    return _position < 0 ? null : (V) this.values[this.index[_position] - 1];
+  }
+
+  /**
+   * Puts the value for the key. If the key is new and the map is full, the oldest entry is evicted.
+   *
+   * @param key   The key.
+   * @param value The value.
+   * @return The previous value of the key, <code>null</code> if the key is new.
+   * @throws NullPointerException If the key is <code>null</code>.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V put(K key, V value)
+  {
+    Objects.requireNonNull(key, "Null key");
+
+    int _position = find(key);
+    if (_position >= 0)
+    {
+      int _slot = this.index[_position] - 1;
+      Object _previous = this.values[_slot];
+      this.values[_slot] = value;
+      return (V) _previous;
+    }
+
+    K _evicted_key = null;
+    V _evicted_value = null;
+    int _slot;
+    if (this.freeSlot != NONE)
+    {
+      _slot = this.freeSlot;
+      this.freeSlot = this.nextSlots[_slot];
+    } else if (this.allocatedSlots < this.keys.length)
+    {
+      _slot = this.allocatedSlots++;
+    } else
+    {
+      // The map is full: the slot of the oldest entry is reused
+      _slot = this.oldestSlot;
+      _evicted_key = (K) this.keys[_slot];
+      _evicted_value = (V) this.values[_slot];
+      unindex(find(_evicted_key));
+      unlink(_slot);
+      --this.size;
+    }
+
+    this.keys[_slot] = key;
+    this.values[_slot] = value;
+    this.index[-find(key) - 1] = _slot + 1;
+    link(_slot);
+    ++this.size;
+    ++this.modificationCount;
+
+    if (_evicted_key != null && this.evictionListener != null)
+    {
+      this.evictionListener.accept(_evicted_key, _evicted_value);
+    }
+
+    return null;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#remove(java.lang.Object)
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V remove(Object key)
+  {
+    if (key == null)
+    {
+      return null;
+    }
+
+    int _position = find(key);
+    if (_position < 0)
+    {
+      return null;
+    }
+
+    int _slot = this.index[_position] - 1;
+    Object _previous = this.values[_slot];
+    unindex(_position);
+    unlink(_slot);
+    this.keys[_slot] = null;
+    this.values[_slot] = null;
+    this.nextSlots[_slot] = this.freeSlot;
+    this.freeSlot = _slot;
+    --this.size;
+    ++this.modificationCount;
+
+    return (V) _previous;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#clear()
+   */
+  @Override
+  public void clear()
+  {
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.values, null);
+    Arrays.fill(this.index, 0);
+    this.oldestSlot = NONE;
+    this.newestSlot = NONE;
+    this.freeSlot = NONE;
+    this.allocatedSlots = 0;
+    this.size = 0;
+    ++this.modificationCount;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.AbstractMap#entrySet()
+   */
+  @Override
+  public Set<Entry<K, V>> entrySet()
+  {
+    return new AbstractSet<Entry<K, V>>()
+    {
+      @Override
+      public int size()
+      {
+        return RingBufferMap.this.size;
+      }
+
+      @Override
+      public void clear()
+      {
+        RingBufferMap.this.clear();
+      }
+
+      @Override
+      public Iterator<Entry<K, V>> iterator()
+      {
+        return new EntryIterator();
+      }
+    };
+  }
+
+  /**
+   * Chains the slot as the newest entry.
+   *
+   * @param slot The slot to chain.
+   */
+  private void link(int slot)
+  {
+    this.previousSlots[slot] = this.newestSlot;
+    this.nextSlots[slot] = NONE;
+    if (this.newestSlot == NONE)
+    {
+      this.oldestSlot = slot;
+    } else
+    {
+      this.nextSlots[this.newestSlot] = slot;
+    }
+    this.newestSlot = slot;
+  }
+
+  /**
+   * Removes the slot from the chain of the entries.
+   *
+   * @param slot The slot to remove.
+   */
+  private void unlink(int slot)
+  {
+    int _previous = this.previousSlots[slot];
+    int _next = this.nextSlots[slot];
+    if (_previous == NONE)
+    {
+      this.oldestSlot = _next;
+    } else
+    {
+      this.nextSlots[_previous] = _next;
+    }
+    if (_next == NONE)
+    {
+      this.newestSlot = _previous;
+    } else
+    {
+      this.previousSlots[_next] = _previous;
+    }
+  }
+
+  /**
+   * Searches the position of the key into the index.
+   *
+   * @param key The key to search.
+   * @return The position of the key into the index, or <code>-(free position) - 1</code> if the key is not indexed.
+   */
+  private int find(Object key)
+  {
+    int _mask = this.index.length - 1;
+    int _position = hash(key) & _mask;
+    while (this.index[_position] != 0)
+    {
+      if (key.equals(this.keys[this.index[_position] - 1]))
+      {
+        return _position;
+      }
+      _position = (_position + 1) & _mask;
+    }
+
+    return -_position - 1;
+  }
+
+  /**
+   * Removes a key from the index, and moves back the following keys of the probe sequence, so each key stays reachable
+   * from its hash position.
+   *
+   * @param position The position of the key into the index.
+   */
+  private void unindex(int position)
+  {
+    int _mask = this.index.length - 1;
+    int _freed = position;
+    this.index[_freed] = 0;
+    int _position = (_freed + 1) & _mask;
+    while (this.index[_position] != 0)
+    {
+      int _home = hash(this.keys[this.index[_position] - 1]) & _mask;
+      // The key moves to the freed position if its home isn't between the freed position and its position
+      if (((_position - _home) & _mask) >= ((_position - _freed) & _mask))
+      {
+        this.index[_freed] = this.index[_position];
+        this.index[_position] = 0;
+        _freed = _position;
+      }
+      _position = (_position + 1) & _mask;
+    }
+  }
+
+  /**
+   * Spreads the hash code of the key.
+   *
+   * @param key The key.
+   * @return The spread hash code.
+   */
+  private static int hash(Object key)
+  {
+    int _hash = key.hashCode() * 0x9E3779B9;
+    return _hash ^ (_hash >>> 16);
+  }
+
+  /**
+   * Iterator on the entries, from the oldest to the newest.
+   */
+  private final class EntryIterator implements Iterator<Entry<K, V>>
+  {
+
+    /**
+     * The expected number of modifications of the map
+     */
+    private int expectedModificationCount = RingBufferMap.this.modificationCount;
+
+    /**
+     * The next slot to read
+     */
+    private int nextSlot = RingBufferMap.this.oldestSlot;
+
+    /**
+     * The key of the last given entry, <code>null</code> if it's removed or if there is no given entry
+     */
+    private Object lastKey;
+
+    @Override
+    public boolean hasNext()
+    {
+      return this.nextSlot != NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Entry<K, V> next()
+    {
+      if (this.expectedModificationCount != RingBufferMap.this.modificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+
+      K _key = (K) RingBufferMap.this.keys[this.nextSlot];
+      V _value = (V) RingBufferMap.this.values[this.nextSlot];
+      this.lastKey = _key;
+      this.nextSlot = RingBufferMap.this.nextSlots[this.nextSlot];
+
+      return new SimpleImmutableEntry<>(_key, _value);
+    }
+
+    @Override
+    public void remove()
+    {
+      if (this.lastKey == null)
+      {
+        throw new IllegalStateException();
+      }
+      if (this.expectedModificationCount != RingBufferMap.this.modificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+
+      RingBufferMap.this.remove(this.lastKey);
+      this.expectedModificationCount = RingBufferMap.this.modificationCount;
+      this.lastKey = null;
+    }
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import java.util.function.LongSupplier;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Version of the {@link RedundantSet} collection that counts only the occurrences added during a sliding window of
+ * time, such as the last 5 minutes. The window is divided into intervals: the occurrences of each interval are counted
+ * into their own bucket, and the buckets are used as a ring. When an interval is over, its bucket becomes the current
+ * one, and the occurrences of the oldest bucket are removed from the window.<br><br>
+ * <p>
+ * The occurrences of the whole window are counted into an aggregate table, so {@link #countElementFor(Object)} and
+ * {@link #size()} are realized with a single lookup. Each occurrence is removed once from the aggregate table, when its
+ * bucket expires, so the cost of the sliding is amortized over the adding. The memory is bounded by the number of
+ * distinct elements into the window.<br><br>
+ * <p>
+ * The window contains the occurrences added since the beginning of the oldest interval, so its actual length is
+ * between the window length minus an interval and the window length. The time is given by a clock in milliseconds,
+ * <code>System.currentTimeMillis()</code> by default; a {@link org.hlib4j.time.TimeFlow} can give the time with
+ * <code>() -&gt; timeFlow.end().getTimeFlow()</code>. This class is not thread-safe.
+ *
+ * @param <T> The type of the counted elements.
+ * @author Tioben Neenot
+ */
+public class WindowedRedundantSet<T>
+{
+
+  /**
+   * The length of an interval, in milliseconds
+   */
+  private final long intervalLength;
+
+  /**
+   * The clock, in milliseconds
+   */
+  private final LongSupplier clock;
+
+  /**
+   * The occurrences of each interval, used as a ring
+   */
+  private final OccurrenceTable<T>[] buckets;
+
+  /**
+   * The occurrences of the whole window
+   */
+  private OccurrenceTable<T> aggregate;
+
+  /**
+   * The index of the bucket of the current interval
+   */
+  private int currentBucket;
+
+  /**
+   * The beginning time of the current interval
+   */
+  private long currentIntervalStart;
+
+  /**
+   * Build an empty collection for a window of time, measured by the system clock.
+   *
+   * @param windowLength  The length of the window, in milliseconds.
+   * @param intervalCount The number of intervals of the window.
+   * @throws IllegalArgumentException If the window is shorter than its number of intervals, or if this number is not
+   *                                  positive.
+   */
+  public WindowedRedundantSet(long windowLength, int intervalCount)
+  {
+    this(windowLength, intervalCount, System::currentTimeMillis);
+  }
+
+  /**
+   * Build an empty collection for a window of time, measured by the clock.
+   *
+   * @param windowLength  The length of the window, in milliseconds.
+   * @param intervalCount The number of intervals of the window.
+   * @param clock         The clock that gives the time, in milliseconds.
+   * @throws IllegalArgumentException If the window is shorter than its number of intervals, or if this number is not
+   *                                  positive.
+   * @throws NullPointerException     If the clock is <code>null</code>.
+   */
+  public WindowedRedundantSet(long windowLength, int intervalCount, LongSupplier clock)
+  {
+    super();
+
+    if (intervalCount <= 0 || windowLength < intervalCount)
+    {
+      throw new IllegalArgumentException("Invalid window: length=" + windowLength + ", intervals=" + intervalCount);
+    }
+    if (clock == null)
+    {
+      throw new NullPointerException("Null clock");
+    }
+
+    this.intervalLength = windowLength / intervalCount;
+    this.clock = clock;
+    @SuppressWarnings("unchecked")
+    OccurrenceTable<T>[] _buckets = (OccurrenceTable<T>[]) new OccurrenceTable<?>[intervalCount];
+    for (int _idx = 0; _idx < intervalCount; ++_idx)
+    {
+      _buckets[_idx] = new OccurrenceTable<>(0);
+    }
+    this.buckets = _buckets;
+    this.aggregate = new OccurrenceTable<>(0);
+    this.currentBucket = 0;
+    this.currentIntervalStart = clock.getAsLong();
+  }
+
+  /**
+   * Adds an occurrence of the value into the current interval.
+   *
+   * @param value The value to add.
+   * @return <code>true</code> if the occurrence is added, <code>false</code> if the value has already
+   * <code>Integer.MAX_VALUE</code> occurrences into the window.
+   */
+  public boolean add(T value)
+  {
+    slide();
+
+    if (this.aggregate.increment(value) == 0)
+    {
+      return false;
+    }
+
+    this.buckets[this.currentBucket].increment(value);
+    return true;
+  }
+
+  /**
+   * Gets the number of occurrences of the element into the window.
+   *
+   * @param element The element to search.
+   * @return The number of occurrences, <code>0</code> if the element is not into the window.
+   */
+  public int countElementFor(T element)
+  {
+    slide();
+    return this.aggregate.count(element);
+  }
+
+  /**
+   * Controls if the element is into the window.
+   *
+   * @param element The element to search.
+   * @return <code>true</code> if the element has at least one occurrence into the window.
+   */
+  public boolean contains(T element)
+  {
+    return countElementFor(element) > 0;
+  }
+
+  /**
+   * Returns the number of elements into the window, redundant elements included. If this number is greater than
+   * <code>Integer.MAX_VALUE</code>, <code>Integer.MAX_VALUE</code> is returned.
+   *
+   * @return The number of elements into the window.
+   */
+  public int size()
+  {
+    slide();
+    return (int) Math.min(Integer.MAX_VALUE, this.aggregate.total());
+  }
+
+  /**
+   * Controls if the window contains no element.
+   *
+   * @return <code>true</code> if the window is empty.
+   */
+  public boolean isEmpty()
+  {
+    return size() == 0;
+  }
+
+  /**
+   * Gets the number of distinct elements into the window.
+   *
+   * @return The number of distinct elements.
+   */
+  public int distinctCount()
+  {
+    slide();
+    return this.aggregate.distinct();
+  }
+
+  /**
+   * Gives each distinct element of the window to the action once, with its number of occurrences into the window.
+   *
+   * @param action The action to run for each distinct element and its number of occurrences.
+   */
+  public void forEachEntry(ObjIntConsumer<? super T> action)
+  {
+    slide();
+    for (int _slot = 0; _slot < this.aggregate.capacity(); ++_slot)
+    {
+      if (this.aggregate.isUsed(_slot))
+      {
+        action.accept(this.aggregate.elementAt(_slot), this.aggregate.countAt(_slot));
+      }
+    }
+  }
+
+  /**
+   * Removes all elements of the window.
+   */
+  public void clear()
+  {
+    for (int _idx = 0; _idx < this.buckets.length; ++_idx)
+    {
+      this.buckets[_idx] = new OccurrenceTable<>(0);
+    }
+    this.aggregate = new OccurrenceTable<>(0);
+  }
+
+  /**
+   * Moves the window to the current time: each interval over expires the oldest bucket, which becomes the bucket of
+   * the new interval.
+   */
+  private void slide()
+  {
+    long _elapsed_intervals = (this.clock.getAsLong() - this.currentIntervalStart) / this.intervalLength;
+    if (_elapsed_intervals <= 0)
+    {
+      return;
+    }
+
+    if (_elapsed_intervals >= this.buckets.length)
+    {
+      // The whole window is over
+      clear();
+    } else
+    {
+      for (int _step = 1; _step <= _elapsed_intervals; ++_step)
+      {
+        expire((this.currentBucket + _step) % this.buckets.length);
+      }
+    }
+
+    this.currentBucket = (int) ((this.currentBucket + _elapsed_intervals) % this.buckets.length);
+    this.currentIntervalStart += _elapsed_intervals * this.intervalLength;
+  }
+
+  /**
+   * Removes the occurrences of the bucket from the window, and replaces the bucket by an empty one.
+   *
+   * @param bucketIndex The index of the bucket to expire.
+   */
+  private void expire(int bucketIndex)
+  {
+    OccurrenceTable<T> _bucket = this.buckets[bucketIndex];
+    if (_bucket.distinct() == 0)
+    {
+      return;
+    }
+
+    for (int _slot = 0; _slot < _bucket.capacity(); ++_slot)
+    {
+      if (_bucket.isUsed(_slot))
+      {
+        T _element = _bucket.elementAt(_slot);
+        this.aggregate.set(_element, this.aggregate.count(_element) - _bucket.countAt(_slot));
+      }
+    }
+
+    // A new bucket is allocated, and the aggregate table is shrunk once it's mostly empty, so the memory of a burst is
+    // released
+    this.buckets[bucketIndex] = new OccurrenceTable<>(0);
+    if (this.aggregate.distinct() < this.aggregate.capacity() >>> 2)
+    {
+      this.aggregate.trim();
+    }
+  }
+
+  /**
+   * Gets the number of slots of the table of the window occurrences, free slots included.
+   *
+   * @return The number of slots.
+   */
+  int capacity()
+  {
+    slide();
+    return this.aggregate.capacity();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "WindowedRedundantSet [size=" + size() + ", distinct=" + distinctCount() + ", intervals=" + this.buckets
+      .length + ", interval length=" + this.intervalLength + "]";
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe {@link KeyGenerator} that generates <code>Long</code> keys by blocks (the "hi/lo" algorithm). Each thread
+ * reserves a private block of keys by an atomic operation on a shared counter, then it generates the keys of its block
+ * by an increment of its own range: the threads share the memory only once per block.<br><br>
+ * <p>
+ * The keys are unique, but they are not generated in ascending order when several threads generate keys, and the
+ * unused keys of a block are lost when its thread ends.
+ *
+ * @author Tioben Neenot
+ */
+public class BlockKeyGenerator extends KeyGenerator<Long>
+{
+
+  /**
+   * Default number of keys of a block.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+  /**
+   * The first key of the next block to reserve
+   */
+  private final AtomicLong nextBlock;
+
+  /**
+   * The number of keys of a block
+   */
+  private final int blockSize;
+
+  /**
+   * The range of each thread: the next key to generate and the end of the block
+   */
+  private final ThreadLocal<long[]> ranges;
+
+  /**
+   * Build a generator with blocks of {@link #DEFAULT_BLOCK_SIZE} keys, starting at <code>0</code>.
+   */
+  public BlockKeyGenerator()
+  {
+    this(0L, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Build a generator with blocks of keys, starting at the first key.
+   *
+   * @param firstKey  The first key of the first block.
+   * @param blockSize The number of keys of a block.
+   * @throws IllegalArgumentException If the number of keys of a block is not positive.
+   */
+  public BlockKeyGenerator(long firstKey, int blockSize)
+  {
+    super();
+
+    if (blockSize <= 0)
+    {
+      throw new IllegalArgumentException("Invalid block size: " + blockSize);
+    }
+
+    this.nextBlock = new AtomicLong(firstKey);
+    this.blockSize = blockSize;
+    this.ranges = ThreadLocal.withInitial(() -> new long[2]);
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyGenerator#generateNewKey()
+   */
+  @Override
+  public Long generateNewKey()
+  {
+    long[] _range = this.ranges.get();
+    if (_range[0] == _range[1])
+    {
+      _range[0] = this.nextBlock.getAndAdd(this.blockSize);
+      _range[1] = _range[0] + this.blockSize;
+    }
+
+    return _range[0]++;
+  }
+
+  /**
+   * Generate a block of contiguous keys. The keys are taken from the block of the thread if it has enough keys left,
+   * otherwise they are reserved by a single atomic operation on the shared counter, and the block of the thread is
+   * kept for the next keys.
+   *
+   * @param count The number of keys to generate.
+   * @return The block of new keys.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  @Override
+  public LongKeyBlock generateNewKeys(int count)
+  {
+    if (count < 0)
+    {
+      throw new IllegalArgumentException("Negative key count: " + count);
+    }
+
+    long[] _range = this.ranges.get();
+    if (_range[1] - _range[0] >= count)
+    {
+      LongKeyBlock _keys = new LongKeyBlock(_range[0], count);
+      _range[0] += count;
+      return _keys;
+    }
+
+    return new LongKeyBlock(this.nextBlock.getAndAdd(count), count);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("BlockKeyGenerator{");
+    sb.append("nextBlock=").append(this.nextBlock);
+    sb.append(", blockSize=").append(this.blockSize);
+    sb.append('}');
+    return sb.toString();
+  }
+}
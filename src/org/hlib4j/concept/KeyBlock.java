@@ -0,0 +1,86 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Block of keys generated together by {@link KeyGenerator#generateNewKeys(int)}. The keys are given by their index into
+ * the block, so a generator that reserves a range of keys describes the block without storing each key.
+ *
+ * @param <T> The type of the keys.
+ * @author Tioben Neenot
+ */
+public abstract class KeyBlock<T> implements Iterable<T>
+{
+
+  /**
+   * Gets the number of keys of this block.
+   *
+   * @return The number of keys.
+   */
+  public abstract int size();
+
+  /**
+   * Gets a key of this block.
+   *
+   * @param index The index of the key, from <code>0</code> to <code>size() - 1</code>.
+   * @return The key.
+   * @throws IndexOutOfBoundsException If the index is out of the block.
+   */
+  public abstract T get(int index);
+
+  /**
+   * Controls if this block contains no key.
+   *
+   * @return <code>true</code> if this block is empty.
+   */
+  public boolean isEmpty()
+  {
+    return size() == 0;
+  }
+
+  /* (non-Javadoc)
+   * @see java.lang.Iterable#iterator()
+   */
+  @Override
+  public Iterator<T> iterator()
+  {
+    return new Iterator<T>()
+    {
+      private int nextIndex;
+
+      @Override
+      public boolean hasNext()
+      {
+        return this.nextIndex < size();
+      }
+
+      @Override
+      public T next()
+      {
+        if (!hasNext())
+        {
+          throw new NoSuchElementException();
+        }
+        return get(this.nextIndex++);
+      }
+    };
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("KeyBlock{");
+    sb.append("size=").append(size());
+    sb.append('}');
+    return sb.toString();
+  }
+}
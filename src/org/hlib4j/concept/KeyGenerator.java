@@ -8,6 +8,9 @@
 
 package org.hlib4j.concept;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstract class that defines a method to generate a new key.
  *
@@ -22,6 +25,43 @@ public abstract class KeyGenerator<T>
    */
   public abstract T generateNewKey();
 
+  /**
+   * Generate a block of new key values. This implementation calls {@link #generateNewKey()} for each key; a generator
+   * that is able to reserve a range of keys at once should override it.
+   *
+   * @param count The number of keys to generate.
+   * @return The block of new key values.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  public KeyBlock<T> generateNewKeys(int count)
+  {
+    if (count < 0)
+    {
+      throw new IllegalArgumentException("Negative key count: " + count);
+    }
+
+    List<T> _keys = new ArrayList<>(count);
+    for (int _idx = 0; _idx < count; ++_idx)
+    {
+      _keys.add(generateNewKey());
+    }
+
+    return new KeyBlock<T>()
+    {
+      @Override
+      public int size()
+      {
+        return _keys.size();
+      }
+
+      @Override
+      public T get(int index)
+      {
+        return _keys.get(index);
+      }
+    };
+  }
+
   @Override
   public String toString()
   {
@@ -0,0 +1,138 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Block of contiguous <code>Long</code> keys, described by its first key and its number of keys.
+ *
+ * @author Tioben Neenot
+ */
+public final class LongKeyBlock extends KeyBlock<Long>
+{
+
+  /**
+   * The first key of the block
+   */
+  private final long firstKey;
+
+  /**
+   * The number of keys of the block
+   */
+  private final int size;
+
+  /**
+   * Build a block of contiguous keys.
+   *
+   * @param firstKey The first key of the block.
+   * @param size     The number of keys of the block.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  public LongKeyBlock(long firstKey, int size)
+  {
+    super();
+
+    if (size < 0)
+    {
+      throw new IllegalArgumentException("Negative block size: " + size);
+    }
+
+    this.firstKey = firstKey;
+    this.size = size;
+  }
+
+  /**
+   * Gets the first key of this block.
+   *
+   * @return The first key.
+   */
+  public long getFirstKey()
+  {
+    return this.firstKey;
+  }
+
+  /**
+   * Gets the key following the last key of this block.
+   *
+   * @return The first key after this block.
+   */
+  public long getEndKey()
+  {
+    return this.firstKey + this.size;
+  }
+
+  /**
+   * Gets a key of this block, without boxing.
+   *
+   * @param index The index of the key, from <code>0</code> to <code>size() - 1</code>.
+   * @return The key.
+   * @throws IndexOutOfBoundsException If the index is out of the block.
+   */
+  public long getKey(int index)
+  {
+    if (index < 0 || index >= this.size)
+    {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    return this.firstKey + index;
+  }
+
+  /**
+   * Controls if the key is into this block.
+   *
+   * @param key The key to control.
+   * @return <code>true</code> if the key is into this block.
+   */
+  public boolean contains(long key)
+  {
+    return key >= this.firstKey && key - this.firstKey < this.size;
+  }
+
+  /**
+   * Gives each key of this block to the action, in ascending order and without boxing.
+   *
+   * @param action The action to run for each key.
+   */
+  public void forEachKey(LongConsumer action)
+  {
+    for (int _idx = 0; _idx < this.size; ++_idx)
+    {
+      action.accept(this.firstKey + _idx);
+    }
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyBlock#size()
+   */
+  @Override
+  public int size()
+  {
+    return this.size;
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyBlock#get(int)
+   */
+  @Override
+  public Long get(int index)
+  {
+    return getKey(index);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("LongKeyBlock{");
+    sb.append("firstKey=").append(this.firstKey);
+    sb.append(", size=").append(this.size);
+    sb.append('}');
+    return sb.toString();
+  }
+}
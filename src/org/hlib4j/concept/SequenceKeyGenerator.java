@@ -0,0 +1,82 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe {@link KeyGenerator} that generates a sequence of <code>Long</code> keys, without any lock: each key is
+ * taken by an atomic increment of a shared counter. The keys are generated in ascending order, even if they are
+ * generated by several threads.
+ *
+ * @author Tioben Neenot
+ */
+public class SequenceKeyGenerator extends KeyGenerator<Long>
+{
+
+  /**
+   * The next key to generate
+   */
+  private final AtomicLong nextKey;
+
+  /**
+   * Build a generator with a sequence starting at <code>0</code>.
+   */
+  public SequenceKeyGenerator()
+  {
+    this(0L);
+  }
+
+  /**
+   * Build a generator with a sequence starting at the first key.
+   *
+   * @param firstKey The first key of the sequence.
+   */
+  public SequenceKeyGenerator(long firstKey)
+  {
+    super();
+
+    this.nextKey = new AtomicLong(firstKey);
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyGenerator#generateNewKey()
+   */
+  @Override
+  public Long generateNewKey()
+  {
+    return this.nextKey.getAndIncrement();
+  }
+
+  /**
+   * Generate a block of contiguous keys, reserved by a single atomic operation.
+   *
+   * @param count The number of keys to generate.
+   * @return The block of new keys.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  @Override
+  public LongKeyBlock generateNewKeys(int count)
+  {
+    if (count < 0)
+    {
+      throw new IllegalArgumentException("Negative key count: " + count);
+    }
+    return new LongKeyBlock(this.nextKey.getAndAdd(count), count);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("SequenceKeyGenerator{");
+    sb.append("nextKey=").append(this.nextKey);
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe {@link KeyGenerator} of <code>Long</code> keys ordered by time, without any coordination between the
+ * generators of distinct nodes (the "Snowflake" layout). A key is made of:
+ * <ul>
+ * <li>41 bits: the milliseconds since {@link #DEFAULT_EPOCH}, or since the epoch given to the constructor;</li>
+ * <li>10 bits: the node identifier, distinct for each generator that writes into the same keys space;</li>
+ * <li>12 bits: the sequence number into the millisecond.</li>
+ * </ul>
+ * The keys of a generator are strictly increasing, and the keys of several nodes are sorted by time, roughly. The keys
+ * are taken without any lock. When the clock goes back, or when more than 4096 keys are generated into a millisecond,
+ * the generator borrows the following milliseconds until the clock catches up, so the keys stay unique.
+ *
+ * @author Tioben Neenot
+ */
+public class SnowflakeKeyGenerator extends KeyGenerator<Long>
+{
+
+  /**
+   * Default epoch of the keys: 2017-01-01T00:00:00Z.
+   */
+  public static final long DEFAULT_EPOCH = 1483228800000L;
+
+  /**
+   * Maximal node identifier.
+   */
+  public static final int MAXIMUM_NODE = (1 << 10) - 1;
+
+  /**
+   * Number of bits of the sequence.
+   */
+  private static final int SEQUENCE_BITS = 12;
+
+  /**
+   * Number of bits of the node identifier.
+   */
+  private static final int NODE_BITS = 10;
+
+  /**
+   * The source of the time stamps
+   */
+  private final TimeSequence stamps;
+
+  /**
+   * The node identifier, shifted to its place into the keys
+   */
+  private final long node;
+
+  /**
+   * Build a generator for the node, with the system clock and the default epoch.
+   *
+   * @param nodeId The node identifier, from <code>0</code> to {@link #MAXIMUM_NODE}.
+   * @throws IllegalArgumentException If the node identifier is out of range.
+   */
+  public SnowflakeKeyGenerator(int nodeId)
+  {
+    this(nodeId, DEFAULT_EPOCH, System::currentTimeMillis);
+  }
+
+  /**
+   * Build a generator for the node.
+   *
+   * @param nodeId The node identifier, from <code>0</code> to {@link #MAXIMUM_NODE}.
+   * @param epoch  The time of the key <code>0</code>, in milliseconds.
+   * @param clock  The clock, in milliseconds.
+   * @throws IllegalArgumentException If the node identifier is out of range.
+   */
+  public SnowflakeKeyGenerator(int nodeId, long epoch, LongSupplier clock)
+  {
+    super();
+
+    if (nodeId < 0 || nodeId > MAXIMUM_NODE)
+    {
+      throw new IllegalArgumentException("Invalid node identifier: " + nodeId);
+    }
+
+    this.node = (long) nodeId << SEQUENCE_BITS;
+    this.stamps = new TimeSequence(() -> clock.getAsLong() - epoch, SEQUENCE_BITS);
+  }
+
+  /**
+   * Gets the time of a key, since the epoch of its generator.
+   *
+   * @param key The key.
+   * @return The time of the key, in milliseconds since the epoch.
+   */
+  public static long timeOf(long key)
+  {
+    return key >>> (NODE_BITS + SEQUENCE_BITS);
+  }
+
+  /**
+   * Gets the node identifier of a key.
+   *
+   * @param key The key.
+   * @return The node identifier.
+   */
+  public static int nodeOf(long key)
+  {
+    return (int) (key >>> SEQUENCE_BITS) & MAXIMUM_NODE;
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyGenerator#generateNewKey()
+   */
+  @Override
+  public Long generateNewKey()
+  {
+    return toKey(this.stamps.reserve(1));
+  }
+
+  /**
+   * Generate a block of keys, reserved by a single atomic operation. The keys of the block are increasing, but they
+   * are not contiguous when the block goes over several milliseconds.
+   *
+   * @param count The number of keys to generate.
+   * @return The block of new keys.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  @Override
+  public KeyBlock<Long> generateNewKeys(int count)
+  {
+    if (count < 0)
+    {
+      throw new IllegalArgumentException("Negative key count: " + count);
+    }
+
+    long _first = count == 0 ? 0 : this.stamps.reserve(count);
+    return new KeyBlock<Long>()
+    {
+      @Override
+      public int size()
+      {
+        return count;
+      }
+
+      @Override
+      public Long get(int index)
+      {
+        if (index < 0 || index >= count)
+        {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return toKey(_first + index);
+      }
+    };
+  }
+
+  /**
+   * Builds the key of a stamp.
+   *
+   * @param stamp The stamp.
+   * @return The key.
+   */
+  private long toKey(long stamp)
+  {
+    return (stamp >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | this.node | stamp & ((1 << SEQUENCE_BITS) - 1);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("SnowflakeKeyGenerator{");
+    sb.append("node=").append(this.node >>> SEQUENCE_BITS);
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free source of increasing stamps made of a time in milliseconds and a sequence number into this millisecond,
+ * used by the time-ordered key generators. Each stamp is the greater of the current time with a sequence
+ * <code>0</code>, and the last stamp plus one. So the stamps keep increasing when the clock goes back, and when the
+ * sequence of a millisecond is exhausted, the next stamps borrow the following milliseconds until the clock catches up.
+ *
+ * @author Tioben Neenot
+ */
+final class TimeSequence
+{
+
+  /**
+   * The clock, in milliseconds
+   */
+  private final LongSupplier clock;
+
+  /**
+   * The number of bits of the sequence
+   */
+  private final int sequenceBits;
+
+  /**
+   * The last given stamp
+   */
+  private final AtomicLong lastStamp = new AtomicLong(Long.MIN_VALUE);
+
+  /**
+   * Build a source of stamps.
+   *
+   * @param clock        The clock, in milliseconds.
+   * @param sequenceBits The number of bits of the sequence.
+   */
+  TimeSequence(LongSupplier clock, int sequenceBits)
+  {
+    super();
+
+    this.clock = clock;
+    this.sequenceBits = sequenceBits;
+  }
+
+  /**
+   * Reserves consecutive stamps.
+   *
+   * @param count The number of stamps to reserve, at least <code>1</code>.
+   * @return The first reserved stamp: the time is <code>stamp &gt;&gt;&gt; sequenceBits</code>, and the sequence the
+   * low <code>sequenceBits</code> bits.
+   */
+  long reserve(int count)
+  {
+    long _now = this.clock.getAsLong() << this.sequenceBits;
+    while (true)
+    {
+      long _last = this.lastStamp.get();
+      long _first = Math.max(_now, _last + 1);
+      if (this.lastStamp.compareAndSet(_last, _first + count - 1))
+      {
+        return _first;
+      }
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ *  This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe {@link KeyGenerator} of <code>UUID</code> keys ordered by time, in the version 7 layout of the UUIDs,
+ * without any coordination between the generators of distinct nodes. A key is made of:
+ * <ul>
+ * <li>48 bits: the Unix time in milliseconds;</li>
+ * <li>4 bits: the version <code>7</code>;</li>
+ * <li>12 bits: the sequence number into the millisecond;</li>
+ * <li>2 bits: the variant of the UUIDs;</li>
+ * <li>62 bits: the node identifier, random by default.</li>
+ * </ul>
+ * The keys of a generator are strictly increasing, and the keys of several nodes are sorted by time, roughly. The keys
+ * are taken without any lock. When the clock goes back, or when more than 4096 keys are generated into a millisecond,
+ * the generator borrows the following milliseconds until the clock catches up, so the keys stay unique.
+ *
+ * @author Tioben Neenot
+ */
+public class UuidKeyGenerator extends KeyGenerator<UUID>
+{
+
+  /**
+   * Number of bits of the sequence.
+   */
+  private static final int SEQUENCE_BITS = 12;
+
+  /**
+   * Mask of the node identifier.
+   */
+  private static final long NODE_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  /**
+   * The source of the time stamps
+   */
+  private final TimeSequence stamps;
+
+  /**
+   * The least significant bits of the keys: the variant and the node identifier
+   */
+  private final long leastSignificantBits;
+
+  /**
+   * Build a generator with a random node identifier and the system clock.
+   */
+  public UuidKeyGenerator()
+  {
+    this(new SecureRandom().nextLong(), System::currentTimeMillis);
+  }
+
+  /**
+   * Build a generator for the node.
+   *
+   * @param nodeId The node identifier, only its 62 lowest bits are used.
+   * @param clock  The clock, in milliseconds since the Unix epoch.
+   */
+  public UuidKeyGenerator(long nodeId, LongSupplier clock)
+  {
+    super();
+
+    this.leastSignificantBits = Long.MIN_VALUE | nodeId & NODE_MASK;
+    this.stamps = new TimeSequence(clock, SEQUENCE_BITS);
+  }
+
+  /**
+   * Gets the Unix time of a key.
+   *
+   * @param key The key.
+   * @return The time of the key, in milliseconds since the Unix epoch.
+   */
+  public static long timeOf(UUID key)
+  {
+    return key.getMostSignificantBits() >>> 16;
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.concept.KeyGenerator#generateNewKey()
+   */
+  @Override
+  public UUID generateNewKey()
+  {
+    return toKey(this.stamps.reserve(1));
+  }
+
+  /**
+   * Generate a block of keys, reserved by a single atomic operation. The keys of the block are increasing.
+   *
+   * @param count The number of keys to generate.
+   * @return The block of new keys.
+   * @throws IllegalArgumentException If the number of keys is negative.
+   */
+  @Override
+  public KeyBlock<UUID> generateNewKeys(int count)
+  {
+    if (count < 0)
+    {
+      throw new IllegalArgumentException("Negative key count: " + count);
+    }
+
+    long _first = count == 0 ? 0 : this.stamps.reserve(count);
+    return new KeyBlock<UUID>()
+    {
+      @Override
+      public int size()
+      {
+        return count;
+      }
+
+      @Override
+      public UUID get(int index)
+      {
+        if (index < 0 || index >= count)
+        {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return toKey(_first + index);
+      }
+    };
+  }
+
+  /**
+   * Builds the key of a stamp.
+   *
+   * @param stamp The stamp.
+   * @return The key.
+   */
+  private UUID toKey(long stamp)
+  {
+    long _time = stamp >>> SEQUENCE_BITS;
+    long _sequence = stamp & ((1 << SEQUENCE_BITS) - 1);
+    return new UUID(_time << 16 | 0x7000L | _sequence, this.leastSignificantBits);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("UuidKeyGenerator{");
+    sb.append("node=").append(Long.toHexString(this.leastSignificantBits & NODE_MASK));
+    sb.append('}');
+    return sb.toString();
+  }
+}
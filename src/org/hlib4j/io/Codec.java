@@ -0,0 +1,42 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Defines how a value is converted into bytes, and read back from these bytes. The binary files that sort their values
+ * compare the encoded bytes as unsigned bytes: a codec that keeps the natural order of the values into its bytes gives
+ * files sorted by this natural order.
+ *
+ * @param <T> The type of the encoded values.
+ * @author Tioben Neenot
+ * @see Codecs
+ */
+public interface Codec<T>
+{
+
+  /**
+   * Converts the value into bytes.
+   *
+   * @param value The value to convert, not <code>null</code>.
+   * @return The bytes of the value.
+   */
+  byte[] encode(T value);
+
+  /**
+   * Reads a value from the bytes of the buffer, from its current position. The position of the buffer is moved after
+   * the read bytes.
+   *
+   * @param source The buffer to read.
+   * @param length The number of bytes of the value.
+   * @return The read value.
+   */
+  T decode(ByteBuffer source, int length);
+}
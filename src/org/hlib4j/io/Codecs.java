@@ -0,0 +1,88 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class defines the {@link Codec} of the most common types. The codecs of the numbers keep the natural order of
+ * the values into their bytes.
+ *
+ * @author Tioben Neenot
+ */
+public final class Codecs
+{
+
+  /**
+   * Codec of the strings, as UTF-8 bytes.
+   */
+  public static final Codec<String> STRING = new Codec<String>()
+  {
+    @Override
+    public byte[] encode(String value)
+    {
+      return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(ByteBuffer source, int length)
+    {
+      byte[] _bytes = new byte[length];
+      source.get(_bytes);
+      return new String(_bytes, StandardCharsets.UTF_8);
+    }
+  };
+
+  /**
+   * Codec of the longs, as 8 big-endian bytes with the sign bit inverted, so the negative values are before the
+   * positive ones.
+   */
+  public static final Codec<Long> LONG = new Codec<Long>()
+  {
+    @Override
+    public byte[] encode(Long value)
+    {
+      return ByteBuffer.allocate(Long.BYTES).putLong(value ^ Long.MIN_VALUE).array();
+    }
+
+    @Override
+    public Long decode(ByteBuffer source, int length)
+    {
+      return source.getLong() ^ Long.MIN_VALUE;
+    }
+  };
+
+  /**
+   * Codec of the integers, as 4 big-endian bytes with the sign bit inverted, so the negative values are before the
+   * positive ones.
+   */
+  public static final Codec<Integer> INTEGER = new Codec<Integer>()
+  {
+    @Override
+    public byte[] encode(Integer value)
+    {
+      return ByteBuffer.allocate(Integer.BYTES).putInt(value ^ Integer.MIN_VALUE).array();
+    }
+
+    @Override
+    public Integer decode(ByteBuffer source, int length)
+    {
+      return source.getInt() ^ Integer.MIN_VALUE;
+    }
+  };
+
+  /**
+   * Avoid the instantiation of this class
+   */
+  private Codecs()
+  {
+    // Do nothing
+  }
+}
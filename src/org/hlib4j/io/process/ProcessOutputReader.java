@@ -8,6 +8,7 @@
 
 package org.hlib4j.io.process;
 
+import org.hlib4j.math.AtomicCounter;
 import org.hlib4j.math.Counter;
 import org.hlib4j.math.RangeException;
 
@@ -90,10 +91,10 @@ public class ProcessOutputReader extends Thread
     {
       if (stopOnFirstOccurrence)
       {
-        occurrenceCounter = new Counter(0, 1, 0);
+        occurrenceCounter = new AtomicCounter(0, 1, 0);
       } else
       {
-        occurrenceCounter = new Counter(0, Integer.MAX_VALUE, 0);
+        occurrenceCounter = new AtomicCounter(0, Integer.MAX_VALUE, 0);
       }
     } catch (RangeException e)
     {
@@ -0,0 +1,232 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.math;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Version of the {@link Counter} that's updated without any lock. The current value and the validity of the counter
+ * are stored together into a <code>long</code> field, updated by a compare-and-set loop: the value is never boxed, and
+ * the limits are controlled by comparisons of <code>long</code> values, so an increment can't overflow. The limits
+ * management is the same as the one of the {@link Counter}, according to its {@link DefinitionDomain.LimitType}, so
+ * this counter can be used in place of a <code>Counter</code>.
+ *
+ * @author Tioben Neenot
+ */
+public class AtomicCounter extends Counter
+{
+
+  /**
+   * Bit of the validity into the state.
+   */
+  private static final long VALID = 1L << 32;
+
+  /**
+   * Mask of the value into the state.
+   */
+  private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+  /**
+   * Updater of the state.
+   */
+  private static final AtomicLongFieldUpdater<AtomicCounter> STATE_UPDATER = AtomicLongFieldUpdater.newUpdater(
+    AtomicCounter.class, "state");
+
+  /**
+   * The current value into the 32 lowest bits, and the validity into the bit 32. This field is set by the constructor
+   * of the <code>Range</code>, so it has no initializer.
+   */
+  private volatile long state;
+
+  /**
+   * The default value, restored by {@link #rearm()}
+   */
+  private final int defaultValue;
+
+  /**
+   * Builds an instance of the AtomicCounter by defining the counter limits and its specific default value.
+   *
+   * @param lowLimit     Low limit for this counter.
+   * @param highLimit    High limit for this counter.
+   * @param defaultValue Default value for this counter.
+   * @throws RangeException If counter is not valid due to its parameters.
+   */
+  public AtomicCounter(Integer lowLimit, Integer highLimit, Integer defaultValue) throws RangeException
+  {
+    this(LimitType.CLOSE_OPEN, lowLimit, highLimit, defaultValue);
+  }
+
+  /**
+   * Builds an instance of the AtomicCounter by defining specific limit and specific value.
+   *
+   * @param limitType    Limit type for this counter
+   * @param lowLimit     Low limit for this counter.
+   * @param highLimit    High limit for this counter.
+   * @param defaultValue Default value for this counter.
+   * @throws RangeException If counter is not valid due to its parameters.
+   */
+  public AtomicCounter(LimitType limitType, Integer lowLimit, Integer highLimit, Integer defaultValue) throws
+    RangeException
+  {
+    super(limitType, lowLimit, highLimit, defaultValue);
+    this.defaultValue = defaultValue;
+  }
+
+  /**
+   * Builds an instance of the AtomicCounter by defining the counter limits.
+   *
+   * @param lowLimit  Low limit for this counter.
+   * @param highLimit High limit for this Counter.
+   * @throws RangeException If counter parameters are not valid
+   */
+  public AtomicCounter(Integer lowLimit, Integer highLimit) throws RangeException
+  {
+    this(lowLimit, highLimit, lowLimit);
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#increment()
+   */
+  @Override
+  public int increment()
+  {
+    return update(getCounterStep());
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#incrementByStep(int)
+   */
+  @Override
+  public int incrementByStep(int step)
+  {
+    return update(step);
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#decrement()
+   */
+  @Override
+  public int decrement()
+  {
+    return update(-(long) getCounterStep());
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#decrementByStep(int)
+   */
+  @Override
+  public int decrementByStep(int step)
+  {
+    return update(-(long) step);
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#isValid()
+   */
+  @Override
+  public boolean isValid()
+  {
+    return (this.state & VALID) != 0;
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Range#getCurrentValue()
+   */
+  @Override
+  public Integer getCurrentValue()
+  {
+    return (int) this.state;
+  }
+
+  /**
+   * Sets the current value. If the value is out of the limits, the current value is not updated and the counter
+   * becomes not valid.
+   *
+   * @param currentValue The new current value.
+   * @throws RangeException If the value is out of the limits.
+   */
+  @Override
+  public void setCurrentValue(Integer currentValue) throws RangeException
+  {
+    if (!isIncluded(currentValue, lowestValue(), highestValue()))
+    {
+      STATE_UPDATER.getAndUpdate(this, s -> s & ~VALID);
+      throw new RangeException("Current value is out of bounds: " + currentValue + " for: " + this);
+    }
+
+    this.state = VALID | currentValue & VALUE_MASK;
+  }
+
+  /* (non-Javadoc)
+   * @see org.hlib4j.math.Counter#rearm()
+   */
+  @Override
+  public boolean rearm()
+  {
+    try
+    {
+      setCurrentValue(this.defaultValue);
+    } catch (RangeException e)
+    {
+      // No other action
+    }
+
+    return isValid();
+  }
+
+  /**
+   * Moves the current value by the step, if the new value is into the limits. Otherwise, the current value is not
+   * updated and the counter becomes not valid.
+   *
+   * @param step The step, positive or negative.
+   * @return The current value after the update.
+   */
+  private int update(long step)
+  {
+    long _lowest = lowestValue();
+    long _highest = highestValue();
+    while (true)
+    {
+      long _state = this.state;
+      long _value = (int) _state + step;
+      long _new_state = isIncluded(_value, _lowest, _highest) ? VALID | _value & VALUE_MASK : _state & ~VALID;
+      if (_new_state == _state || STATE_UPDATER.compareAndSet(this, _state, _new_state))
+      {
+        return (int) _new_state;
+      }
+    }
+  }
+
+  /**
+   * Gets the lowest value included into the limits.
+   *
+   * @return The lowest included value.
+   */
+  private long lowestValue()
+  {
+    long _lower_limit = getLowerLimitValue();
+    return LimitType.BOTH_CLOSE.getLeft().equals(getLimitType().getLeft()) ? _lower_limit : _lower_limit + 1;
+  }
+
+  /**
+   * Gets the highest value included into the limits.
+   *
+   * @return The highest included value.
+   */
+  private long highestValue()
+  {
+    long _upper_limit = getUpperLimitValue();
+    return LimitType.BOTH_CLOSE.getRight().equals(getLimitType().getRight()) ? _upper_limit : _upper_limit - 1;
+  }
+
+  private static boolean isIncluded(long value, long lowest, long highest)
+  {
+    return value >= lowest && value <= highest;
+  }
+}
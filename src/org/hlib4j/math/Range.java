@@ -163,7 +163,7 @@ public class Range<T> extends DefinitionDomain<T>
 
     if (!lowerLimitValue.equals(range.lowerLimitValue)) return false;
     if (!upperLimitValue.equals(range.upperLimitValue)) return false;
-    if (!currentValue.equals(range.currentValue)) return false;
+    if (!getCurrentValue().equals(range.getCurrentValue())) return false;
     return limitType == range.limitType;
 
   }
@@ -173,7 +173,7 @@ public class Range<T> extends DefinitionDomain<T>
   {
     int result = lowerLimitValue.hashCode();
     result = 31 * result + upperLimitValue.hashCode();
-    result = 31 * result + currentValue.hashCode();
+    result = 31 * result + getCurrentValue().hashCode();
     result = 31 * result + limitType.hashCode();
     return result;
   }
@@ -183,7 +183,7 @@ public class Range<T> extends DefinitionDomain<T>
   {
     StringBuffer _buffer = new StringBuffer();
     _buffer.append(this.limitType.getLeft()).append(this.lowerLimitValue).append(";").append(this.upperLimitValue).append(this.limitType
-      .getRight()).append("=").append(this.currentValue);
+      .getRight()).append("=").append(getCurrentValue());
     return _buffer.toString();
   }
 
@@ -9,6 +9,7 @@
 package org.hlib4j.util;
 
 
+import org.hlib4j.math.AtomicCounter;
 import org.hlib4j.math.Counter;
 import org.hlib4j.math.DefinitionDomain;
 import org.hlib4j.math.RangeException;
@@ -48,7 +49,7 @@ public class RelativeProgressStep implements ProgressStep
    */
   public RelativeProgressStep(int maxSteps) throws RangeException
   {
-    this.counter = new Counter(DefinitionDomain.LimitType.BOTH_CLOSE, 1, maxSteps, 1);
+    this.counter = new AtomicCounter(DefinitionDomain.LimitType.BOTH_CLOSE, 1, maxSteps, 1);
     this.successor = null;
   }
 
@@ -70,7 +71,7 @@ public class RelativeProgressStep implements ProgressStep
    */
   public void setMaxStep(int maxSteps) throws RangeException
   {
-    this.counter = new Counter(DefinitionDomain.LimitType.BOTH_CLOSE, 1, maxSteps, 1);
+    this.counter = new AtomicCounter(DefinitionDomain.LimitType.BOTH_CLOSE, 1, maxSteps, 1);
   }
 
   @Override
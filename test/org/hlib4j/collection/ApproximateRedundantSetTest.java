@@ -0,0 +1,128 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link ApproximateRedundantSet} class.
+ */
+public class ApproximateRedundantSetTest
+{
+
+  private ApproximateRedundantSet<Integer> redundantSetTesting;
+
+  @Before
+  public void setUp()
+  {
+    this.redundantSetTesting = new ApproximateRedundantSet<>(0.001, 0.99, 8);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_InvalidEpsilon_IllegalArgumentException()
+  {
+    new ApproximateRedundantSet<Integer>(0, 0.99, 8);
+  }
+
+  @Test
+  public void test_countElementFor_FewValues_ExactCounts()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 1, 2, null, null));
+
+    // SUT & Assert
+    Assert.assertEquals(3, this.redundantSetTesting.countElementFor(1));
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor(2));
+    Assert.assertEquals(2, this.redundantSetTesting.countElementFor(null));
+    Assert.assertEquals(0, this.redundantSetTesting.countElementFor(3));
+    Assert.assertEquals(6, this.redundantSetTesting.size());
+    Assert.assertEquals(3, this.redundantSetTesting.distinctCount());
+  }
+
+  @Test
+  public void test_countElementFor_LargeStream_CountsWithinErrorBound()
+  {
+    // Setup: value 0 is a heavy hitter among 100000 distinct values
+    for (int i = 0; i < 200000; ++i)
+    {
+      this.redundantSetTesting.add(i % 100000);
+      if (i % 10 == 0)
+      {
+        this.redundantSetTesting.add(0);
+      }
+    }
+    long _bound = (long) (0.001 * this.redundantSetTesting.size());
+
+    // SUT & Assert
+    for (int _value = 1; _value < 100000; _value += 997)
+    {
+      long _count = this.redundantSetTesting.countElementFor(_value);
+      Assert.assertTrue(_count >= 2);
+      Assert.assertTrue(_count <= 2 + _bound);
+    }
+    Assert.assertTrue(this.redundantSetTesting.countElementFor(0) >= 20002);
+    Assert.assertEquals(Integer.valueOf(0), this.redundantSetTesting.getHeavyHitters().keySet().iterator().next());
+    Assert.assertEquals(100000, this.redundantSetTesting.distinctCount(), 100000 * 0.03);
+  }
+
+  @Test
+  public void test_merge_TwoPartitions_SameCountsAsSingleSet()
+  {
+    // Setup
+    ApproximateRedundantSet<Integer> _other = new ApproximateRedundantSet<>(0.001, 0.99, 8);
+    for (int i = 0; i < 1000; ++i)
+    {
+      this.redundantSetTesting.add(i % 10);
+      _other.add(i % 20);
+    }
+
+    // SUT
+    this.redundantSetTesting.merge(_other);
+
+    // Assert
+    Assert.assertEquals(2000, this.redundantSetTesting.size());
+    Assert.assertEquals(150, this.redundantSetTesting.countElementFor(5));
+    Assert.assertEquals(50, this.redundantSetTesting.countElementFor(15));
+    Assert.assertEquals(20, this.redundantSetTesting.distinctCount());
+
+    Map<Integer, Long> _heavy_hitters = this.redundantSetTesting.getHeavyHitters();
+    Assert.assertEquals(8, _heavy_hitters.size());
+    for (Iterator<Integer> _it = _heavy_hitters.keySet().iterator(); _it.hasNext(); )
+    {
+      Assert.assertTrue(_it.next() < 10);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_merge_DifferentErrorBounds_IllegalArgumentException()
+  {
+    this.redundantSetTesting.merge(new ApproximateRedundantSet<>());
+  }
+
+  @Test
+  public void test_clear_Values_Emptied()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT
+    this.redundantSetTesting.clear();
+
+    // Assert
+    Assert.assertTrue(this.redundantSetTesting.isEmpty());
+    Assert.assertEquals(0, this.redundantSetTesting.countElementFor(1));
+    Assert.assertEquals(0, this.redundantSetTesting.distinctCount());
+  }
+}
@@ -8,13 +8,19 @@
 
 package org.hlib4j.collection;
 
+import org.hlib4j.concept.KeyBlock;
 import org.hlib4j.concept.KeyGenerator;
+import org.hlib4j.concept.LongKeyBlock;
+import org.hlib4j.concept.SequenceKeyGenerator;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Unit tests for {@link AutoMap} class.
@@ -79,6 +85,80 @@ public class AutoMapTest
     Assert.assertNotNull(this.autoMap.toString());
   }
 
+  @Test
+  public void test_makeConcurrentAutoMap_PutFromSeveralThreads_AllValuesRecorded() throws Exception
+  {
+    // Setup
+    AutoMap<Long, String> _map = Collections.makeConcurrentAutoMap();
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t)
+    {
+      _threads.add(new Thread(() ->
+      {
+        for (int i = 0; i < 5000; ++i)
+        {
+          _map.put("foo");
+        }
+      }));
+    }
+
+    // SUT
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    // Assert
+    Assert.assertEquals(40000, _map.getAssociatedMap().size());
+  }
+
+  @Test
+  public void test_putAll_CollectionWithDefaultGenerator_KeysInValuesOrder() throws Exception
+  {
+    // SUT
+    KeyBlock<Integer> _keys = this.autoMap.putAll(Arrays.asList("a", "b", "c"));
+
+    // Assert
+    Assert.assertEquals(3, _keys.size());
+    Assert.assertEquals("a", this.autoMap.getAssociatedMap().get(_keys.get(0)));
+    Assert.assertEquals("c", this.autoMap.getAssociatedMap().get(_keys.get(2)));
+    Assert.assertEquals(Integer.valueOf(2), _keys.get(2));
+  }
+
+  @Test
+  public void test_putAll_ArrayWithSequenceGenerator_ContiguousKeyRange() throws Exception
+  {
+    // Setup
+    AutoMap<Long, String> _map = new AutoMap<>(new SequenceKeyGenerator(), new HashMap<>());
+    _map.put("first");
+    String[] _values = new String[100000];
+    Arrays.fill(_values, "foo");
+
+    // SUT
+    LongKeyBlock _keys = (LongKeyBlock) _map.putAll(_values);
+
+    // Assert
+    Assert.assertEquals(1L, _keys.getFirstKey());
+    Assert.assertEquals(100001L, _keys.getEndKey());
+    Assert.assertEquals(100001, _map.getAssociatedMap().size());
+    Assert.assertEquals("foo", _map.getAssociatedMap().get(100000L));
+  }
+
+  @Test
+  public void test_putAll_EmptyCollection_NothingRecorded() throws Exception
+  {
+    // SUT
+    KeyBlock<Integer> _keys = this.autoMap.putAll(new ArrayList<>());
+
+    // Assert
+    Assert.assertTrue(_keys.isEmpty());
+    Assert.assertTrue(this.autoMap.getAssociatedMap().isEmpty());
+  }
+
   @After
   public void tearDown() throws Exception
   {
@@ -14,6 +14,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 
 import static org.junit.Assert.assertEquals;
@@ -1059,6 +1062,593 @@ public class CollectionsTest
     _list2.removeRange(0, 3);
     Assert.assertEquals(2, _list.size());
   }
+
+  /**
+   * Adds invalid values into the source collection of a tracked collection and controls these values are removed
+   * while the tracked collection is iterated.
+   */
+  @Test
+  public void test_TrackedCollection_Iterator_ModifiedBehind_InvalidValuesRemoved()
+  {
+    Collection<Integer> _values = new ArrayList<>(Arrays.asList(2, 4));
+    Collection<Integer> _cols = Collections.makeTrackedFilteredCollection(_values, (p) -> p % 2 == 0);
+
+    _values.add(3);
+    _values.add(6);
+
+    for (Integer _col : _cols)
+    {
+      Assert.assertEquals(0, _col % 2);
+    }
+    Assert.assertEquals(3, _values.size());
+  }
+
+  /**
+   * Controls the clean of a tracked collection doesn't revalidate any element while the source collection was not
+   * modified behind it: the elements inserted through it were validated once, when they were added.
+   */
+  @Test
+  public void test_TrackedCollection_Clean_NotModifiedBehind_NoValueRevalidated()
+  {
+    Collection<String> _values = new ArrayList<>();
+    List<String> _tested = new ArrayList<>();
+    Collection<String> _cols = Collections.makeTrackedFilteredCollection(_values, (p) ->
+    {
+      _tested.add(p);
+      return p.length() > 0;
+    });
+
+    _cols.add("a");
+    Collections.clean(_cols);
+    _cols.add("b");
+    _cols.add("");
+    _tested.clear();
+
+    Assert.assertEquals(0, Collections.clean(_cols));
+    Assert.assertTrue(_tested.isEmpty());
+    Assert.assertEquals(Arrays.asList("a", "b"), _values);
+  }
+
+  /**
+   * Controls a tracked collection, cleaned yet, catches an invalid value added behind it into the source collection.
+   */
+  @Test
+  public void test_TrackedCollection_ToArray_ModifiedBehindAfterClean_InvalidValueRemoved()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(2, 4));
+    Collection<Integer> _cols = Collections.makeTrackedFilteredCollection(_values, (p) -> p % 2 == 0);
+    _cols.add(6);
+    Collections.clean(_cols);
+
+    _values.add(1, 5);
+
+    Assert.assertArrayEquals(new Object[]{2, 4, 6}, _cols.toArray());
+    Assert.assertEquals(Arrays.asList(2, 4, 6), _values);
+  }
+
+  /**
+   * Controls a tracked collection removes invalid values added into the source collection, even if some values were
+   * removed through its iterator.
+   */
+  @Test
+  public void test_TrackedCollection_Clean_AfterIteratorRemove_InvalidValuesRemoved()
+  {
+    Collection<Integer> _values = new ArrayList<>(Arrays.asList(2, 4, 6));
+    Collection<Integer> _cols = Collections.makeTrackedFilteredCollection(_values, (p) -> p % 2 == 0);
+
+    Iterator<Integer> _it = _cols.iterator();
+    _it.next();
+    _it.remove();
+    _values.add(5);
+
+    Assert.assertEquals(1, Collections.clean(_cols));
+    Assert.assertEquals(2, _cols.size());
+  }
+
+  /**
+   * Adds invalid values into the source array list of a filtered list, and controls the cleaning removes exactly these
+   * values by keeping the order of valid values.
+   */
+  @Test
+  public void test_Clean_ArrayList_InvalidValuesRemovedInOrder()
+  {
+    List<Integer> _values = new ArrayList<>();
+    List<Integer> _list = Collections.makeFilteredList(_values, (p) -> p % 2 == 0);
+    _values.addAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+
+    Assert.assertEquals(4, Collections.clean(_list));
+    Assert.assertEquals(Arrays.asList(2, 4, 6), _values);
+  }
+
+  /**
+   * Adds invalid values into the source linked list of a filtered list, and controls the cleaning removes exactly these
+   * values.
+   */
+  @Test
+  public void test_Clean_LinkedList_InvalidValuesRemoved()
+  {
+    List<Integer> _values = new LinkedList<>();
+    List<Integer> _list = Collections.makeFilteredList(_values, (p) -> p % 2 == 0);
+    _values.addAll(Arrays.asList(1, 2, 1, 4));
+
+    Assert.assertEquals(2, Collections.clean(_list));
+    Assert.assertEquals(Arrays.asList(2, 4), _values);
+  }
+
+  /**
+   * Adds several invalid values into the source map of a filtered map, and controls the cleaning returns the number of
+   * removed entries.
+   */
+  @Test
+  public void test_Clean_Map_SeveralInvalidValues_ExactCount()
+  {
+    Map<String, Integer> _map = new HashMap<>();
+    Map<String, Integer> _sub_map = Collections.makeFilteredMap(_map, this.ruleRef);
+    _map.put("one", null);
+    _map.put("two", 2);
+    _map.put("three", null);
+
+    Assert.assertEquals(2, Collections.clean(_sub_map));
+    Assert.assertEquals(1, _map.size());
+  }
+
+  /**
+   * Builds a filtered view on a source collection and controls the source collection is never modified.
+   */
+  @Test
+  public void test_FilteredView_InvalidValues_SourceNotModified()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+    Collection<Integer> _view = Collections.makeFilteredView(_values, (p) -> p % 2 == 0);
+
+    Assert.assertEquals(Arrays.asList(2, 4), new ArrayList<>(_view));
+    Assert.assertEquals(4, _values.size());
+  }
+
+  /**
+   * Controls the size of a filtered view follows the modifications of its source collection.
+   */
+  @Test
+  public void test_FilteredView_Size_SourceModified_SizeUpdated()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+    Collection<Integer> _view = Collections.makeFilteredView(_values, (p) -> p % 2 == 0);
+
+    Assert.assertEquals(2, _view.size());
+    _values.add(6);
+    _values.add(7);
+    Assert.assertEquals(3, _view.size());
+    Assert.assertFalse(_view.contains(7));
+    Assert.assertTrue(_view.contains(6));
+  }
+
+  /**
+   * Modifies the source of a filtered view without changing its size, and controls the view follows the source.
+   */
+  @Test
+  public void test_FilteredView_Size_SourceSameSizeModified_SizeUpdated()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+    Collection<Integer> _view = Collections.makeFilteredView(_values, (p) -> p % 2 == 0);
+    Map<String, Integer> _map = new HashMap<>();
+    _map.put("one", 2);
+    Map<String, Integer> _map_view = Collections.makeFilteredView(_map, (p) -> p % 2 == 0);
+
+    Assert.assertEquals(2, _view.size());
+    Assert.assertEquals(1, _map_view.size());
+    _values.set(0, 6);
+    Assert.assertEquals(3, _view.size());
+    _values.set(0, 1);
+    _values.set(1, 3);
+    _values.set(3, 5);
+    Assert.assertEquals(0, _view.size());
+    Assert.assertTrue(_view.isEmpty());
+    _map.put("one", 1);
+    Assert.assertEquals(0, _map_view.size());
+    Assert.assertTrue(_map_view.isEmpty());
+  }
+
+  /**
+   * Controls a filtered view doesn't accept any modification.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void test_FilteredView_Add_UnsupportedOperationException()
+  {
+    Collections.makeFilteredView(new ArrayList<Integer>(), this.ruleRef).add(2);
+  }
+
+  /**
+   * Controls a parallel stream on a filtered view gives only the accepted values.
+   */
+  @Test
+  public void test_FilteredView_ParallelStream_OnlyValidValues()
+  {
+    List<Integer> _values = new ArrayList<>();
+    for (int i = 0; i < 10000; ++i)
+    {
+      _values.add(i);
+    }
+    Collection<Integer> _view = Collections.makeFilteredView(_values, (p) -> p % 3 == 0);
+
+    Assert.assertEquals(3334, _view.parallelStream().count());
+    Assert.assertEquals(_view.stream().mapToLong(Integer::longValue).sum(),
+      _view.parallelStream().mapToLong(Integer::longValue).sum());
+  }
+
+  /**
+   * Builds a filtered view on a source map, and controls only valid entries are shown.
+   */
+  @Test
+  public void test_FilteredView_Map_OnlyValidEntries()
+  {
+    Map<String, Integer> _map = new HashMap<>();
+    _map.put("one", 1);
+    _map.put("two", 2);
+    Map<String, Integer> _view = Collections.makeFilteredView(_map, (p) -> p % 2 == 0);
+
+    Assert.assertEquals(1, _view.size());
+    Assert.assertNull(_view.get("one"));
+    Assert.assertEquals(Integer.valueOf(2), _view.get("two"));
+    Assert.assertFalse(_view.containsKey("one"));
+    Assert.assertEquals(2, _map.size());
+  }
+
+  /**
+   * Controls the spliterator of a filtered list is sized, and gives only valid values after the source list was
+   * modified.
+   */
+  @Test
+  public void test_List_Spliterator_SizedWithValidValues()
+  {
+    List<Integer> _values = new ArrayList<>();
+    List<Integer> _list = Collections.makeFilteredList(_values, this.ruleRef);
+    for (int i = 0; i < 1000; ++i)
+    {
+      _values.add(i);
+    }
+    _values.add(null);
+
+    Spliterator<Integer> _spliterator = _list.spliterator();
+
+    Assert.assertTrue(_spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    Assert.assertEquals(1000, _spliterator.getExactSizeIfKnown());
+    Assert.assertEquals(499500, _list.parallelStream().mapToInt(Integer::intValue).sum());
+  }
+
+  /**
+   * Shrinks the source list while its spliterator is traversed, and controls the traversal fails fast.
+   */
+  @Test(expected = ConcurrentModificationException.class)
+  public void test_List_Spliterator_SourceShrunk_ConcurrentModificationException()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+    List<Integer> _list = Collections.makeFilteredList(_values, this.ruleRef);
+
+    _list.spliterator().forEachRemaining(p -> _values.remove(p));
+  }
+
+  /**
+   * Controls the parallel stream of a filtered collection gives only valid values.
+   */
+  @Test
+  public void test_Collection_ParallelStream_OnlyValidValues()
+  {
+    Collection<Integer> _values = new HashSet<>();
+    Collection<Integer> _cols = Collections.makeFilteredCollection(_values, (p) -> p % 2 == 0);
+    for (int i = 0; i < 1000; ++i)
+    {
+      _values.add(i);
+    }
+
+    Assert.assertEquals(500, _cols.parallelStream().count());
+  }
+
+  /**
+   * Puts values into a concurrent filtered map from several threads, and controls only valid values are recorded.
+   *
+   * @throws InterruptedException If a thread is interrupted.
+   */
+  @Test
+  public void test_ConcurrentMap_PutFromSeveralThreads_OnlyValidValues() throws InterruptedException
+  {
+    ConcurrentMap<Integer, Integer> _map = Collections.makeConcurrentFilteredMap(new ConcurrentHashMap<>(),
+      (p) -> p % 2 == 0);
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 4; ++t)
+    {
+      final int _offset = t * 1000;
+      _threads.add(new Thread(() ->
+      {
+        for (int i = _offset; i < _offset + 1000; ++i)
+        {
+          _map.put(i, i);
+        }
+      }));
+    }
+
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    Assert.assertEquals(2000, _map.size());
+  }
+
+  /**
+   * Controls the atomic operations of a concurrent filtered map don't record invalid values.
+   */
+  @Test
+  public void test_ConcurrentMap_AtomicOperations_InvalidValuesRejected()
+  {
+    ConcurrentMap<String, Integer> _map = Collections.makeConcurrentFilteredMap(new ConcurrentHashMap<>(),
+      (p) -> p % 2 == 0);
+
+    _map.put("key", 2);
+    Assert.assertFalse(_map.replace("key", 2, 3));
+    Assert.assertEquals(Integer.valueOf(2), _map.merge("key", 1, Integer::sum));
+    Assert.assertEquals(Integer.valueOf(4), _map.compute("key", (k, v) -> v + 2));
+    Assert.assertNull(_map.computeIfAbsent("other", (k) -> 1));
+    Assert.assertFalse(_map.containsKey("other"));
+  }
+
+  /**
+   * Replaces all values of a concurrent filtered map with a function giving some invalid values, and controls the
+   * invalid values keep the current ones.
+   */
+  @Test(timeout = 5000)
+  public void test_ConcurrentMap_ReplaceAll_InvalidValuesKept()
+  {
+    ConcurrentMap<String, Integer> _map = Collections.makeConcurrentFilteredMap(new ConcurrentHashMap<>(),
+      (p) -> p % 2 == 0);
+    _map.put("two", 2);
+    _map.put("four", 4);
+
+    _map.replaceAll((k, v) -> k.equals("two") ? v + 1 : v * 2);
+
+    Assert.assertEquals(Integer.valueOf(2), _map.get("two"));
+    Assert.assertEquals(Integer.valueOf(8), _map.get("four"));
+    Assert.assertSame(_map.values(), _map.values());
+  }
+
+  /**
+   * Adds invalid values into the source of a concurrent filtered map, and controls the cleaning removes them.
+   */
+  @Test
+  public void test_ConcurrentMap_Clean_InvalidValuesRemoved()
+  {
+    ConcurrentMap<String, Integer> _source = new ConcurrentHashMap<>();
+    ConcurrentMap<String, Integer> _map = Collections.makeConcurrentFilteredMap(_source, (p) -> p % 2 == 0);
+    _source.put("one", 1);
+    _source.put("two", 2);
+    _source.put("three", 3);
+
+    Assert.assertEquals(2, Collections.clean(_map));
+    Assert.assertEquals(1, _map.size());
+  }
+
+  /**
+   * Adds values into a concurrent filtered collection, and controls invalid values are rejected and cleaned.
+   */
+  @Test
+  public void test_ConcurrentCollection_AddAndClean_OnlyValidValues()
+  {
+    Collection<Integer> _source = new ConcurrentLinkedQueue<>();
+    Collection<Integer> _cols = Collections.makeConcurrentFilteredCollection(_source, (p) -> p % 2 == 0);
+
+    Assert.assertTrue(_cols.add(2));
+    Assert.assertFalse(_cols.add(3));
+    _source.add(5);
+
+    Assert.assertEquals(1, Collections.clean(_cols));
+    Assert.assertEquals(1, _cols.size());
+  }
+
+  /**
+   * Puts a map with some invalid values into a filtered map, and controls only valid values are recorded.
+   */
+  @Test
+  public void test_Map_PutAll_WithInvalidValues_OnlyValidValues()
+  {
+    Map<String, Integer> _map = Collections.makeFilteredMap(4, (p) -> p % 2 == 0);
+    Map<String, Integer> _other = new HashMap<>();
+    _other.put("one", 1);
+    _other.put("two", 2);
+    _other.put("four", 4);
+
+    _map.putAll(_other);
+
+    Assert.assertEquals(2, _map.size());
+    Assert.assertFalse(_map.containsKey("one"));
+    Assert.assertEquals(Integer.valueOf(4), _map.get("four"));
+  }
+
+  /**
+   * Puts a map whose values are not iterated in the order of its entries into a filtered map, and controls only the
+   * valid entries are recorded.
+   */
+  @Test
+  public void test_Map_PutAll_ValuesInOtherOrder_OnlyValidEntries()
+  {
+    Map<String, Integer> _map = Collections.makeFilteredMap(4, (p) -> p % 2 == 0);
+    Map<String, Integer> _other = new LinkedHashMap<String, Integer>()
+    {
+      @Override
+      public Collection<Integer> values()
+      {
+        List<Integer> _values = new ArrayList<>(super.values());
+        java.util.Collections.reverse(_values);
+        return _values;
+      }
+    };
+    _other.put("one", 1);
+    _other.put("two", 2);
+    _other.put("three", 3);
+
+    _map.putAll(_other);
+
+    Assert.assertEquals(1, _map.size());
+    Assert.assertEquals(Integer.valueOf(2), _map.get("two"));
+  }
+
+  /**
+   * Puts a map with only valid values into a filtered map, and controls all values are recorded.
+   */
+  @Test
+  public void test_Map_PutAll_WithValidValues_AllValues()
+  {
+    Map<Integer, Integer> _map = Collections.makeFilteredMap(new HashMap<>(), this.ruleRef);
+    Map<Integer, Integer> _other = new HashMap<>();
+    for (int i = 0; i < 100; ++i)
+    {
+      _other.put(i, i);
+    }
+
+    _map.putAll(_other);
+
+    Assert.assertEquals(_other, _map);
+  }
+
+  /**
+   * Puts a map with only valid values into a filtered map, and controls all records are given to the source map in one
+   * operation.
+   */
+  @Test
+  public void test_Map_PutAll_WithValidValues_OneBulkOperation()
+  {
+    int[] _calls = new int[2];
+    Map<Integer, Integer> _source = new HashMap<Integer, Integer>()
+    {
+      @Override
+      public Integer put(Integer key, Integer value)
+      {
+        ++_calls[0];
+        return super.put(key, value);
+      }
+
+      @Override
+      public void putAll(Map<? extends Integer, ? extends Integer> m)
+      {
+        ++_calls[1];
+        super.putAll(m);
+      }
+    };
+    Map<Integer, Integer> _map = Collections.makeFilteredMap(_source, this.ruleRef);
+    Map<Integer, Integer> _other = new HashMap<>();
+    for (int i = 0; i < 100; ++i)
+    {
+      _other.put(i, i);
+    }
+
+    _map.putAll(_other);
+
+    Assert.assertEquals(0, _calls[0]);
+    Assert.assertEquals(1, _calls[1]);
+    Assert.assertEquals(_other, _source);
+  }
+
+  /**
+   * Sets an invalid value through an entry of a filtered map, and controls the value is rejected.
+   */
+  @Test
+  public void test_Map_EntrySetValue_InvalidValue_Rejected()
+  {
+    Map<String, Integer> _source = new HashMap<>();
+    Map<String, Integer> _map = Collections.makeFilteredMap(_source, this.ruleRef);
+    _map.put("one", 1);
+
+    Map.Entry<String, Integer> _entry = _map.entrySet().iterator().next();
+
+    Assert.assertNull(_entry.setValue(null));
+    Assert.assertEquals(Integer.valueOf(1), _source.get("one"));
+    Assert.assertEquals(Integer.valueOf(1), _entry.setValue(2));
+    Assert.assertEquals(Integer.valueOf(2), _source.get("one"));
+  }
+
+  /**
+   * Adds an invalid value into the source map of a filtered map, and controls the key set doesn't show it.
+   */
+  @Test
+  public void test_Map_KeySet_ModifiedBehind_InvalidKeysRemoved()
+  {
+    Map<String, Integer> _source = new HashMap<>();
+    Map<String, Integer> _map = Collections.makeFilteredMap(_source, this.ruleRef);
+    _map.put("one", 1);
+    _source.put("two", null);
+
+    for (String _key : _map.keySet())
+    {
+      Assert.assertEquals("one", _key);
+    }
+    Assert.assertEquals(1, _map.keySet().size());
+  }
+
+  /**
+   * Inserts a collection with some invalid values in the middle of a filtered list, and controls the valid values are
+   * inserted as a block at the right position, and the invalid values are reported.
+   */
+  @Test
+  public void test_AddAll_FromIndexWithInvalidValues_BlockInsertedAndRejectedReported()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(1, 2, 3));
+    List<Integer> _list = Collections.makeFilteredList(_values, this.ruleRef);
+    List<Integer> _rejected = new ArrayList<>();
+
+    Assert.assertFalse(Collections.addAll(_list, 1, Arrays.asList(10, null, 11, null), _rejected));
+    Assert.assertEquals(Arrays.asList(1, 10, 11, 2, 3), _values);
+    Assert.assertEquals(2, _rejected.size());
+  }
+
+  /**
+   * Inserts a collection with some invalid values into a filtered list, and controls the predicate is tested once by
+   * element.
+   */
+  @Test
+  public void test_AddAll_FromIndexWithInvalidValues_PredicateTestedOnce()
+  {
+    int[] _tests = new int[1];
+    List<Integer> _list = Collections.makeFilteredList(new ArrayList<>(), (p) -> ++_tests[0] > 0 && p % 2 == 0);
+    List<Integer> _rejected = new ArrayList<>();
+    _tests[0] = 0;
+
+    Assert.assertFalse(Collections.addAll(_list, 0, Arrays.asList(1, 2, 3, 4), _rejected));
+    Assert.assertEquals(4, _tests[0]);
+    Assert.assertEquals(Arrays.asList(2, 4), _list);
+    Assert.assertEquals(Arrays.asList(1, 3), _rejected);
+  }
+
+  /**
+   * Inserts a valid collection in the middle of a filtered list, and controls no value is reported as rejected.
+   */
+  @Test
+  public void test_AddAll_FromIndexWithValidValues_NoRejectedReported()
+  {
+    List<Integer> _values = new LinkedList<>(Arrays.asList(1, 2));
+    List<Integer> _list = Collections.makeFilteredList(_values, this.ruleRef);
+    List<Integer> _rejected = new ArrayList<>();
+
+    Assert.assertTrue(Collections.addAll(_list, 1, Arrays.asList(10, 11), _rejected));
+    Assert.assertEquals(Arrays.asList(1, 10, 11, 2), _values);
+    Assert.assertTrue(_rejected.isEmpty());
+  }
+
+  /**
+   * Removes a range of a filtered list, and controls exactly the elements of the range are removed.
+   */
+  @Test
+  public void test_RemoveRange_ValidRange_RightElementsRemoved()
+  {
+    List<Integer> _values = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+    List<Integer> _list = Collections.makeFilteredList(_values, this.ruleRef);
+
+    _list.subList(1, 4).clear();
+    new AListFake<>((FilteredList<Integer>) _list).removeRange(0, 1);
+
+    Assert.assertEquals(Arrays.asList(4, 5), _values);
+  }
 }
 
 /**
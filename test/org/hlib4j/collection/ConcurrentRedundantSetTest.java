@@ -0,0 +1,310 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link ConcurrentRedundantSet} class.
+ */
+public class ConcurrentRedundantSetTest
+{
+
+  private ConcurrentRedundantSet<Integer> redundantSetTesting;
+
+  @Before
+  public void setUp()
+  {
+    this.redundantSetTesting = new ConcurrentRedundantSet<>();
+  }
+
+  @Test
+  public void test_add_NullValueTwice_CountedTwice()
+  {
+    // SUT
+    this.redundantSetTesting.add(null);
+    this.redundantSetTesting.add(null);
+
+    // Assert
+    Assert.assertEquals(2, this.redundantSetTesting.countElementFor(null));
+    Assert.assertEquals(2, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_remove_RedundantValues_CountDecreasedUntilZero()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT & Assert
+    Assert.assertTrue(this.redundantSetTesting.remove(1));
+    Assert.assertTrue(this.redundantSetTesting.remove(1));
+    Assert.assertFalse(this.redundantSetTesting.remove(1));
+    Assert.assertFalse(this.redundantSetTesting.contains(1));
+    Assert.assertEquals(1, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_clean_ValuesWithoutOccurrence_Removed()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 2, 2));
+    this.redundantSetTesting.remove(1);
+
+    // SUT & Assert
+    Assert.assertEquals(1, this.redundantSetTesting.clean());
+    Assert.assertEquals(0, this.redundantSetTesting.clean());
+    Assert.assertEquals(2, this.redundantSetTesting.countElementFor(2));
+  }
+
+  @Test
+  public void test_Iterator_WithDuplicateValues_AllOccurrencesGiven()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 1, 2, 3, 3));
+
+    // SUT
+    List<Integer> _values = new ArrayList<>();
+    this.redundantSetTesting.forEach(_values::add);
+
+    // Assert
+    _values.sort(null);
+    Assert.assertEquals(Arrays.asList(1, 1, 1, 2, 3, 3), _values);
+    Assert.assertEquals(11, this.redundantSetTesting.stream().mapToInt(Integer::intValue).sum());
+  }
+
+  @Test
+  public void test_Iterator_Remove_LastValueRemoved()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT
+    for (Iterator<Integer> _it = this.redundantSetTesting.iterator(); _it.hasNext(); )
+    {
+      if (_it.next() == 1)
+      {
+        _it.remove();
+      }
+    }
+
+    // Assert
+    Assert.assertEquals(0, this.redundantSetTesting.countElementFor(1));
+    Assert.assertEquals(1, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_clear_Values_Emptied()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT
+    this.redundantSetTesting.clear();
+
+    // Assert
+    Assert.assertTrue(this.redundantSetTesting.isEmpty());
+    Assert.assertEquals(0, this.redundantSetTesting.countElementFor(1));
+  }
+
+  @Test
+  public void test_add_ConcurrentThreadsWithCleaning_NoOccurrenceLost() throws Exception
+  {
+    // Setup
+    final int _threads = 8;
+    final int _additions = 20000;
+    ExecutorService _executor = Executors.newFixedThreadPool(_threads + 1);
+    List<Future<?>> _futures = new ArrayList<>();
+
+    // SUT: each thread adds and removes a value, while all zero counters are cleaned
+    try
+    {
+      for (int t = 0; t < _threads; ++t)
+      {
+        _futures.add(_executor.submit(() ->
+        {
+          for (int i = 0; i < _additions; ++i)
+          {
+            this.redundantSetTesting.add(i % 10);
+            this.redundantSetTesting.add(-1);
+            this.redundantSetTesting.remove(-1);
+          }
+        }));
+      }
+      Future<?> _cleaner = _executor.submit(() ->
+      {
+        while (_futures.stream().anyMatch(f -> !f.isDone()))
+        {
+          this.redundantSetTesting.clean();
+        }
+      });
+      for (Future<?> _future : _futures)
+      {
+        _future.get();
+      }
+      _cleaner.get();
+    } finally
+    {
+      _executor.shutdown();
+    }
+
+    // Assert
+    Assert.assertEquals(_threads * _additions, this.redundantSetTesting.size());
+    for (int i = 0; i < 10; ++i)
+    {
+      Assert.assertEquals(_threads * _additions / 10, this.redundantSetTesting.countElementFor(i));
+    }
+    Assert.assertEquals(0, this.redundantSetTesting.countElementFor(-1));
+  }
+
+  @Test
+  public void test_remove_ConcurrentThreadsWithCleaning_EachAddedOccurrenceRemoved() throws Exception
+  {
+    // Setup
+    final int _threads = 8;
+    final int _additions = 20000;
+    ExecutorService _executor = Executors.newFixedThreadPool(_threads + 1);
+    List<Future<Boolean>> _futures = new ArrayList<>();
+
+    // SUT: each thread adds a value and removes it at once, while all zero counters are cleaned
+    try
+    {
+      for (int t = 0; t < _threads; ++t)
+      {
+        _futures.add(_executor.submit(() ->
+        {
+          boolean _all_removed = true;
+          for (int i = 0; i < _additions; ++i)
+          {
+            this.redundantSetTesting.add(i % 4);
+            _all_removed &= this.redundantSetTesting.remove(i % 4);
+          }
+          return _all_removed;
+        }));
+      }
+      Future<?> _cleaner = _executor.submit(() ->
+      {
+        while (_futures.stream().anyMatch(f -> !f.isDone()))
+        {
+          this.redundantSetTesting.clean();
+        }
+      });
+      for (Future<Boolean> _future : _futures)
+      {
+        Assert.assertTrue(_future.get());
+      }
+      _cleaner.get();
+    } finally
+    {
+      _executor.shutdown();
+    }
+
+    // Assert
+    Assert.assertTrue(this.redundantSetTesting.isEmpty());
+    this.redundantSetTesting.clean();
+    Assert.assertFalse(this.redundantSetTesting.iterator().hasNext());
+  }
+
+  @Test
+  public void test_remove_ConcurrentRemoversOfLastOccurrences_EachRemoveSucceeds() throws Exception
+  {
+    // Setup
+    final int _threads = 8;
+    ExecutorService _executor = Executors.newFixedThreadPool(_threads);
+
+    try
+    {
+      for (int r = 0; r < 2000; ++r)
+      {
+        for (int t = 0; t < _threads; ++t)
+        {
+          this.redundantSetTesting.add(7);
+        }
+
+        // SUT: each thread removes one of the occurrences, all threads starting together
+        CyclicBarrier _start = new CyclicBarrier(_threads);
+        List<Future<Boolean>> _futures = new ArrayList<>();
+        for (int t = 0; t < _threads; ++t)
+        {
+          _futures.add(_executor.submit(() ->
+          {
+            _start.await();
+            return this.redundantSetTesting.remove(7);
+          }));
+        }
+
+        // Assert
+        for (Future<Boolean> _future : _futures)
+        {
+          Assert.assertTrue(_future.get());
+        }
+        Assert.assertEquals(0, this.redundantSetTesting.countElementFor(7));
+        Assert.assertTrue(this.redundantSetTesting.isEmpty());
+      }
+    } finally
+    {
+      _executor.shutdown();
+    }
+  }
+
+  @Test
+  public void test_remove_MoreConcurrentRemoversThanOccurrences_EachOccurrenceRemovedOnce() throws Exception
+  {
+    // Setup
+    final int _occurrences = 8;
+    final int _threads = 2 * _occurrences;
+    ExecutorService _executor = Executors.newFixedThreadPool(_threads);
+
+    try
+    {
+      for (int r = 0; r < 2000; ++r)
+      {
+        for (int o = 0; o < _occurrences; ++o)
+        {
+          this.redundantSetTesting.add(7);
+        }
+
+        // SUT: twice as many removers as occurrences, all threads starting together
+        CyclicBarrier _start = new CyclicBarrier(_threads);
+        List<Future<Boolean>> _futures = new ArrayList<>();
+        for (int t = 0; t < _threads; ++t)
+        {
+          _futures.add(_executor.submit(() ->
+          {
+            _start.await();
+            return this.redundantSetTesting.remove(7);
+          }));
+        }
+
+        // Assert
+        int _removed = 0;
+        for (Future<Boolean> _future : _futures)
+        {
+          _removed += _future.get() ? 1 : 0;
+        }
+        Assert.assertEquals(_occurrences, _removed);
+        Assert.assertEquals(0, this.redundantSetTesting.countElementFor(7));
+      }
+    } finally
+    {
+      _executor.shutdown();
+    }
+  }
+}
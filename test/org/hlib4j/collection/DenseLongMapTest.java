@@ -0,0 +1,239 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.SequenceKeyGenerator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for {@link DenseLongMap} class.
+ */
+public class DenseLongMapTest
+{
+
+  private DenseLongMap<String> mapTesting;
+
+  @Before
+  public void setUp()
+  {
+    this.mapTesting = new DenseLongMap<>();
+  }
+
+  @Test
+  public void test_get_SequentialKeys_ValuesFound()
+  {
+    // Setup
+    for (long i = 1000; i < 5000; ++i)
+    {
+      this.mapTesting.put(i, "v" + i);
+    }
+
+    // SUT & Assert
+    Assert.assertEquals(4000, this.mapTesting.size());
+    Assert.assertEquals("v1000", this.mapTesting.get(1000L));
+    Assert.assertEquals("v4999", this.mapTesting.get(4999L));
+    Assert.assertNull(this.mapTesting.get(999L));
+    Assert.assertNull(this.mapTesting.get(5000L));
+    Assert.assertNull(this.mapTesting.get(1000));
+    Assert.assertTrue(this.mapTesting.containsKey(2500L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_put_KeyLowerThanBase_IllegalArgumentException()
+  {
+    // Setup
+    this.mapTesting.put(10L, "a");
+
+    // SUT
+    this.mapTesting.put(9L, "b");
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void test_put_NullValue_NullPointerException()
+  {
+    this.mapTesting.put(10L, null);
+  }
+
+  @Test
+  public void test_put_ExistingKey_PreviousValueReplaced()
+  {
+    // Setup
+    this.mapTesting.put(10L, "a");
+
+    // SUT
+    String _previous = this.mapTesting.put(10L, "b");
+
+    // Assert
+    Assert.assertEquals("a", _previous);
+    Assert.assertEquals("b", this.mapTesting.get(10L));
+    Assert.assertEquals(1, this.mapTesting.size());
+  }
+
+  @Test
+  public void test_remove_LeadingKeys_ChunksCompactedAndOtherValuesKept()
+  {
+    // Setup
+    for (long i = 0; i < 10000; ++i)
+    {
+      this.mapTesting.put(i, "v" + i);
+    }
+
+    // SUT
+    for (long i = 0; i < 9000; ++i)
+    {
+      Assert.assertEquals("v" + i, this.mapTesting.remove(i));
+    }
+
+    // Assert
+    Assert.assertEquals(1000, this.mapTesting.size());
+    Assert.assertNull(this.mapTesting.get(8999L));
+    Assert.assertEquals("v9000", this.mapTesting.get(9000L));
+    Assert.assertEquals("v9999", this.mapTesting.get(9999L));
+    Assert.assertNull(this.mapTesting.remove(5L));
+  }
+
+  @Test
+  public void test_entrySet_SparseRemovals_SameEntriesAsTreeMap()
+  {
+    // Setup
+    Map<Long, String> _expected = new TreeMap<>();
+    for (long i = 0; i < 5000; ++i)
+    {
+      this.mapTesting.put(i, "v" + i);
+      _expected.put(i, "v" + i);
+    }
+    for (long i = 0; i < 5000; i += 3)
+    {
+      this.mapTesting.remove(i);
+      _expected.remove(i);
+    }
+    for (long i = 1024; i < 3072; ++i)
+    {
+      this.mapTesting.remove(i);
+      _expected.remove(i);
+    }
+
+    // SUT
+    List<Long> _keys = new ArrayList<>();
+    this.mapTesting.forEach((k, v) -> _keys.add(k));
+
+    // Assert
+    Assert.assertEquals(_expected, this.mapTesting);
+    Assert.assertEquals(new ArrayList<>(_expected.keySet()), new ArrayList<>(this.mapTesting.keySet()));
+    Assert.assertEquals(new ArrayList<>(_expected.keySet()), _keys);
+  }
+
+  @Test
+  public void test_put_RandomUpdatesOnSparseChunks_SameEntriesAsTreeMap()
+  {
+    // Setup: most keys are removed, so the chunks become sparse, then some of them are filled again
+    Map<Long, String> _expected = new TreeMap<>();
+    for (long i = 0; i < 8192; ++i)
+    {
+      this.mapTesting.put(i, "v" + i);
+      _expected.put(i, "v" + i);
+    }
+    Random _random = new Random(5);
+
+    // SUT: the first half mostly removes, so the chunks are compacted, and the second half mostly puts, so they are
+    // expanded again
+    for (int i = 0; i < 100000; ++i)
+    {
+      long _key = 1 + _random.nextInt(8191);
+      if (_random.nextInt(5) < (i < 50000 ? 1 : 4))
+      {
+        Assert.assertEquals(_expected.put(_key, "w" + i), this.mapTesting.put(_key, "w" + i));
+      } else
+      {
+        Assert.assertEquals(_expected.remove(_key), this.mapTesting.remove(_key));
+      }
+    }
+    for (Iterator<Long> _it = this.mapTesting.keySet().iterator(); _it.hasNext(); )
+    {
+      Long _key = _it.next();
+      if (_key % 5 == 0)
+      {
+        _it.remove();
+        _expected.remove(_key);
+      }
+    }
+
+    // Assert
+    Assert.assertEquals(_expected.size(), this.mapTesting.size());
+    Assert.assertEquals(_expected, this.mapTesting);
+    Assert.assertEquals(new ArrayList<>(_expected.keySet()), new ArrayList<>(this.mapTesting.keySet()));
+    for (long i = 0; i < 8192; ++i)
+    {
+      Assert.assertEquals(_expected.get(i), this.mapTesting.get(i));
+    }
+  }
+
+  @Test
+  public void test_iterator_RemoveAll_EmptyMap()
+  {
+    // Setup
+    for (long i = 0; i < 3000; ++i)
+    {
+      this.mapTesting.put(i, "v" + i);
+    }
+    int _iterated = 0;
+
+    // SUT
+    for (Iterator<Map.Entry<Long, String>> _it = this.mapTesting.entrySet().iterator(); _it.hasNext(); )
+    {
+      Assert.assertEquals(Long.valueOf(_iterated), _it.next().getKey());
+      _it.remove();
+      ++_iterated;
+    }
+
+    // Assert
+    Assert.assertEquals(3000, _iterated);
+    Assert.assertTrue(this.mapTesting.isEmpty());
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void test_iterator_PutWhileIterating_ConcurrentModificationException()
+  {
+    // Setup
+    this.mapTesting.put(1L, "a");
+    this.mapTesting.put(2L, "b");
+    Iterator<Long> _it = this.mapTesting.keySet().iterator();
+    _it.next();
+
+    // SUT
+    this.mapTesting.put(3L, "c");
+    _it.next();
+  }
+
+  @Test
+  public void test_makeDenseAutoMap_PutValues_SequentialKeys()
+  {
+    // Setup
+    AutoMap<Long, String> _map = Collections.makeDenseAutoMap(new SequenceKeyGenerator(100L));
+
+    // SUT
+    _map.put("a");
+    _map.putAll(new String[]{"b", "c"});
+
+    // Assert
+    Assert.assertEquals("a", _map.getAssociatedMap().get(100L));
+    Assert.assertEquals("c", _map.getAssociatedMap().get(102L));
+    Assert.assertEquals(3, _map.getAssociatedMap().size());
+  }
+}
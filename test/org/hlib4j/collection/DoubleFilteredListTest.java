@@ -0,0 +1,100 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * Unit tests for {@link DoubleFilteredList} class. The behaviors shared with the other primitive lists are tested by
+ * {@link IntFilteredListTest}; these tests control the comparison of <code>double</code> values, which is the one of
+ * <code>Double.equals(Object)</code>.
+ */
+public class DoubleFilteredListTest
+{
+
+  // Accepts all values
+  private DoublePredicate anyValue;
+
+  private DoubleFilteredList list;
+
+  @Before
+  public void setUp()
+  {
+    this.anyValue = v -> true;
+    this.list = Collections.makeFilteredDoubleList(this.anyValue);
+  }
+
+  @Test
+  public void test_indexOf_NaN_Found()
+  {
+    // Setup
+    this.list.addAll(1.0, Double.NaN, 2.0);
+
+    // SUT & Assert: NaN is never == to itself, but it's found like with Double.equals
+    Assert.assertEquals(1, this.list.indexOf(Double.NaN));
+    Assert.assertTrue(this.list.contains(Double.NaN));
+    Assert.assertEquals(1, this.list.indexOf(0.0 / 0.0));
+  }
+
+  @Test
+  public void test_indexOf_NegativeZero_NotFoundForPositiveZero()
+  {
+    // Setup
+    this.list.add(0.0);
+
+    // SUT & Assert: 0.0 == -0.0, but they are different like with Double.equals
+    Assert.assertEquals(-1, this.list.indexOf(-0.0));
+    Assert.assertFalse(this.list.contains(-0.0));
+    Assert.assertEquals(0, this.list.indexOf(0.0));
+  }
+
+  @Test
+  public void test_equals_SameValuesWithNaN_EqualWithSameHashCode()
+  {
+    // Setup
+    DoubleFilteredList _other = Collections.makeFilteredDoubleList(this.anyValue);
+    this.list.addAll(1.0, Double.NaN);
+    _other.addAll(1.0, Double.NaN);
+
+    // SUT & Assert
+    Assert.assertEquals(this.list, _other);
+    Assert.assertEquals(this.list.hashCode(), _other.hashCode());
+  }
+
+  @Test
+  public void test_equals_PositiveAndNegativeZero_NotEqual()
+  {
+    // Setup
+    DoubleFilteredList _other = Collections.makeFilteredDoubleList(this.anyValue);
+    this.list.add(0.0);
+    _other.add(-0.0);
+
+    // SUT & Assert
+    Assert.assertNotEquals(this.list, _other);
+  }
+
+  @Test
+  public void test_add_PredicateRejectingNaN_NaNRejected()
+  {
+    // Setup: NaN fails any comparison, so the predicate must reject it explicitly
+    DoubleFilteredList _list = Collections.makeFilteredDoubleList(v -> !Double.isNaN(v));
+
+    // SUT & Assert
+    Assert.assertFalse(_list.add(Double.NaN));
+    Assert.assertFalse(_list.addAll(1.0, Double.NaN, 2.0));
+    Assert.assertArrayEquals(new double[]{1.0, 2.0}, _list.toArray(), 0.0);
+    Assert.assertFalse(_list.set(0, Double.NaN));
+    Assert.assertEquals(1.0, _list.get(0), 0.0);
+    Assert.assertFalse(_list.contains(Double.NaN));
+  }
+}
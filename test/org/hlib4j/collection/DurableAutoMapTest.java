@@ -0,0 +1,190 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.io.Codecs;
+import org.hlib4j.io.Workspace;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link DurableAutoMap} class.
+ */
+public class DurableAutoMapTest
+{
+
+  private Workspace workspace;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    this.workspace = new Workspace(Files.createTempDirectory("durable-automap").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException
+  {
+    try (Stream<Path> _files = Files.walk(this.workspace.toPath()))
+    {
+      _files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  @Test
+  public void test_put_SeveralValues_ReadBack()
+  {
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING))
+    {
+      // SUT
+      _map.put("foo");
+      _map.put("");
+      _map.putAll(Arrays.asList("bar", "baz"));
+
+      // Assert
+      Assert.assertEquals(4L, _map.size());
+      Assert.assertEquals("foo", _map.getAssociatedMap().get(0L));
+      Assert.assertEquals("", _map.getAssociatedMap().get(1L));
+      Assert.assertEquals("baz", _map.getAssociatedMap().get(3L));
+      Assert.assertNull(_map.getAssociatedMap().get(4L));
+
+      ByteBuffer _bytes = _map.getBuffer(2L);
+      Assert.assertTrue(_bytes.isReadOnly());
+      Assert.assertEquals(StandardCharsets.UTF_8.encode("bar"), _bytes);
+      Assert.assertNull(_map.getBuffer(-1L));
+    } catch (IOException e)
+    {
+      Assert.fail(e.getMessage());
+    }
+  }
+
+  @Test
+  public void test_open_ClosedMapWithSegments_ValuesKeptAndKeysContinued() throws IOException
+  {
+    // Setup: segments of 64 bytes hold 4 records of 16 bytes each
+    try (DurableAutoMap<Long> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.LONG, 64, 0))
+    {
+      for (long i = 0; i < 100; ++i)
+      {
+        _map.put(i * 7);
+      }
+    }
+
+    // SUT
+    try (DurableAutoMap<Long> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.LONG))
+    {
+      _map.put(-1L);
+
+      // Assert
+      Assert.assertEquals(101L, _map.size());
+      Assert.assertEquals(Long.valueOf(0L), _map.getAssociatedMap().get(0L));
+      Assert.assertEquals(Long.valueOf(693L), _map.getAssociatedMap().get(99L));
+      Assert.assertEquals(Long.valueOf(-1L), _map.getAssociatedMap().get(100L));
+    }
+    Assert.assertTrue(Files.exists(this.workspace.toPath().resolve("journal-00025.segment")));
+    Assert.assertFalse(Files.exists(this.workspace.toPath().resolve("journal-00026.segment")));
+  }
+
+  @Test
+  public void test_open_CorruptedUncommittedValue_ValuesUntilCorruptionRecovered() throws IOException
+  {
+    // Setup: the first 2 values are committed, the 3 others are only written into the mapped files
+    DurableAutoMap<String> _crashed = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 1024, 0);
+    _crashed.put("a");
+    _crashed.put("b");
+    _crashed.commit();
+    _crashed.put("c");
+    _crashed.put("d");
+    _crashed.put("e");
+
+    // The value "d" is corrupted: each record has 8 bytes of header and 1 byte of value
+    try (FileChannel _channel = FileChannel.open(this.workspace.toPath().resolve("journal-00000.segment"),
+      StandardOpenOption.WRITE))
+    {
+      _channel.write(ByteBuffer.wrap(new byte[]{'x'}), 3 * 9 + 8);
+    }
+
+    // SUT
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 1024, 0))
+    {
+      // Assert
+      Assert.assertEquals(3L, _map.size());
+      Assert.assertEquals("c", _map.getAssociatedMap().get(2L));
+
+      _map.put("f");
+      Assert.assertEquals("f", _map.getAssociatedMap().get(3L));
+    }
+  }
+
+  @Test
+  public void test_open_ValueWrittenOverDiscardedValue_NextDiscardedValueNotRecovered() throws IOException
+  {
+    // Setup: the first 3 values are committed, the 2 others are only written into the mapped files
+    DurableAutoMap<String> _crashed = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 1024, 0);
+    _crashed.put("a");
+    _crashed.put("b");
+    _crashed.put("c");
+    _crashed.commit();
+    _crashed.put("d");
+    _crashed.put("e");
+
+    // The value "d" is corrupted, so "d" and "e" are discarded
+    try (FileChannel _channel = FileChannel.open(this.workspace.toPath().resolve("journal-00000.segment"),
+      StandardOpenOption.WRITE))
+    {
+      _channel.write(ByteBuffer.wrap(new byte[]{'x'}), 3 * 9 + 8);
+    }
+
+    // The value "z" is written over the discarded value "d", just before the discarded value "e"
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 1024, 0))
+    {
+      Assert.assertEquals(3L, _map.size());
+      _map.put("z");
+    }
+
+    // SUT
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 1024, 0))
+    {
+      // Assert
+      Assert.assertEquals(4L, _map.size());
+      Assert.assertEquals("z", _map.getAssociatedMap().get(3L));
+      Assert.assertNull(_map.getAssociatedMap().get(4L));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_put_NotNextKey_IllegalArgumentException() throws IOException
+  {
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING))
+    {
+      _map.getAssociatedMap().put(5L, "foo");
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_put_ValueGreaterThanSegment_IllegalArgumentException() throws IOException
+  {
+    try (DurableAutoMap<String> _map = DurableAutoMap.open(this.workspace, "journal", Codecs.STRING, 16, 0))
+    {
+      _map.put("0123456789");
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LongFilteredList} class.
+ */
+public class LongFilteredListTest
+{
+
+  private LongFilteredList list;
+
+  @Before
+  public void setUp()
+  {
+    // Only positive values are accepted
+    this.list = Collections.makeFilteredLongList(v -> v > 0);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void test_Constructor_NullPredicate_NullPointerException()
+  {
+    Collections.makeFilteredLongList(null);
+  }
+
+  @Test
+  public void test_add_AcceptedAndRejectedValues_OnlyAcceptedAdded()
+  {
+    // Setup & SUT
+    Assert.assertTrue(this.list.add(1L));
+    Assert.assertFalse(this.list.add(-1L));
+
+    // Assert
+    Assert.assertEquals(1, this.list.size());
+    Assert.assertEquals(1L, this.list.get(0));
+  }
+
+  @Test
+  public void test_add_ManyValues_ArrayGrown()
+  {
+    // Setup & SUT
+    for (int i = 1; i <= 1000; ++i)
+    {
+      this.list.add(i);
+    }
+
+    // Assert
+    Assert.assertEquals(1000, this.list.size());
+    Assert.assertEquals(1000, this.list.get(999));
+  }
+
+  @Test
+  public void test_addAll_MixedValues_OrderKeptAndFalseReturned()
+  {
+    // SUT
+    boolean _result = this.list.addAll(1L, -1L, 2L);
+
+    // Assert
+    Assert.assertFalse(_result);
+    Assert.assertArrayEquals(new long[]{1L, 2L}, this.list.toArray());
+  }
+
+  @Test
+  public void test_addAll_AcceptedValues_TrueReturned()
+  {
+    // SUT & Assert
+    Assert.assertTrue(this.list.addAll(1L, 2L));
+    Assert.assertEquals(2, this.list.size());
+  }
+
+  @Test
+  public void test_set_RejectedValue_ValueUnchanged()
+  {
+    // Setup
+    this.list.add(1L);
+
+    // SUT & Assert
+    Assert.assertFalse(this.list.set(0, -1L));
+    Assert.assertEquals(1L, this.list.get(0));
+    Assert.assertTrue(this.list.set(0, 2L));
+    Assert.assertEquals(2L, this.list.get(0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void test_get_OutOfSize_IndexOutOfBoundsException()
+  {
+    // Setup
+    this.list.addAll(1L, 2L);
+
+    // SUT: the capacity is greater than the size, but the index is out of the list
+    this.list.get(2);
+  }
+
+  @Test
+  public void test_removeAt_MiddleValue_ValuesShifted()
+  {
+    // Setup
+    this.list.addAll(1L, 2L, 3L);
+
+    // SUT
+    long _removed = this.list.removeAt(1);
+
+    // Assert
+    Assert.assertEquals(2L, _removed);
+    Assert.assertArrayEquals(new long[]{1L, 3L}, this.list.toArray());
+    Assert.assertEquals(1, this.list.indexOf(3L));
+    Assert.assertFalse(this.list.contains(2L));
+  }
+
+  @Test
+  public void test_forEach_Values_AllVisitedInOrder()
+  {
+    // Setup
+    this.list.addAll(1L, 2L, 3L);
+    StringBuilder _visited = new StringBuilder();
+
+    // SUT
+    this.list.forEach(v -> _visited.append(v).append(';'));
+
+    // Assert
+    Assert.assertEquals("1;2;3;", _visited.toString());
+  }
+
+  @Test
+  public void test_stream_Values_SumComputed()
+  {
+    // Setup
+    this.list.addAll(1L, 2L, 3L);
+
+    // SUT & Assert
+    Assert.assertEquals(6, this.list.stream().sum());
+  }
+
+  @Test
+  public void test_clear_Values_Emptied()
+  {
+    // Setup
+    this.list.addAll(1L, 2L);
+
+    // SUT
+    this.list.clear();
+
+    // Assert
+    Assert.assertTrue(this.list.isEmpty());
+    Assert.assertEquals(0, this.list.toArray().length);
+  }
+}
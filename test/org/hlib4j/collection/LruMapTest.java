@@ -0,0 +1,66 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.SequenceKeyGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link LruMap} class.
+ */
+public class LruMapTest
+{
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_NoCapacity_IllegalArgumentException()
+  {
+    new LruMap<Integer, String>(0, null);
+  }
+
+  @Test
+  public void test_put_ReadEntry_LeastRecentlyUsedEvicted()
+  {
+    // Setup
+    List<Integer> _evicted = new ArrayList<>();
+    LruMap<Integer, String> _map = new LruMap<>(2, (k, v) -> _evicted.add(k));
+    _map.put(1, "a");
+    _map.put(2, "b");
+    _map.get(1);
+
+    // SUT
+    _map.put(3, "c");
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(2), _evicted);
+    Assert.assertEquals(Arrays.asList(1, 3), new ArrayList<>(_map.keySet()));
+  }
+
+  @Test
+  public void test_makeBoundedAutoMap_Lru_CapacityKept()
+  {
+    // Setup
+    AutoMap<Long, String> _map = Collections.makeBoundedAutoMap(new SequenceKeyGenerator(), 10,
+      AutoMap.EvictionPolicy.LRU);
+
+    // SUT
+    for (int i = 0; i < 1000; ++i)
+    {
+      _map.put("v" + i);
+    }
+
+    // Assert
+    Assert.assertEquals(10, _map.getAssociatedMap().size());
+    Assert.assertEquals("v999", _map.getAssociatedMap().get(999L));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.io.Codecs;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link MappedRedundantSet} class.
+ */
+public class MappedRedundantSetTest
+{
+
+  private Path snapshot;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    this.snapshot = Files.createTempFile("redundant-set", ".snapshot");
+  }
+
+  @After
+  public void tearDown() throws IOException
+  {
+    Files.deleteIfExists(this.snapshot);
+  }
+
+  @Test
+  public void test_countElementFor_StringSnapshot_SameCounts() throws IOException
+  {
+    // Setup
+    RedundantSet<String> _set = new RedundantSet<>(Arrays.asList("b", "a", "a", "ccc", "\u00e9t\u00e9", "\u00e9t\u00e9", "\u00e9t\u00e9"));
+    MappedRedundantSet.write(_set, Codecs.STRING, this.snapshot);
+
+    // SUT
+    MappedRedundantSet<String> _mapped = MappedRedundantSet.open(this.snapshot, Codecs.STRING);
+
+    // Assert
+    Assert.assertEquals(2, _mapped.countElementFor("a"));
+    Assert.assertEquals(1, _mapped.countElementFor("b"));
+    Assert.assertEquals(1, _mapped.countElementFor("ccc"));
+    Assert.assertEquals(3, _mapped.countElementFor("\u00e9t\u00e9"));
+    Assert.assertEquals(0, _mapped.countElementFor("cc"));
+    Assert.assertEquals(0, _mapped.countElementFor(null));
+    Assert.assertFalse(_mapped.contains("d"));
+    Assert.assertEquals(7, _mapped.size());
+    Assert.assertEquals(4, _mapped.distinctCount());
+  }
+
+  @Test
+  public void test_forEachEntry_IntegerSnapshot_SortedByNaturalOrder() throws IOException
+  {
+    // Setup
+    RedundantSet<Integer> _set = new RedundantSet<>(Arrays.asList(5, -3, 0, 5, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    MappedRedundantSet.write(_set, Codecs.INTEGER, this.snapshot);
+    List<Integer> _elements = new ArrayList<>();
+
+    // SUT
+    MappedRedundantSet.open(this.snapshot, Codecs.INTEGER).forEachEntry((e, c) -> _elements.add(e));
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(Integer.MIN_VALUE, -3, 0, 5, Integer.MAX_VALUE), _elements);
+  }
+
+  @Test
+  public void test_toRedundantSet_LongSnapshotWithLargeCounts_SameCollection() throws IOException
+  {
+    // Setup
+    RedundantSet<Long> _set = new RedundantSet<>();
+    for (long i = 0; i < 10000; ++i)
+    {
+      for (long j = 0; j <= i % 300; ++j)
+      {
+        _set.add(i * 1000003L - 5000000L);
+      }
+    }
+    MappedRedundantSet.write(_set, Codecs.LONG, this.snapshot);
+
+    // SUT
+    MappedRedundantSet<Long> _mapped = MappedRedundantSet.open(this.snapshot, Codecs.LONG);
+    RedundantSet<Long> _restored = _mapped.toRedundantSet();
+
+    // Assert
+    Assert.assertEquals(_set, _restored);
+    Assert.assertEquals(_set.size(), _restored.size());
+    Assert.assertEquals(300, _mapped.countElementFor(299 * 1000003L - 5000000L));
+    Assert.assertEquals(0, _mapped.countElementFor(1L));
+  }
+
+  @Test(expected = IOException.class)
+  public void test_open_NotSnapshotFile_IOException() throws IOException
+  {
+    // Setup
+    Files.write(this.snapshot, new byte[]{1, 2, 3});
+
+    // SUT
+    MappedRedundantSet.open(this.snapshot, Codecs.STRING);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void test_write_NullElement_NullPointerException() throws IOException
+  {
+    MappedRedundantSet.write(new RedundantSet<>(Arrays.asList("a", null)), Codecs.STRING, this.snapshot);
+  }
+
+  @Test
+  public void test_write_OverOpenedSnapshot_OpenedSnapshotUnchanged() throws IOException
+  {
+    // Setup
+    MappedRedundantSet.write(new RedundantSet<>(Arrays.asList("a", "a", "b")), Codecs.STRING, this.snapshot);
+    MappedRedundantSet<String> _previous = MappedRedundantSet.open(this.snapshot, Codecs.STRING);
+
+    // SUT
+    MappedRedundantSet.write(new RedundantSet<>(Arrays.asList("c")), Codecs.STRING, this.snapshot);
+
+    // Assert: the opened snapshot still maps the previous file, and no temporary file is left
+    Assert.assertEquals(2, _previous.countElementFor("a"));
+    Assert.assertEquals(3, _previous.size());
+    MappedRedundantSet<String> _current = MappedRedundantSet.open(this.snapshot, Codecs.STRING);
+    Assert.assertEquals(1, _current.countElementFor("c"));
+    Assert.assertEquals(0, _current.countElementFor("a"));
+    try (Stream<Path> _files = Files.list(this.snapshot.toAbsolutePath().getParent()))
+    {
+      String _prefix = this.snapshot.getFileName().toString();
+      Assert.assertFalse(_files.anyMatch(f -> f.getFileName().toString().startsWith(_prefix) && f.toString().endsWith(
+        ".tmp")));
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link OccurrenceRanking} class.
+ */
+public class OccurrenceRankingTest
+{
+
+  private RedundantSet<String> redundantSetTesting;
+
+  @Before
+  public void setUp()
+  {
+    this.redundantSetTesting = new RedundantSet<>(Arrays.asList("a", "b", "b", "c", "c", "c"));
+  }
+
+  @Test
+  public void test_topK_ExistingValues_SortedByOccurrences()
+  {
+    // SUT & Assert
+    Assert.assertEquals(Arrays.asList("c", "b", "a"), this.redundantSetTesting.getRanking().topK(10));
+    Assert.assertEquals(Collections.singletonList("c"), this.redundantSetTesting.getRanking().topK(1));
+    Assert.assertTrue(this.redundantSetTesting.getRanking().topK(0).isEmpty());
+  }
+
+  @Test
+  public void test_topK_AddedValues_RankingUpdated()
+  {
+    // Setup
+    OccurrenceRanking<String> _ranking = this.redundantSetTesting.getRanking();
+
+    // SUT
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("d");
+
+    // Assert
+    Assert.assertEquals(Arrays.asList("a", "c", "b"), _ranking.topK(3));
+    Assert.assertEquals(4, _ranking.size());
+  }
+
+  @Test
+  public void test_rankOf_RemovedValues_RankingUpdated()
+  {
+    // Setup
+    OccurrenceRanking<String> _ranking = this.redundantSetTesting.getRanking();
+
+    // SUT
+    this.redundantSetTesting.remove("c");
+    this.redundantSetTesting.remove("c");
+    this.redundantSetTesting.remove("a");
+
+    // Assert: b is first, c has the same number of occurrences
+    Assert.assertEquals(1, _ranking.rankOf("b"));
+    Assert.assertEquals(2, _ranking.rankOf("c"));
+    Assert.assertEquals(0, _ranking.rankOf("a"));
+    Assert.assertEquals(2, _ranking.size());
+  }
+
+  @Test
+  public void test_rankOf_SameOccurrences_SameRank()
+  {
+    // Setup
+    this.redundantSetTesting.add("a");
+
+    // SUT & Assert
+    Assert.assertEquals(1, this.redundantSetTesting.getRanking().rankOf("c"));
+    Assert.assertEquals(2, this.redundantSetTesting.getRanking().rankOf("a"));
+    Assert.assertEquals(2, this.redundantSetTesting.getRanking().rankOf("b"));
+  }
+
+  @Test
+  public void test_getRanking_RetainAllIteratorRemoveAndClear_RankingUpdated()
+  {
+    // Setup
+    OccurrenceRanking<String> _ranking = this.redundantSetTesting.getRanking();
+
+    // SUT & Assert
+    this.redundantSetTesting.retainAll(Arrays.asList("a", "b"));
+    Assert.assertEquals(Arrays.asList("b", "a"), _ranking.topK(3));
+
+    for (Iterator<String> _it = this.redundantSetTesting.iterator(); _it.hasNext(); )
+    {
+      if ("b".equals(_it.next()))
+      {
+        _it.remove();
+      }
+    }
+    Assert.assertEquals(Collections.singletonList("a"), _ranking.topK(3));
+
+    this.redundantSetTesting.clear();
+    Assert.assertEquals(0, _ranking.size());
+    this.redundantSetTesting.add("e");
+    Assert.assertEquals(Collections.singletonList("e"), _ranking.topK(3));
+  }
+
+  @Test
+  public void test_rankOf_RandomUpdates_SameRanksAsCounts()
+  {
+    // Setup
+    RedundantSet<Integer> _set = new RedundantSet<>();
+    OccurrenceRanking<Integer> _ranking = _set.getRanking();
+    Random _random = new Random(7);
+
+    // SUT
+    for (int i = 0; i < 20000; ++i)
+    {
+      int _value = _random.nextInt(200);
+      if (_random.nextInt(4) == 0)
+      {
+        _set.remove(_value);
+      } else
+      {
+        _set.add(_value);
+      }
+    }
+
+    // Assert: the rank of each value is computed from the counts
+    for (int _value = 0; _value < 200; ++_value)
+    {
+      int _count = _set.countElementFor(_value);
+      int _expected_rank = 0;
+      if (_count > 0)
+      {
+        _expected_rank = 1;
+        for (int _other = 0; _other < 200; ++_other)
+        {
+          if (_set.countElementFor(_other) > _count)
+          {
+            ++_expected_rank;
+          }
+        }
+      }
+      Assert.assertEquals(_expected_rank, _ranking.rankOf(_value));
+    }
+
+    List<Integer> _top = _ranking.topK(20);
+    for (int i = 1; i < _top.size(); ++i)
+    {
+      Assert.assertTrue(_set.countElementFor(_top.get(i - 1)) >= _set.countElementFor(_top.get(i)));
+    }
+  }
+
+  @Test
+  public void test_rankOf_RandomSetCounts_SameRanksAsCounts()
+  {
+    // Setup
+    RedundantSet<Integer> _set = new RedundantSet<>();
+    OccurrenceRanking<Integer> _ranking = _set.getRanking();
+    Random _random = new Random(11);
+
+    // SUT: the counts are set as while a snapshot is restored, some of them to 0
+    for (int i = 0; i < 5000; ++i)
+    {
+      _set.setCountFor(_random.nextInt(100), _random.nextInt(8));
+    }
+
+    // Assert
+    int _distinct = 0;
+    for (int _value = 0; _value < 100; ++_value)
+    {
+      int _count = _set.countElementFor(_value);
+      int _expected_rank = 0;
+      if (_count > 0)
+      {
+        ++_distinct;
+        _expected_rank = 1;
+        for (int _other = 0; _other < 100; ++_other)
+        {
+          if (_set.countElementFor(_other) > _count)
+          {
+            ++_expected_rank;
+          }
+        }
+      }
+      Assert.assertEquals(_expected_rank, _ranking.rankOf(_value));
+    }
+    Assert.assertEquals(_distinct, _ranking.size());
+  }
+}
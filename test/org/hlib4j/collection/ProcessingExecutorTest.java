@@ -0,0 +1,129 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link ProcessingExecutor} class.
+ */
+public class ProcessingExecutorTest
+{
+
+  private List<Integer> values;
+
+  private AtomicInteger runningPerforms;
+
+  private AtomicInteger maxRunningPerforms;
+
+  private Processing<Integer> processing;
+
+  @Before
+  public void setUp()
+  {
+    this.values = new ArrayList<>();
+    for (int i = 0; i < 200; ++i)
+    {
+      this.values.add(i);
+    }
+
+    this.runningPerforms = new AtomicInteger();
+    this.maxRunningPerforms = new AtomicInteger();
+
+    // Accepts the even values, fails for the multiples of 10 and throws an exception for the multiples of 50
+    this.processing = new Processing<Integer>(p -> p % 2 == 0)
+    {
+      @Override
+      public boolean perform(Integer e)
+      {
+        maxRunningPerforms.accumulateAndGet(runningPerforms.incrementAndGet(), Math::max);
+        try
+        {
+          Thread.sleep(1);
+          if (e % 50 == 0)
+          {
+            throw new IllegalStateException("Invalid value: " + e);
+          }
+          return e % 10 != 0;
+        } catch (InterruptedException ex)
+        {
+          return false;
+        } finally
+        {
+          runningPerforms.decrementAndGet();
+        }
+      }
+    };
+  }
+
+  @Test
+  public void test_run_AllValues_ValidResult() throws InterruptedException
+  {
+    ProcessingExecutor.Result _result = new ProcessingExecutor<>(this.processing, 8).run(this.values);
+
+    Assert.assertEquals(100, _result.getAcceptedCount());
+    Assert.assertEquals(100, _result.getRejectedCount());
+    Assert.assertEquals(80, _result.getSucceededCount());
+    Assert.assertEquals(20, _result.getFailedCount());
+    Assert.assertEquals(4, _result.getErrors().size());
+    Assert.assertFalse(_result.isSucceeded());
+  }
+
+  @Test
+  public void test_run_ConcurrencyLimit_NeverExceeded() throws InterruptedException
+  {
+    new ProcessingExecutor<>(this.processing, 4).run(this.values);
+
+    Assert.assertTrue(this.maxRunningPerforms.get() <= 4);
+  }
+
+  @Test
+  public void test_run_OrderedCompletion_SourceOrder() throws InterruptedException
+  {
+    List<Integer> _notified = new ArrayList<>();
+
+    new ProcessingExecutor<>(this.processing, 8).run(this.values, ProcessingExecutor.CompletionOrder.ORDERED,
+      (e, b) -> _notified.add(e));
+
+    Assert.assertEquals(100, _notified.size());
+    for (int i = 0; i < _notified.size(); ++i)
+    {
+      Assert.assertEquals(i * 2, _notified.get(i).intValue());
+    }
+  }
+
+  @Test
+  public void test_run_UnorderedCompletion_AllNotified() throws InterruptedException
+  {
+    AtomicInteger _succeeded = new AtomicInteger();
+
+    new ProcessingExecutor<>(this.processing, 8).run(this.values, ProcessingExecutor.CompletionOrder.UNORDERED,
+      (e, b) ->
+      {
+        if (b)
+        {
+          _succeeded.incrementAndGet();
+        }
+      });
+
+    Assert.assertEquals(80, _succeeded.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_InvalidConcurrencyLimit_IllegalArgumentException()
+  {
+    new ProcessingExecutor<>(this.processing, 0);
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unit tests for {@link ProcessingPipeline} class.
+ */
+public class ProcessingPipelineTest
+{
+
+  private List<Integer> values;
+
+  private LongAdder evenSum;
+
+  private ProcessingPipeline<Integer> pipeline;
+
+  @Before
+  public void setUp()
+  {
+    this.values = new ArrayList<>();
+    for (int i = 0; i < 10000; ++i)
+    {
+      this.values.add(i);
+    }
+
+    this.evenSum = new LongAdder();
+
+    // Stage 0 accepts even values, stage 1 accepts multiples of 4 and fails for multiples of 8
+    this.pipeline = new ProcessingPipeline<>(100, new Processing<Integer>(p -> p % 2 == 0)
+    {
+      @Override
+      public boolean perform(Integer e)
+      {
+        evenSum.add(e);
+        return true;
+      }
+    }, new Processing<Integer>(p -> p % 4 == 0)
+    {
+      @Override
+      public boolean perform(Integer e)
+      {
+        return e % 8 != 0;
+      }
+    });
+  }
+
+  @Test
+  public void test_run_Sequential_ValidCounters()
+  {
+    ProcessingPipeline.Report _report = this.pipeline.run(this.values);
+
+    this.assertReport(_report);
+  }
+
+  @Test
+  public void test_run_OnPoolWithRandomAccessList_ValidCounters()
+  {
+    ProcessingPipeline.Report _report = this.pipeline.run(this.values, ForkJoinPool.commonPool());
+
+    this.assertReport(_report);
+  }
+
+  @Test
+  public void test_run_OnPoolWithLinkedList_ValidCounters()
+  {
+    ProcessingPipeline.Report _report = this.pipeline.run(new LinkedList<>(this.values), ForkJoinPool.commonPool());
+
+    this.assertReport(_report);
+  }
+
+  @Test
+  public void test_run_OnPoolWithLargeIterableSource_BoundedElementsInFlight()
+  {
+    // Setup: a source that records how many elements were read and not yet processed
+    AtomicInteger _processed = new AtomicInteger();
+    AtomicInteger _max_in_flight = new AtomicInteger();
+    Collection<Integer> _source = new AbstractCollection<Integer>()
+    {
+      @Override
+      public Iterator<Integer> iterator()
+      {
+        return new Iterator<Integer>()
+        {
+          private int next;
+
+          @Override
+          public boolean hasNext()
+          {
+            return this.next < 100000;
+          }
+
+          @Override
+          public Integer next()
+          {
+            _max_in_flight.accumulateAndGet(this.next - _processed.get(), Math::max);
+            return this.next++;
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return 100000;
+      }
+    };
+    ProcessingPipeline<Integer> _pipeline = new ProcessingPipeline<>(100, new Processing<Integer>()
+    {
+      @Override
+      public boolean perform(Integer e)
+      {
+        _processed.incrementAndGet();
+        return true;
+      }
+    });
+    ForkJoinPool _pool = new ForkJoinPool(2);
+
+    // SUT
+    ProcessingPipeline.Report _report;
+    try
+    {
+      _report = _pipeline.run(_source, _pool);
+    } finally
+    {
+      _pool.shutdown();
+    }
+
+    // Assert: at most 4 batches submitted, and the batch being filled
+    Assert.assertEquals(100000, _report.getCompletedCount());
+    Assert.assertTrue(_max_in_flight.get() <= 5 * 100);
+  }
+
+  @Test
+  public void test_run_EmptyCollection_NoCounters()
+  {
+    ProcessingPipeline.Report _report = this.pipeline.run(new ArrayList<>(), ForkJoinPool.commonPool());
+
+    Assert.assertEquals(0, _report.getAcceptedCount(0));
+    Assert.assertEquals(0, _report.getCompletedCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_InvalidBatchSize_IllegalArgumentException()
+  {
+    new ProcessingPipeline<Integer>(0, new Processing<Integer>()
+    {
+      @Override
+      public boolean perform(Integer e)
+      {
+        return true;
+      }
+    });
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void test_Constructor_NoStage_NullPointerException()
+  {
+    new ProcessingPipeline<Integer>();
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void test_getAcceptedCount_InvalidStage_IndexOutOfBoundsException()
+  {
+    this.pipeline.run(this.values).getAcceptedCount(2);
+  }
+
+  private void assertReport(ProcessingPipeline.Report report)
+  {
+    Assert.assertEquals(2, report.getStageCount());
+    Assert.assertEquals(5000, report.getAcceptedCount(0));
+    Assert.assertEquals(5000, report.getRejectedCount(0));
+    Assert.assertEquals(0, report.getFailedCount(0));
+    Assert.assertEquals(2500, report.getAcceptedCount(1));
+    Assert.assertEquals(2500, report.getRejectedCount(1));
+    Assert.assertEquals(1250, report.getFailedCount(1));
+    Assert.assertEquals(1250, report.getCompletedCount());
+    Assert.assertEquals(24995000, this.evenSum.sum());
+  }
+}
@@ -17,7 +17,15 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests class for RedundantSet class.
@@ -700,19 +708,357 @@ public class RedundantSetTest
     }
   }
 
-  @Test(expected = java.lang.UnsupportedOperationException.class)
-  public void test_Remove_FromIterator_IllegalStateException()
+  @Test
+  public void test_Remove_FromIterator_OccurrenceRemoved()
+  {
+    // Setup
+    this.redundantSetTesting = new RedundantSet<>(this.makeCollectionWithRedundantValues());
+    int _size = this.redundantSetTesting.size();
+
+    // SUT
+    Iterator<Integer> _it = this.redundantSetTesting.iterator();
+    Integer _value = _it.next();
+    int _count = this.redundantSetTesting.countElementFor(_value);
+    _it.remove();
+
+    // Assert
+    Assert.assertEquals(_size - 1, this.redundantSetTesting.size());
+    Assert.assertEquals(_count - 1, this.redundantSetTesting.countElementFor(_value));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void test_Remove_FromIteratorBeforeNext_IllegalStateException()
   {
     // Setup
     this.redundantSetTesting = new RedundantSet<>(this.makeCollectionWithRedundantValues());
 
     // SUT
+    this.redundantSetTesting.iterator().remove();
+  }
+
+  @Test
+  public void test_Remove_FromIteratorAllOccurrences_OtherValuesAllGiven()
+  {
+    // Setup: the values are removed while the iteration continues
+    for (int i = 0; i < 1000; ++i)
+    {
+      this.redundantSetTesting.add(i);
+      this.redundantSetTesting.add(i);
+    }
+
+    // SUT
+    long _odd_sum = 0;
+    for (Iterator<Integer> _it = this.redundantSetTesting.iterator(); _it.hasNext(); )
+    {
+      Integer _value = _it.next();
+      if (_value % 2 == 0)
+      {
+        _it.remove();
+      } else
+      {
+        _odd_sum += _value;
+      }
+    }
+
+    // Assert
+    Assert.assertEquals(2 * 500 * 500, _odd_sum);
+    Assert.assertEquals(1000, this.redundantSetTesting.size());
+    Assert.assertFalse(this.redundantSetTesting.contains(2));
+    Assert.assertFalse(this.redundantSetTesting.remove(2));
+
+    // The removed values can be added again, and the growing of the set keeps all counts
+    for (int i = 0; i < 5000; ++i)
+    {
+      this.redundantSetTesting.add(i);
+    }
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor(2));
+    Assert.assertEquals(3, this.redundantSetTesting.countElementFor(3));
+    Assert.assertEquals(6000, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_forEachEntry_WithDuplicateValues_EachDistinctValueGivenOnce()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 1, 2, 3, 3));
+    Map<Integer, Integer> _entries = new HashMap<>();
+
+    // SUT
+    this.redundantSetTesting.forEachEntry(_entries::put);
+
+    // Assert
+    Assert.assertEquals(3, _entries.size());
+    Assert.assertEquals(Integer.valueOf(3), _entries.get(1));
+    Assert.assertEquals(Integer.valueOf(1), _entries.get(2));
+    Assert.assertEquals(Integer.valueOf(2), _entries.get(3));
+  }
+
+  @Test
+  public void test_entryStream_WithDuplicateValues_WeightedSumComputed()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 1, 2, 3, 3));
+
+    // SUT
+    long _distinct = this.redundantSetTesting.entryStream().count();
+    int _sum = this.redundantSetTesting.entryStream().parallel().mapToInt(e -> e.getKey() * e.getValue()).sum();
+
+    // Assert
+    Assert.assertEquals(3, _distinct);
+    Assert.assertEquals(11, _sum);
+  }
+
+  @Test
+  public void test_spliterator_WithDuplicateValues_AllOccurrencesGiven()
+  {
+    // Setup
+    int _nb_of_elements = this.setupWithSameValues();
+    _nb_of_elements += this.setupWithDifferentValues();
+
+    // SUT
+    Spliterator<Integer> _spliterator = this.redundantSetTesting.spliterator();
+
+    // Assert
+    Assert.assertEquals(_nb_of_elements, _spliterator.getExactSizeIfKnown());
+    Assert.assertEquals(_nb_of_elements, this.redundantSetTesting.stream().count());
+    Assert.assertEquals(3, this.redundantSetTesting.stream().filter(i -> i == 1).count());
+  }
+
+  @Test
+  public void test_parallelStream_WithDuplicateValues_SameSumAsSequentialStream()
+  {
+    // Setup
+    for (int i = 0; i < 10000; ++i)
+    {
+      this.redundantSetTesting.add(i % 100);
+    }
+
+    // SUT
+    long _sum = this.redundantSetTesting.parallelStream().mapToLong(Integer::longValue).sum();
+
+    // Assert
+    Assert.assertEquals(495000, _sum);
+    Assert.assertEquals(10000, this.redundantSetTesting.parallelStream().count());
+  }
+  @Test
+  public void test_countElementFor_ManyDistinctValuesAddedAndRemoved_SameCountsAsReference()
+  {
+    // Setup: colliding and growing values, with removes shifting back the probe sequences
+    Map<Integer, Integer> _reference = new HashMap<>();
+    java.util.Random _random = new Random(42);
+    for (int i = 0; i < 100000; ++i)
+    {
+      Integer _value = _random.nextInt(5000) * 1024;
+      if (_random.nextInt(3) == 0)
+      {
+        Assert.assertEquals(_reference.containsKey(_value), this.redundantSetTesting.remove(_value));
+        _reference.computeIfPresent(_value, (k, v) -> v == 1 ? null : v - 1);
+      } else
+      {
+        Assert.assertTrue(this.redundantSetTesting.add(_value));
+        _reference.merge(_value, 1, Integer::sum);
+      }
+    }
+
+    // SUT & Assert
+    int _expected_size = 0;
+    for (int i = 0; i < 5000; ++i)
+    {
+      Integer _value = i * 1024;
+      int _expected = _reference.getOrDefault(_value, 0);
+      Assert.assertEquals(_expected, this.redundantSetTesting.countElementFor(_value));
+      Assert.assertEquals(_expected > 0, this.redundantSetTesting.contains(_value));
+      _expected_size += _expected;
+    }
+    Assert.assertEquals(_expected_size, this.redundantSetTesting.size());
+    Assert.assertEquals(_expected_size, this.redundantSetTesting.stream().count());
+  }
+
+  @Test
+  public void test_Constructor_ExpectedDistinctCount_EmptySet()
+  {
+    // Setup
+    RedundantSet<Integer> _local_set = new RedundantSet<>(1000);
+
+    // SUT
+    _local_set.add(1);
+    _local_set.add(1);
+
+    // Assert
+    Assert.assertEquals(2, _local_set.size());
+    Assert.assertEquals(2, _local_set.countElementFor(1));
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void test_Iterator_AddWhileIterating_ConcurrentModificationException()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(this.makeCollectionWithRedundantValues());
     Iterator<Integer> _it = this.redundantSetTesting.iterator();
+    _it.next();
 
-    // Assert by invoking internal exception
+    // SUT
+    this.redundantSetTesting.add(1);
     _it.next();
-    _it.remove();
+  }
+
+  @Test
+  public void test_retainAll_ThenAdd_RemovedValueCountRestarted()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2, 3, 3, 3));
+
+    // SUT
+    this.redundantSetTesting.retainAll(Arrays.asList(2, 3));
+    this.redundantSetTesting.add(1);
+
+    // Assert
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor(1));
+    Assert.assertEquals(5, this.redundantSetTesting.size());
+  }
+  @Test
+  public void test_union_TwoCollections_GreatestCountsKept()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2, 3, 3, 3));
+    RedundantSet<Integer> _other = new RedundantSet<>(Arrays.asList(1, 1, 1, 3, 4));
+
+    // SUT
+    RedundantSet<Integer> _result = this.redundantSetTesting.union(_other);
+
+    // Assert
+    Assert.assertEquals(3, _result.countElementFor(1));
+    Assert.assertEquals(1, _result.countElementFor(2));
+    Assert.assertEquals(3, _result.countElementFor(3));
+    Assert.assertEquals(1, _result.countElementFor(4));
+    Assert.assertEquals(8, _result.size());
+    Assert.assertEquals(6, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_sum_TwoCollections_CountsAdded()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+    RedundantSet<Integer> _other = new RedundantSet<>(Arrays.asList(1, 3));
+
+    // SUT
+    RedundantSet<Integer> _result = this.redundantSetTesting.sum(_other);
+
+    // Assert
+    Assert.assertEquals(3, _result.countElementFor(1));
+    Assert.assertEquals(1, _result.countElementFor(3));
+    Assert.assertEquals(5, _result.size());
+  }
 
+  @Test
+  public void test_intersect_TwoCollections_LowestCountsKept()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2, 3, 3, 3));
+    RedundantSet<Integer> _other = new RedundantSet<>(Arrays.asList(1, 1, 1, 3, 4));
+
+    // SUT
+    RedundantSet<Integer> _result = this.redundantSetTesting.intersect(_other);
+
+    // Assert
+    Assert.assertEquals(2, _result.countElementFor(1));
+    Assert.assertEquals(0, _result.countElementFor(2));
+    Assert.assertEquals(1, _result.countElementFor(3));
+    Assert.assertEquals(0, _result.countElementFor(4));
+    Assert.assertEquals(3, _result.size());
+    Assert.assertEquals(Arrays.asList(1, 1, 3), this.sortedValuesOf(_result));
+  }
+
+  @Test
+  public void test_subtract_TwoCollections_PositiveDifferencesKept()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2, 3, 3, 3));
+    RedundantSet<Integer> _other = new RedundantSet<>(Arrays.asList(1, 1, 1, 3, 4));
+
+    // SUT
+    RedundantSet<Integer> _result = this.redundantSetTesting.subtract(_other);
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(2, 3, 3), this.sortedValuesOf(_result));
+  }
+
+  @Test
+  public void test_subtractWith_Itself_Emptied()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT
+    boolean _is_modified = this.redundantSetTesting.subtractWith(this.redundantSetTesting);
+
+    // Assert
+    Assert.assertTrue(_is_modified);
+    Assert.assertTrue(this.redundantSetTesting.isEmpty());
+    Assert.assertFalse(this.redundantSetTesting.iterator().hasNext());
+  }
+
+  @Test
+  public void test_unionWith_SameCounts_NotModified()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 1, 2));
+
+    // SUT & Assert
+    Assert.assertFalse(this.redundantSetTesting.unionWith(new RedundantSet<>(Arrays.asList(1, 2))));
+    Assert.assertTrue(this.redundantSetTesting.sumWith(new RedundantSet<>(Arrays.asList(2, 5))));
+    Assert.assertEquals(Arrays.asList(1, 1, 2, 2, 5), this.sortedValuesOf(this.redundantSetTesting));
+  }
+
+  @Test
+  public void test_intersectWith_RankingRequested_RankingRebuilt()
+  {
+    // Setup
+    this.redundantSetTesting.addAll(Arrays.asList(1, 2, 2, 3, 3, 3));
+    OccurrenceRanking<Integer> _ranking = this.redundantSetTesting.getRanking();
+
+    // SUT
+    this.redundantSetTesting.intersectWith(new RedundantSet<>(Arrays.asList(1, 1, 2, 2, 3)));
+
+    // Assert
+    Assert.assertEquals(Collections.singletonList(2), _ranking.topK(1));
+    Assert.assertEquals(2, _ranking.rankOf(3));
+  }
+
+  @Test
+  public void test_union_ParallelOnLargeCollections_SameResultAsSequential()
+  {
+    // Setup
+    RedundantSet<Integer> _other = new RedundantSet<>();
+    for (int i = 0; i < 100000; ++i)
+    {
+      this.redundantSetTesting.add(i % 50000);
+      _other.add(i % 70000 + 20000);
+    }
+    ForkJoinPool _pool = new ForkJoinPool(4);
+
+    // SUT & Assert
+    try
+    {
+      Assert.assertEquals(this.redundantSetTesting.union(_other), this.redundantSetTesting.union(_other, _pool));
+      Assert.assertEquals(this.redundantSetTesting.sum(_other), this.redundantSetTesting.sum(_other, _pool));
+      Assert.assertEquals(this.redundantSetTesting.intersect(_other), this.redundantSetTesting.intersect(_other,
+        _pool));
+      Assert.assertEquals(this.redundantSetTesting.subtract(_other), this.redundantSetTesting.subtract(_other, _pool));
+      // Values 0 to 49999 twice, then values 50000 to 89999 once
+      Assert.assertEquals(140000, this.redundantSetTesting.union(_other, _pool).size());
+    } finally
+    {
+      _pool.shutdown();
+    }
+  }
+
+  private List<Integer> sortedValuesOf(RedundantSet<Integer> set)
+  {
+    List<Integer> _values = new ArrayList<>(set);
+    _values.sort(null);
+    return _values;
   }
 
   @After
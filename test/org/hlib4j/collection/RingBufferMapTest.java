@@ -0,0 +1,175 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.hlib4j.concept.SequenceKeyGenerator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link RingBufferMap} class.
+ */
+public class RingBufferMapTest
+{
+
+  private List<Integer> evictedKeys;
+
+  private RingBufferMap<Integer, String> mapTesting;
+
+  @Before
+  public void setUp()
+  {
+    this.evictedKeys = new ArrayList<>();
+    this.mapTesting = new RingBufferMap<>(3, (k, v) -> this.evictedKeys.add(k));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_NoCapacity_IllegalArgumentException()
+  {
+    new RingBufferMap<Integer, String>(0, null);
+  }
+
+  @Test
+  public void test_put_FullMap_OldestEvicted()
+  {
+    // Setup
+    this.mapTesting.put(1, "a");
+    this.mapTesting.put(2, "b");
+    this.mapTesting.put(3, "c");
+
+    // SUT
+    this.mapTesting.put(4, "d");
+    this.mapTesting.put(5, "e");
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(1, 2), this.evictedKeys);
+    Assert.assertEquals(3, this.mapTesting.size());
+    Assert.assertNull(this.mapTesting.get(1));
+    Assert.assertEquals("e", this.mapTesting.get(5));
+    Assert.assertEquals(Arrays.asList(3, 4, 5), new ArrayList<>(this.mapTesting.keySet()));
+  }
+
+  @Test
+  public void test_put_ExistingKey_ReplacedWithoutEviction()
+  {
+    // Setup
+    this.mapTesting.put(1, "a");
+    this.mapTesting.put(2, "b");
+    this.mapTesting.put(3, "c");
+
+    // SUT
+    String _previous = this.mapTesting.put(1, "z");
+
+    // Assert
+    Assert.assertEquals("a", _previous);
+    Assert.assertTrue(this.evictedKeys.isEmpty());
+    Assert.assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(this.mapTesting.keySet()));
+  }
+
+  @Test
+  public void test_remove_MiddleEntry_SlotReusedWithoutEviction()
+  {
+    // Setup
+    this.mapTesting.put(1, "a");
+    this.mapTesting.put(2, "b");
+    this.mapTesting.put(3, "c");
+
+    // SUT
+    Assert.assertEquals("b", this.mapTesting.remove(2));
+    this.mapTesting.put(4, "d");
+
+    // Assert
+    Assert.assertTrue(this.evictedKeys.isEmpty());
+    Assert.assertEquals(Arrays.asList(1, 3, 4), new ArrayList<>(this.mapTesting.keySet()));
+    this.mapTesting.put(5, "e");
+    Assert.assertEquals(Arrays.asList(1), this.evictedKeys);
+    Assert.assertEquals(Arrays.asList(3, 4, 5), new ArrayList<>(this.mapTesting.keySet()));
+  }
+
+  @Test
+  public void test_iterator_Remove_EntriesRemovedInOrder()
+  {
+    // Setup
+    this.mapTesting.put(1, "a");
+    this.mapTesting.put(2, "b");
+    this.mapTesting.put(3, "c");
+    List<Integer> _iterated = new ArrayList<>();
+
+    // SUT
+    for (Iterator<Integer> _it = this.mapTesting.keySet().iterator(); _it.hasNext(); )
+    {
+      _iterated.add(_it.next());
+      _it.remove();
+    }
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(1, 2, 3), _iterated);
+    Assert.assertTrue(this.mapTesting.isEmpty());
+  }
+
+  @Test
+  public void test_put_RandomOperations_SameAsBoundedLinkedHashMap()
+  {
+    // Setup
+    RingBufferMap<Integer, Integer> _map = new RingBufferMap<>(100, null);
+    Map<Integer, Integer> _expected = new LinkedHashMap<Integer, Integer>()
+    {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest)
+      {
+        return size() > 100;
+      }
+    };
+    Random _random = new Random(7);
+
+    // SUT
+    for (int i = 0; i < 100000; ++i)
+    {
+      int _key = _random.nextInt(300);
+      if (_random.nextInt(4) == 0)
+      {
+        Assert.assertEquals(_expected.remove(_key), _map.remove(_key));
+      } else
+      {
+        Assert.assertEquals(_expected.put(_key, i), _map.put(_key, i));
+      }
+    }
+
+    // Assert
+    Assert.assertEquals(_expected, _map);
+    Assert.assertEquals(new ArrayList<>(_expected.keySet()), new ArrayList<>(_map.keySet()));
+  }
+
+  @Test
+  public void test_makeBoundedAutoMap_Fifo_OldestValuesSpilled()
+  {
+    // Setup
+    Map<Long, String> _spilled = new LinkedHashMap<>();
+    AutoMap<Long, String> _map = Collections.makeBoundedAutoMap(new SequenceKeyGenerator(), 2,
+      AutoMap.EvictionPolicy.FIFO, _spilled::put);
+
+    // SUT
+    _map.putAll(Arrays.asList("a", "b", "c", "d"));
+
+    // Assert
+    Assert.assertEquals(2, _map.getAssociatedMap().size());
+    Assert.assertEquals("d", _map.getAssociatedMap().get(3L));
+    Assert.assertEquals("a", _spilled.get(0L));
+    Assert.assertEquals("b", _spilled.get(1L));
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link WindowedRedundantSet} class.
+ */
+public class WindowedRedundantSetTest
+{
+
+  private AtomicLong clock;
+
+  private WindowedRedundantSet<String> redundantSetTesting;
+
+  @Before
+  public void setUp()
+  {
+    // Window of 5 minutes, with intervals of 1 minute
+    this.clock = new AtomicLong(1000000L);
+    this.redundantSetTesting = new WindowedRedundantSet<>(5 * 60000L, 5, this.clock::get);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_NoInterval_IllegalArgumentException()
+  {
+    new WindowedRedundantSet<String>(60000L, 0, this.clock::get);
+  }
+
+  @Test
+  public void test_countElementFor_InsideWindow_AllOccurrencesCounted()
+  {
+    // Setup
+    this.redundantSetTesting.add("a");
+    this.clock.addAndGet(60000L);
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("b");
+    this.clock.addAndGet(3 * 60000L);
+
+    // SUT & Assert
+    Assert.assertEquals(2, this.redundantSetTesting.countElementFor("a"));
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor("b"));
+    Assert.assertEquals(3, this.redundantSetTesting.size());
+    Assert.assertEquals(2, this.redundantSetTesting.distinctCount());
+  }
+
+  @Test
+  public void test_countElementFor_OldestIntervalOver_OccurrencesExpired()
+  {
+    // Setup
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("a");
+    this.clock.addAndGet(60000L);
+    this.redundantSetTesting.add("a");
+    this.redundantSetTesting.add("b");
+
+    // SUT: the first interval is over
+    this.clock.addAndGet(4 * 60000L);
+
+    // Assert
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor("a"));
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor("b"));
+    Assert.assertEquals(2, this.redundantSetTesting.size());
+
+    // SUT: the second interval is over
+    this.clock.addAndGet(60000L);
+
+    // Assert
+    Assert.assertFalse(this.redundantSetTesting.contains("a"));
+    Assert.assertTrue(this.redundantSetTesting.isEmpty());
+    Assert.assertEquals(0, this.redundantSetTesting.distinctCount());
+  }
+
+  @Test
+  public void test_size_WholeWindowOver_Emptied()
+  {
+    // Setup
+    this.redundantSetTesting.add("a");
+
+    // SUT
+    this.clock.addAndGet(60 * 60000L);
+
+    // Assert
+    Assert.assertEquals(0, this.redundantSetTesting.size());
+    this.redundantSetTesting.add("a");
+    Assert.assertEquals(1, this.redundantSetTesting.countElementFor("a"));
+  }
+
+  @Test
+  public void test_forEachEntry_SlidingStream_SameCountsAsLastIntervals()
+  {
+    // Setup: each minute adds 10 occurrences of the minute number modulo 7
+    for (int _minute = 0; _minute < 20; ++_minute)
+    {
+      for (int i = 0; i < 10; ++i)
+      {
+        this.redundantSetTesting.add(String.valueOf(_minute % 7));
+      }
+      this.clock.addAndGet(60000L);
+    }
+    Map<String, Integer> _counts = new HashMap<>();
+
+    // SUT: the window contains the minutes 16 to 19, and the beginning of the minute 20
+    this.redundantSetTesting.forEachEntry(_counts::put);
+
+    // Assert
+    Map<String, Integer> _expected = new HashMap<>();
+    for (int _minute = 16; _minute < 20; ++_minute)
+    {
+      _expected.merge(String.valueOf(_minute % 7), 10, Integer::sum);
+    }
+    Assert.assertEquals(_expected, _counts);
+    Assert.assertEquals(40, this.redundantSetTesting.size());
+  }
+
+  @Test
+  public void test_capacity_BurstExpired_CapacityShrunk()
+  {
+    // Setup: a burst of distinct values, then a few values added at each interval so the window is never empty
+    for (int i = 0; i < 10000; ++i)
+    {
+      this.redundantSetTesting.add("burst" + i);
+    }
+    int _burst_capacity = this.redundantSetTesting.capacity();
+
+    // SUT
+    for (int t = 0; t < 5; ++t)
+    {
+      this.clock.addAndGet(60000L);
+      this.redundantSetTesting.add("steady" + t);
+    }
+
+    // Assert
+    Assert.assertEquals(5, this.redundantSetTesting.distinctCount());
+    Assert.assertTrue(_burst_capacity >= 10000);
+    Assert.assertTrue(this.redundantSetTesting.capacity() <= 16);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for {@link BlockKeyGenerator} class.
+ */
+public class BlockKeyGeneratorTest
+{
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_EmptyBlock_IllegalArgumentException()
+  {
+    new BlockKeyGenerator(0L, 0);
+  }
+
+  @Test
+  public void test_generateNewKey_SingleThread_ContiguousKeysAcrossBlocks()
+  {
+    // Setup
+    BlockKeyGenerator _generator = new BlockKeyGenerator(100L, 3);
+
+    // SUT & Assert
+    for (long i = 100L; i < 110L; ++i)
+    {
+      Assert.assertEquals(Long.valueOf(i), _generator.generateNewKey());
+    }
+  }
+
+  @Test
+  public void test_generateNewKey_SeveralThreads_UniqueKeysFromPrivateBlocks() throws InterruptedException
+  {
+    // Setup
+    BlockKeyGenerator _generator = new BlockKeyGenerator(0L, 16);
+    Set<Long> _keys = ConcurrentHashMap.newKeySet();
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t)
+    {
+      _threads.add(new Thread(() ->
+      {
+        for (int i = 0; i < 10000; ++i)
+        {
+          _keys.add(_generator.generateNewKey());
+        }
+      }));
+    }
+
+    // SUT
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    // Assert: each thread used exactly 625 blocks
+    Assert.assertEquals(80000, _keys.size());
+    Assert.assertEquals(Long.valueOf(80000L), _generator.generateNewKey());
+  }
+
+  @Test
+  public void test_generateNewKeys_FitsThreadBlock_TakenFromThreadBlock()
+  {
+    // Setup
+    BlockKeyGenerator _generator = new BlockKeyGenerator(0L, 10);
+    _generator.generateNewKey();
+
+    // SUT
+    LongKeyBlock _keys = _generator.generateNewKeys(4);
+
+    // Assert
+    Assert.assertEquals(1L, _keys.getFirstKey());
+    Assert.assertEquals(Long.valueOf(5L), _generator.generateNewKey());
+  }
+
+  @Test
+  public void test_generateNewKeys_GreaterThanThreadBlock_ReservedAndThreadBlockKept()
+  {
+    // Setup
+    BlockKeyGenerator _generator = new BlockKeyGenerator(0L, 10);
+    _generator.generateNewKey();
+
+    // SUT
+    LongKeyBlock _keys = _generator.generateNewKeys(25);
+
+    // Assert
+    Assert.assertEquals(10L, _keys.getFirstKey());
+    Assert.assertEquals(35L, _keys.getEndKey());
+    Assert.assertEquals(Long.valueOf(1L), _generator.generateNewKey());
+  }
+}
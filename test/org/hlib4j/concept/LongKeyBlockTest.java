@@ -0,0 +1,60 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link LongKeyBlock} class.
+ */
+public class LongKeyBlockTest
+{
+
+  @Test
+  public void test_get_InsideBlock_OffsetFromFirstKey()
+  {
+    // Setup
+    LongKeyBlock _keys = new LongKeyBlock(-2L, 4);
+
+    // SUT & Assert
+    Assert.assertEquals(Long.valueOf(-2L), _keys.get(0));
+    Assert.assertEquals(1L, _keys.getKey(3));
+    Assert.assertTrue(_keys.contains(0L));
+    Assert.assertFalse(_keys.contains(2L));
+    Assert.assertFalse(_keys.contains(-3L));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void test_get_OutsideBlock_IndexOutOfBoundsException()
+  {
+    new LongKeyBlock(0L, 4).get(4);
+  }
+
+  @Test
+  public void test_iterator_Block_AllKeysInOrder()
+  {
+    // Setup
+    List<Long> _iterated = new ArrayList<>();
+    List<Long> _consumed = new ArrayList<>();
+    LongKeyBlock _keys = new LongKeyBlock(7L, 3);
+
+    // SUT
+    _keys.forEach(_iterated::add);
+    _keys.forEachKey(_consumed::add);
+
+    // Assert
+    Assert.assertEquals(Arrays.asList(7L, 8L, 9L), _iterated);
+    Assert.assertEquals(_iterated, _consumed);
+  }
+}
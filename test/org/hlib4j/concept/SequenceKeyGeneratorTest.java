@@ -0,0 +1,91 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for {@link SequenceKeyGenerator} class.
+ */
+public class SequenceKeyGeneratorTest
+{
+
+  @Test
+  public void test_generateNewKey_FirstKey_AscendingSequence()
+  {
+    // Setup
+    SequenceKeyGenerator _generator = new SequenceKeyGenerator(10L);
+
+    // SUT & Assert
+    Assert.assertEquals(Long.valueOf(10L), _generator.generateNewKey());
+    Assert.assertEquals(Long.valueOf(11L), _generator.generateNewKey());
+    Assert.assertEquals(Long.valueOf(12L), _generator.generateNewKey());
+  }
+
+  @Test
+  public void test_generateNewKey_SeveralThreads_UniqueKeys() throws InterruptedException
+  {
+    // Setup
+    SequenceKeyGenerator _generator = new SequenceKeyGenerator();
+    Set<Long> _keys = ConcurrentHashMap.newKeySet();
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t)
+    {
+      _threads.add(new Thread(() ->
+      {
+        for (int i = 0; i < 10000; ++i)
+        {
+          _keys.add(_generator.generateNewKey());
+        }
+      }));
+    }
+
+    // SUT
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    // Assert
+    Assert.assertEquals(80000, _keys.size());
+    Assert.assertEquals(Long.valueOf(80000L), _generator.generateNewKey());
+  }
+
+  @Test
+  public void test_generateNewKeys_AfterSingleKey_ContiguousBlock()
+  {
+    // Setup
+    SequenceKeyGenerator _generator = new SequenceKeyGenerator();
+    _generator.generateNewKey();
+
+    // SUT
+    LongKeyBlock _keys = _generator.generateNewKeys(5);
+
+    // Assert
+    Assert.assertEquals(1L, _keys.getFirstKey());
+    Assert.assertEquals(6L, _keys.getEndKey());
+    Assert.assertEquals(Long.valueOf(6L), _generator.generateNewKey());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_generateNewKeys_NegativeCount_IllegalArgumentException()
+  {
+    new SequenceKeyGenerator().generateNewKeys(-1);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link SnowflakeKeyGenerator} class.
+ */
+public class SnowflakeKeyGeneratorTest
+{
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_Constructor_NodeOutOfRange_IllegalArgumentException()
+  {
+    new SnowflakeKeyGenerator(SnowflakeKeyGenerator.MAXIMUM_NODE + 1);
+  }
+
+  @Test
+  public void test_generateNewKey_FixedClock_TimeNodeAndSequence()
+  {
+    // Setup
+    SnowflakeKeyGenerator _generator = new SnowflakeKeyGenerator(5, 1000L, () -> 1250L);
+
+    // SUT
+    long _first = _generator.generateNewKey();
+    long _second = _generator.generateNewKey();
+
+    // Assert
+    Assert.assertEquals(250L, SnowflakeKeyGenerator.timeOf(_first));
+    Assert.assertEquals(5, SnowflakeKeyGenerator.nodeOf(_first));
+    Assert.assertEquals(_first + 1, _second);
+  }
+
+  @Test
+  public void test_generateNewKey_ClockGoesBack_KeysStillIncreasing()
+  {
+    // Setup
+    AtomicLong _clock = new AtomicLong(5000L);
+    SnowflakeKeyGenerator _generator = new SnowflakeKeyGenerator(1, 0L, _clock::get);
+    long _before = _generator.generateNewKey();
+
+    // SUT
+    _clock.set(4000L);
+    long _after = _generator.generateNewKey();
+
+    // Assert
+    Assert.assertTrue(_after > _before);
+    Assert.assertEquals(5000L, SnowflakeKeyGenerator.timeOf(_after));
+  }
+
+  @Test
+  public void test_generateNewKeys_SequenceExhausted_FollowingMillisecondBorrowed()
+  {
+    // Setup
+    SnowflakeKeyGenerator _generator = new SnowflakeKeyGenerator(3, 0L, () -> 100L);
+
+    // SUT
+    KeyBlock<Long> _keys = _generator.generateNewKeys(5000);
+
+    // Assert
+    Assert.assertEquals(5000, _keys.size());
+    long _previous = -1;
+    for (long _key : _keys)
+    {
+      Assert.assertTrue(_key > _previous);
+      Assert.assertEquals(3, SnowflakeKeyGenerator.nodeOf(_key));
+      _previous = _key;
+    }
+    Assert.assertEquals(100L, SnowflakeKeyGenerator.timeOf(_keys.get(4095)));
+    Assert.assertEquals(101L, SnowflakeKeyGenerator.timeOf(_keys.get(4096)));
+    Assert.assertTrue(_generator.generateNewKey() > _keys.get(4999));
+  }
+
+  @Test
+  public void test_generateNewKey_TwoNodesSeveralThreads_UniqueKeys() throws InterruptedException
+  {
+    // Setup
+    SnowflakeKeyGenerator[] _generators = {new SnowflakeKeyGenerator(1), new SnowflakeKeyGenerator(2)};
+    Set<Long> _keys = ConcurrentHashMap.newKeySet();
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t)
+    {
+      SnowflakeKeyGenerator _generator = _generators[t % 2];
+      _threads.add(new Thread(() ->
+      {
+        for (int i = 0; i < 10000; ++i)
+        {
+          _keys.add(_generator.generateNewKey());
+        }
+      }));
+    }
+
+    // SUT
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    // Assert
+    Assert.assertEquals(80000, _keys.size());
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.concept;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link UuidKeyGenerator} class.
+ */
+public class UuidKeyGeneratorTest
+{
+
+  @Test
+  public void test_generateNewKey_FixedClock_Version7Layout()
+  {
+    // Setup
+    UuidKeyGenerator _generator = new UuidKeyGenerator(0x1234L, () -> 1700000000000L);
+
+    // SUT
+    UUID _key = _generator.generateNewKey();
+
+    // Assert
+    Assert.assertEquals(7, _key.version());
+    Assert.assertEquals(2, _key.variant());
+    Assert.assertEquals(1700000000000L, UuidKeyGenerator.timeOf(_key));
+    Assert.assertEquals(0x1234L, _key.getLeastSignificantBits() & 0xFFFFL);
+  }
+
+  @Test
+  public void test_generateNewKeys_ClockGoesBack_KeysStillIncreasing()
+  {
+    // Setup
+    AtomicLong _clock = new AtomicLong(1700000000000L);
+    UuidKeyGenerator _generator = new UuidKeyGenerator(1L, _clock::get);
+    UUID _before = _generator.generateNewKey();
+    _clock.addAndGet(-10L);
+
+    // SUT
+    KeyBlock<UUID> _keys = _generator.generateNewKeys(10000);
+
+    // Assert
+    UUID _previous = _before;
+    for (UUID _key : _keys)
+    {
+      Assert.assertTrue(_key.compareTo(_previous) > 0);
+      _previous = _key;
+    }
+    Assert.assertTrue(_generator.generateNewKey().compareTo(_previous) > 0);
+  }
+
+  @Test
+  public void test_generateNewKey_DefaultNodes_DistinctKeys()
+  {
+    // SUT
+    UUID _first = new UuidKeyGenerator().generateNewKey();
+    UUID _second = new UuidKeyGenerator().generateNewKey();
+
+    // Assert
+    Assert.assertNotEquals(_first, _second);
+    Assert.assertEquals(7, _first.version());
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Hephaistos 4 Java library: a library with facilities to get more concise code.
+ *
+ *  Copyright (C) 2017 Tioben Neenot
+ *
+ * This source is distributed under conditions defined into the LICENSE file.
+ */
+
+package org.hlib4j.math;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link AtomicCounter} class.
+ */
+public class AtomicCounterTest
+{
+
+  private AtomicCounter counterTesting;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    this.counterTesting = new AtomicCounter(0, 10);
+  }
+
+  @Test(expected = RangeException.class)
+  public void test_Constructor_DefaultValueOutOfLimits_RangeException() throws RangeException
+  {
+    new AtomicCounter(1, 1, 1);
+  }
+
+  @Test
+  public void test_increment_UntilUpperLimit_SameBehaviorAsCounter() throws RangeException
+  {
+    // Setup
+    Counter _counter = new Counter(0, 10);
+
+    // SUT & Assert
+    for (int i = 0; i < 12; ++i)
+    {
+      Assert.assertEquals(_counter.increment(), this.counterTesting.increment());
+      Assert.assertEquals(_counter.isValid(), this.counterTesting.isValid());
+      Assert.assertEquals(_counter.getCurrentValue(), this.counterTesting.getCurrentValue());
+    }
+    Assert.assertEquals(9, this.counterTesting.decrementByStep(0));
+    Assert.assertTrue(this.counterTesting.isValid());
+  }
+
+  @Test
+  public void test_decrement_BothOpenLimits_LowerLimitExcluded() throws RangeException
+  {
+    // Setup
+    AtomicCounter _counter = new AtomicCounter(DefinitionDomain.LimitType.BOTH_OPEN, 0, 5, 2);
+
+    // SUT
+    _counter.decrement();
+    int _value = _counter.decrement();
+
+    // Assert
+    Assert.assertEquals(1, _value);
+    Assert.assertFalse(_counter.isValid());
+  }
+
+  @Test
+  public void test_incrementByStep_OverflowingStep_ValueNotUpdated() throws RangeException
+  {
+    // Setup
+    AtomicCounter _counter = new AtomicCounter(DefinitionDomain.LimitType.BOTH_CLOSE, 0, Integer.MAX_VALUE,
+      Integer.MAX_VALUE - 1);
+
+    // SUT
+    int _value = _counter.incrementByStep(Integer.MAX_VALUE);
+
+    // Assert
+    Assert.assertEquals(Integer.MAX_VALUE - 1, _value);
+    Assert.assertFalse(_counter.isValid());
+    Assert.assertEquals(Integer.MAX_VALUE, _counter.increment());
+    Assert.assertTrue(_counter.isValid());
+  }
+
+  @Test
+  public void test_setCurrentValue_OutOfLimits_NotValidAndRearmed()
+  {
+    // Setup
+    this.counterTesting.incrementByStep(3);
+
+    // SUT
+    try
+    {
+      this.counterTesting.setCurrentValue(10);
+      Assert.fail("This point couldn't be reached");
+    } catch (RangeException e)
+    {
+      // Awaiting point
+    }
+
+    // Assert
+    Assert.assertFalse(this.counterTesting.isValid());
+    Assert.assertEquals(Integer.valueOf(3), this.counterTesting.getCurrentValue());
+    Assert.assertTrue(this.counterTesting.rearm());
+    Assert.assertEquals(Integer.valueOf(0), this.counterTesting.getCurrentValue());
+  }
+
+  @Test
+  public void test_equals_CounterWithSameValue_Equal() throws RangeException
+  {
+    // Setup
+    Counter _counter = new Counter(0, 10);
+    _counter.incrementByStep(4);
+
+    // SUT
+    this.counterTesting.incrementByStep(4);
+
+    // Assert
+    Assert.assertEquals(this.counterTesting, _counter);
+    Assert.assertEquals(_counter.toString(), this.counterTesting.toString());
+  }
+
+  @Test
+  public void test_equals_CounterWithSameValue_SymmetricEquality() throws RangeException
+  {
+    // Setup
+    Counter _counter = new Counter(0, 10, 3);
+
+    // SUT
+    AtomicCounter _atomic_counter = new AtomicCounter(0, 10, 3);
+
+    // Assert
+    Assert.assertTrue(_atomic_counter.equals(_counter));
+    Assert.assertTrue(_counter.equals(_atomic_counter));
+    Assert.assertEquals(_counter.hashCode(), _atomic_counter.hashCode());
+
+    _atomic_counter.increment();
+    Assert.assertFalse(_atomic_counter.equals(_counter));
+    Assert.assertFalse(_counter.equals(_atomic_counter));
+  }
+
+  @Test
+  public void test_increment_SeveralThreads_AllIncrementsCounted() throws Exception
+  {
+    // Setup
+    AtomicCounter _counter = new AtomicCounter(0, Integer.MAX_VALUE);
+    List<Thread> _threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t)
+    {
+      _threads.add(new Thread(() ->
+      {
+        for (int i = 0; i < 100000; ++i)
+        {
+          _counter.increment();
+        }
+      }));
+    }
+
+    // SUT
+    for (Thread _thread : _threads)
+    {
+      _thread.start();
+    }
+    for (Thread _thread : _threads)
+    {
+      _thread.join();
+    }
+
+    // Assert
+    Assert.assertEquals(Integer.valueOf(800000), _counter.getCurrentValue());
+    Assert.assertTrue(_counter.isValid());
+  }
+}